@@ -18,8 +18,15 @@ package co.cask.wrangler.api;
 
 import co.cask.wrangler.api.annotations.Public;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Specifies the structure for Error records.
+ *
+ * <p>A record created from the errors of a row keeps the errors and formats the message only
+ * when it's first read.</p>
  */
 @Public
 public final class ErrorRecord {
@@ -27,7 +34,11 @@ public final class ErrorRecord {
   private final Row row;
 
   // Message as to why the row errored.
-  private final String message;
+  private String message;
+
+  // Errors reported and error of the row, until the message is formatted.
+  private List<ReportErrorAndProceed> reported;
+  private ErrorRowException error;
 
   // Code associated with the message.
   private final int code;
@@ -38,6 +49,21 @@ public final class ErrorRecord {
     this.code = code;
   }
 
+  /**
+   * Creates the record of a row in error, with a message joining the messages of the errors reported
+   * for the row with the message of the error of the row.
+   *
+   * @param row that errored.
+   * @param reported errors reported for the row before it errored, copied if not empty.
+   * @param error of the row.
+   */
+  public ErrorRecord(Row row, List<ReportErrorAndProceed> reported, ErrorRowException error) {
+    this.row = row;
+    this.reported = reported.isEmpty() ? Collections.<ReportErrorAndProceed>emptyList() : new ArrayList<>(reported);
+    this.error = error;
+    this.code = error.getCode();
+  }
+
   /**
    * @return original {@link Row} that errored.
    */
@@ -49,6 +75,15 @@ public final class ErrorRecord {
    * @return Message associated with the {@link Row}.
    */
   public String getMessage() {
+    if (error != null) {
+      StringBuilder builder = new StringBuilder();
+      for (ReportErrorAndProceed report : reported) {
+        builder.append(report.getCode()).append(':').append(report.getMessage()).append(',');
+      }
+      message = builder.append(error.getMessage()).toString();
+      reported = null;
+      error = null;
+    }
     return message;
   }
 
@@ -20,23 +20,51 @@ package co.cask.wrangler.api;
  * Exception throw when the record needs to emitted to error collector.
  * This class is similar to {@link ErrorRowException}, but, with a difference
  * that it reports error and continues processing.
+ *
+ * <p>Same as {@link ErrorRowException}, the exception doesn't record a stack trace, and the message
+ * can be given as a format that is formatted only when the message is read.</p>
  */
 public class ReportErrorAndProceed extends Exception {
   // Message as to why the record errored.
   private String message;
 
+  // Format and arguments of the message, until the message is formatted.
+  private String format;
+  private Object[] args;
+
   // Code associated with the error message.
   private int code;
 
   public ReportErrorAndProceed(String message, int code) {
+    super(null, null, false, false);
     this.message = message;
     this.code = code;
   }
 
+  /**
+   * Creates the exception with a message formatted with {@link String#format(String, Object...)}
+   * when it's first read.
+   *
+   * @param code associated with the error message.
+   * @param format of the message.
+   * @param args of the message.
+   */
+  public ReportErrorAndProceed(int code, String format, Object... args) {
+    super(null, null, false, false);
+    this.format = format;
+    this.args = args;
+    this.code = code;
+  }
+
   /**
    * @return Message as why the record errored.
    */
   public String getMessage() {
+    if (format != null) {
+      message = String.format(format, args);
+      format = null;
+      args = null;
+    }
     return message;
   }
 
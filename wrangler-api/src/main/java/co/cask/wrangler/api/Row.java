@@ -26,9 +26,20 @@ import java.util.List;
 
 /**
  * Row defines the schema and data on which the wrangler will operate upon.
+ *
+ * <p>Copies of a row are copy-on-write: the copy shares the list of columns and values with
+ * the row it's created from, and each list is cloned only when it's first modified by either
+ * of the rows. Directives that only overwrite values therefore never copy the column names.</p>
+ *
+ * <p>The list of columns is also shared by rows having the same layout, through
+ * {@link #getColumns()} and {@link #setColumns(List)}, so directives that only change the
+ * columns transform the columns once for all the rows sharing them.</p>
  */
 @PublicEvolving
 public final class Row implements Serializable {
+  // Rows are stored serialized in workspaces, hence the version is that of the rows stored before
+  // the copy-on-write flags were added, which are false when reading those rows.
+  private static final long serialVersionUID = -6113040670211398942L;
   private static final Logger LOG = LoggerFactory.getLogger(Row.class);
 
   // Name of the columns held by the row.
@@ -37,17 +48,28 @@ public final class Row implements Serializable {
   // Values held by the row.
   private List<Object> values = new ArrayList<>();
 
+  // True if the columns are shared with another row and have to be copied before modification.
+  private boolean sharedColumns;
+
+  // True if the values are shared with another row and have to be copied before modification.
+  private boolean sharedValues;
+
   public Row() {
   }
 
   /**
-   * Makes a copy of the row.
+   * Makes a copy of the row. The copy shares columns and values with the row until
+   * either of them is modified.
    *
    * @param row to be copied to 'this' object.
    */
   public Row(Row row) {
-    this.values = new ArrayList<>(row.values);
-    this.columns = new ArrayList<>(row.columns);
+    this.values = row.values;
+    this.columns = row.columns;
+    this.sharedColumns = true;
+    this.sharedValues = true;
+    row.sharedColumns = true;
+    row.sharedValues = true;
   }
 
   /**
@@ -89,7 +111,36 @@ public final class Row implements Serializable {
    * @param name of the column to be set at idx.
    */
   public void setColumn(int idx, String name) {
-    columns.set(idx, name);
+    mutableColumns().set(idx, name);
+  }
+
+  /**
+   * Returns the names of the columns of the row. The list is shared with the row, hence it's
+   * not to be modified, the row copies it before its columns are next modified. Rows returning
+   * the same list have the same columns.
+   *
+   * @return names of the columns.
+   */
+  public List<String> getColumns() {
+    sharedColumns = true;
+    return columns;
+  }
+
+  /**
+   * Sets the names of all the columns of the row. The list is shared with the row, hence it's
+   * not to be modified, the row copies it before its columns are next modified.
+   *
+   * @param columns names of the columns, as many as the columns of the row.
+   */
+  public Row setColumns(List<String> columns) {
+    if (columns.size() != this.columns.size()) {
+      throw new IllegalArgumentException(
+        String.format("Row has %d columns, while %d columns are set.", this.columns.size(), columns.size())
+      );
+    }
+    this.columns = columns;
+    this.sharedColumns = true;
+    return this;
   }
 
   /**
@@ -125,7 +176,7 @@ public final class Row implements Serializable {
    * @param value value to be updated at index (idx).
    */
   public Row setValue(int idx, Object value) {
-    values.set(idx, value);
+    mutableValues().set(idx, value);
     return this;
   }
 
@@ -136,8 +187,8 @@ public final class Row implements Serializable {
    * @param value to be added to row.
    */
   public Row add(String name, Object value) {
-    columns.add(name);
-    values.add(value);
+    mutableColumns().add(name);
+    mutableValues().add(value);
     return this;
   }
 
@@ -147,11 +198,52 @@ public final class Row implements Serializable {
    * @param idx for which the value and column are removed.
    */
   public Row remove(int idx) {
-    columns.remove(idx);
-    values.remove(idx);
+    mutableColumns().remove(idx);
+    mutableValues().remove(idx);
     return this;
   }
 
+  /**
+   * Keeps only the values at the given positions and sets the columns of the row to the given
+   * columns, which are the columns at those positions. The list of columns is shared with the
+   * row, same as with {@link #setColumns(List)}.
+   *
+   * @param positions of the columns kept, in increasing order.
+   * @param columns names of the columns kept, as many as the positions.
+   */
+  public Row retain(int[] positions, List<String> columns) {
+    if (columns.size() != positions.length) {
+      throw new IllegalArgumentException(
+        String.format("%d columns are retained, while %d columns are set.", positions.length, columns.size())
+      );
+    }
+    if (positions.length != this.columns.size()) {
+      values = compact(values, sharedValues, positions);
+      sharedValues = false;
+    }
+    this.columns = columns;
+    this.sharedColumns = true;
+    return this;
+  }
+
+  /**
+   * Keeps the elements of a list at the given positions, in place unless the list is shared.
+   */
+  private static <T> List<T> compact(List<T> list, boolean shared, int[] positions) {
+    if (shared) {
+      List<T> compacted = new ArrayList<>(positions.length);
+      for (int position : positions) {
+        compacted.add(list.get(position));
+      }
+      return compacted;
+    }
+    for (int i = 0; i < positions.length; ++i) {
+      list.set(i, list.get(positions[i]));
+    }
+    list.subList(positions.length, list.size()).clear();
+    return list;
+  }
+
   /**
    * Finds a column index based on the name of the column.
    *
@@ -217,9 +309,31 @@ public final class Row implements Serializable {
       setValue(idx, value);
     } else {
       if (index < columns.size() && index < values.size()) {
-        columns.add(index, name);
-        values.add(index, value);
+        mutableColumns().add(index, name);
+        mutableValues().add(index, value);
       }
     }
   }
+
+  /**
+   * @return columns that can be modified by this row, copying them if they are shared.
+   */
+  private List<String> mutableColumns() {
+    if (sharedColumns) {
+      columns = new ArrayList<>(columns);
+      sharedColumns = false;
+    }
+    return columns;
+  }
+
+  /**
+   * @return values that can be modified by this row, copying them if they are shared.
+   */
+  private List<Object> mutableValues() {
+    if (sharedValues) {
+      values = new ArrayList<>(values);
+      sharedValues = false;
+    }
+    return values;
+  }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2017 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package co.cask.wrangler.api;
+
+/**
+ * {@link VersionedTransientStore} is a {@link TransientStore} that keeps a version of its variables,
+ * so that the variables read from the store can be reused until they are modified.
+ */
+public interface VersionedTransientStore extends TransientStore {
+  /**
+   * Returns the version of the variables in the store. The version changes whenever a variable
+   * is set, incremented or reset, hence the variables read from the store can be reused for as
+   * long as the version stays the same.
+   *
+   * @return version of the variables.
+   */
+  long getVersion();
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ErrorRowException} and {@link ReportErrorAndProceed}.
+ */
+public class ErrorRowExceptionTest {
+
+  @Test
+  public void testStackless() throws Exception {
+    Assert.assertEquals(0, new ErrorRowException("bad", 1).getStackTrace().length);
+    Assert.assertEquals(0, new ErrorRowException(1, "bad %s", "row").getStackTrace().length);
+    Assert.assertEquals(0, new ReportErrorAndProceed("bad", 1).getStackTrace().length);
+    Assert.assertEquals(0, new ReportErrorAndProceed(1, "bad %s", "row").getStackTrace().length);
+  }
+
+  @Test
+  public void testLazyMessage() throws Exception {
+    final int[] formatted = new int[1];
+    Object arg = new Object() {
+      @Override
+      public String toString() {
+        formatted[0]++;
+        return "date";
+      }
+    };
+
+    ErrorRowException e = new ErrorRowException(2, "Unable to parse '%s' as %s", "x", arg);
+    Assert.assertEquals(0, formatted[0]);
+    Assert.assertEquals(2, e.getCode());
+    Assert.assertEquals("Unable to parse 'x' as date", e.getMessage());
+    Assert.assertEquals("Unable to parse 'x' as date", e.getMessage());
+    Assert.assertEquals(1, formatted[0]);
+
+    ReportErrorAndProceed r = new ReportErrorAndProceed(3, "Invalid %s", arg);
+    Assert.assertEquals(1, formatted[0]);
+    Assert.assertEquals("Invalid date", r.getMessage());
+    Assert.assertEquals(3, r.getCode());
+    Assert.assertEquals(2, formatted[0]);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link Row}
+ */
+public class RowTest {
+
+  @Test
+  public void testCopyOnWrite() throws Exception {
+    Row row = new Row("a", 1);
+    row.add("b", 2);
+
+    Row copy = new Row(row);
+    copy.setValue(0, 10);
+    Assert.assertEquals(1, row.getValue("a"));
+    Assert.assertEquals(10, copy.getValue("a"));
+
+    row.add("c", 3);
+    Assert.assertEquals(3, row.length());
+    Assert.assertEquals(2, copy.length());
+
+    copy.setColumn(1, "x");
+    Assert.assertEquals("b", row.getColumn(1));
+    Assert.assertEquals("x", copy.getColumn(1));
+
+    Row other = new Row(copy);
+    copy.remove(0);
+    Assert.assertEquals(2, other.length());
+    Assert.assertEquals(10, other.getValue("a"));
+    Assert.assertEquals(1, copy.length());
+  }
+
+  @Test
+  public void testSharedColumns() throws Exception {
+    Row row = new Row("a", 1).add("b", 2);
+    Row other = new Row("x", 3).add("y", 4);
+
+    List<String> columns = row.getColumns();
+    other.setColumns(columns);
+    Assert.assertSame(columns, other.getColumns());
+    Assert.assertEquals(3, other.getValue("a"));
+
+    other.add("c", 5);
+    Assert.assertEquals(Arrays.asList("a", "b"), row.getColumns());
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), other.getColumns());
+
+    row.setColumn(0, "z");
+    Assert.assertEquals("z", row.getColumn(0));
+    Assert.assertEquals(Arrays.asList("a", "b"), columns);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetColumnsOfDifferentLength() throws Exception {
+    new Row("a", 1).setColumns(Arrays.asList("a", "b"));
+  }
+
+  @Test
+  public void testRetain() throws Exception {
+    Row row = new Row("a", 1).add("b", 2).add("c", 3).add("d", 4);
+    Row copy = new Row(row);
+
+    row.retain(new int[] {1, 3}, Arrays.asList("b", "d"));
+    Assert.assertEquals(Arrays.asList("b", "d"), row.getColumns());
+    Assert.assertEquals(2, row.getValue(0));
+    Assert.assertEquals(4, row.getValue(1));
+    Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), copy.getColumns());
+    Assert.assertEquals(4, copy.getValue("d"));
+
+    List<String> columns = Arrays.asList("a", "c");
+    copy.retain(new int[] {0, 2}, columns);
+    Assert.assertSame(columns, copy.getColumns());
+    Assert.assertEquals(3, copy.getValue("c"));
+    Assert.assertEquals(0, new Row("x", 4).add("y", 5).retain(new int[] {}, new ArrayList<String>()).length());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRetainOfDifferentLength() throws Exception {
+    new Row("a", 1).add("b", 2).retain(new int[] {0}, Arrays.asList("a", "b"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReadPreviouslySerializedRows() throws Exception {
+    // Rows serialized by the Row class without the copy-on-write flags, as stored in existing workspaces.
+    List<Row> rows;
+    try (InputStream stream = RowTest.class.getClassLoader().getResourceAsStream("rows-v1.ser");
+         ObjectInputStream in = new ObjectInputStream(stream)) {
+      rows = (List<Row>) in.readObject();
+    }
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals(Arrays.asList("name", "age", "wage"), rows.get(0).getColumns());
+    Assert.assertEquals("joltie", rows.get(0).getValue("name"));
+    Assert.assertEquals(32, rows.get(0).getValue("age"));
+    Assert.assertEquals(11.79d, rows.get(0).getValue("wage"));
+    Assert.assertNull(rows.get(1).getValue("name"));
+    Assert.assertEquals(33L, rows.get(1).getValue("age"));
+
+    Row copy = new Row(rows.get(1));
+    copy.setValue(2, 12.0d);
+    rows.get(1).add("city", "Palo Alto");
+    Assert.assertEquals("n/a", rows.get(1).getValue("wage"));
+    Assert.assertEquals(3, copy.length());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSerializeCopies() throws Exception {
+    Row row = new Row("a", 1).add("b", 2);
+    Row copy = new Row(row);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(Arrays.asList(row, copy));
+    }
+    List<Row> rows;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      rows = (List<Row>) in.readObject();
+    }
+    rows.get(1).setValue(0, 10);
+    Assert.assertEquals(1, rows.get(0).getValue("a"));
+    Assert.assertEquals(10, rows.get(1).getValue("a"));
+  }
+}
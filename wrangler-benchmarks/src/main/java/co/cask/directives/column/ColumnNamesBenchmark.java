@@ -0,0 +1,82 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.column;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks the directives renaming all the columns on 1000 rows of 500 columns, with rows
+ * sharing their columns or each row having its own list of the same columns.
+ */
+@State(Scope.Thread)
+public class ColumnNamesBenchmark {
+  private static final int ROWS = 1000;
+  private static final int COLUMNS = 500;
+
+  @Param({"cleanse-column-names", "change-column-case upper", "columns-replace s/^Data_//g"})
+  private String directive;
+
+  @Param({"true", "false"})
+  private boolean shared;
+
+  private List<Row> templates;
+  private RecipePipeline pipeline;
+
+  @Setup
+  public void setup() throws Exception {
+    templates = new ArrayList<>();
+    Row template = new Row();
+    for (int i = 0; i < COLUMNS; ++i) {
+      template.add("Data_Column-" + i, i);
+    }
+    for (int i = 0; i < ROWS; ++i) {
+      if (shared) {
+        templates.add(new Row(template));
+      } else {
+        Row row = new Row();
+        for (int j = 0; j < COLUMNS; ++j) {
+          row.add(template.getColumn(j), j);
+        }
+        templates.add(row);
+      }
+    }
+    pipeline = TestingRig.execute(new String[] { directive });
+  }
+
+  private List<Row> rows() {
+    List<Row> rows = new ArrayList<>(templates.size());
+    for (Row template : templates) {
+      rows.add(new Row(template));
+    }
+    return rows;
+  }
+
+  @Benchmark
+  public int rename() throws Exception {
+    return pipeline.execute(rows()).size();
+  }
+}
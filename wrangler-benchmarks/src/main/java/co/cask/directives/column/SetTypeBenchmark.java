@@ -0,0 +1,83 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.column;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks {@link SetType} converting 1024 values for the common conversions, named
+ * <code>source-target</code>.
+ */
+@State(Scope.Thread)
+public class SetTypeBenchmark {
+  private static final int ROWS = 1024;
+
+  @Param({"string-int", "string-long", "string-double", "int-long", "double-int", "long-string", "string-boolean"})
+  private String conversion;
+
+  private List<Row> templates;
+  private RecipePipeline pipeline;
+
+  @Setup
+  public void setup() throws Exception {
+    String source = conversion.substring(0, conversion.indexOf('-'));
+    String target = conversion.substring(conversion.indexOf('-') + 1);
+    templates = new ArrayList<>();
+    for (int i = 0; i < ROWS; ++i) {
+      Object value;
+      switch (source) {
+        case "int":
+          value = i * 31;
+          break;
+        case "long":
+          value = i * 1000003L;
+          break;
+        case "double":
+          value = i * 1.5d;
+          break;
+        default:
+          value = target.equals("boolean") ? (i % 2 == 0 ? "true" : "false") :
+            target.equals("double") ? Double.toString(i * 1.25d) : Integer.toString(i * 7919 - 100000);
+      }
+      templates.add(new Row("value", value).add("other", i));
+    }
+    pipeline = TestingRig.execute(new String[] { "set-type value " + target });
+  }
+
+  private List<Row> rows() {
+    List<Row> rows = new ArrayList<>(templates.size());
+    for (Row template : templates) {
+      rows.add(new Row(template));
+    }
+    return rows;
+  }
+
+  @Benchmark
+  public int convert() throws Exception {
+    return pipeline.execute(rows()).size();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.transformation;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.unix4j.Unix4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks {@link CharacterCut} on 1024 values against cutting the values with Unix4j, which
+ * the directive used to do.
+ */
+@State(Scope.Thread)
+public class CharacterCutBenchmark {
+  private static final int ROWS = 1024;
+
+  @Param({"1-3", "2-", "1,3-5,9-12"})
+  private String range;
+
+  private List<Row> templates;
+  private RecipePipeline pipeline;
+
+  @Setup
+  public void setup() throws Exception {
+    templates = new ArrayList<>();
+    for (int i = 0; i < ROWS; ++i) {
+      templates.add(new Row("body", "(" + (100 + i % 900) + ") 555-" + (1000 + i) + " ext. " + i));
+    }
+    pipeline = TestingRig.execute(new String[] { "cut-character body cut " + range });
+  }
+
+  private List<Row> rows() {
+    List<Row> rows = new ArrayList<>(templates.size());
+    for (Row template : templates) {
+      rows.add(new Row(template));
+    }
+    return rows;
+  }
+
+  @Benchmark
+  public int unix4j() throws Exception {
+    List<Row> rows = rows();
+    for (Row row : rows) {
+      row.addOrSet("cut", Unix4j.fromString((String) row.getValue(0)).cut("-c", range).toStringResult());
+    }
+    return rows.size();
+  }
+
+  @Benchmark
+  public int directive() throws Exception {
+    return pipeline.execute(rows()).size();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.transformation;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks recipes of expression based directives over a million rows.
+ */
+@State(Scope.Thread)
+public class ColumnExpressionBenchmark {
+  private static final String[][] RECIPES = {
+    { "set-column c a + b" },
+    { "set-column c a + b", "set-column d c * 2", "filter-row-if-true d > 10000000" },
+    { "set-variable total a", "set-column c total + b" }
+  };
+
+  @Param({"1000000"})
+  private int count;
+
+  @Param({"0", "1", "2"})
+  private int recipe;
+
+  private RecipePipeline pipeline;
+  private List<Row> rows;
+
+  @Setup
+  public void setup() throws Exception {
+    pipeline = TestingRig.execute(RECIPES[recipe]);
+    rows = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      rows.add(new Row("a", i).add("b", i % 100).add("name", "row " + i));
+    }
+  }
+
+  @Benchmark
+  public List<Row> execute() throws Exception {
+    List<Row> input = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      input.add(new Row(row));
+    }
+    return pipeline.execute(input);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.writer;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks the writer directives over a hundred thousand rows.
+ */
+@State(Scope.Thread)
+public class WriterBenchmark {
+  private static final String[] RECIPES = {
+    "write-as-csv body",
+    "write-as-json-map body",
+    "write-as-json-object body id,name,city,amount,comment"
+  };
+
+  @Param({"100000"})
+  private int count;
+
+  @Param({"0", "1", "2"})
+  private int recipe;
+
+  private RecipePipeline pipeline;
+  private List<Row> rows;
+
+  @Setup
+  public void setup() throws Exception {
+    pipeline = TestingRig.execute(new String[] { RECIPES[recipe] });
+    rows = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      rows.add(new Row("id", i)
+                 .add("name", "name " + i)
+                 .add("city", i % 2 == 0 ? "Palo Alto" : "New York, NY")
+                 .add("amount", i * 1.5d)
+                 .add("comment", i % 10 == 0 ? "said \"hello\"" : null));
+    }
+  }
+
+  @Benchmark
+  public List<Row> execute() throws Exception {
+    List<Row> input = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      input.add(new Row(row));
+    }
+    return pipeline.execute(input);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class {@link Benchmarks} runs the JMH benchmarks of wrangler with the defaults shared by all
+ * of them: average time per operation in microseconds, one fork, three warmup and five measurement
+ * iterations of a second each.
+ *
+ * <p>Arguments are the JMH command line options, which take precedence over the defaults, and the
+ * regular expressions of the benchmarks to run, all of them if none is given. Run with
+ * <code>mvn -Pbenchmarks verify -pl wrangler-benchmarks -am -DskipTests -Dbenchmarks="RowBatch -wi 2"</code>
+ * from the root of the project.</p>
+ */
+public final class Benchmarks {
+
+  private Benchmarks() {
+    // Avoid creation of this object.
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions options = new CommandLineOptions(args);
+    OptionsBuilder builder = new OptionsBuilder();
+    builder.parent(options);
+    if (options.getBenchModes().isEmpty()) {
+      builder.mode(Mode.AverageTime);
+    }
+    if (!options.getTimeUnit().hasValue()) {
+      builder.timeUnit(TimeUnit.MICROSECONDS);
+    }
+    if (!options.getForkCount().hasValue()) {
+      builder.forks(1);
+    }
+    if (!options.getWarmupIterations().hasValue()) {
+      builder.warmupIterations(3);
+    }
+    if (!options.getWarmupTime().hasValue()) {
+      builder.warmupTime(TimeValue.seconds(1));
+    }
+    if (!options.getMeasurementIterations().hasValue()) {
+      builder.measurementIterations(5);
+    }
+    if (!options.getMeasurementTime().hasValue()) {
+      builder.measurementTime(TimeValue.seconds(1));
+    }
+    new Runner(builder.build()).run();
+  }
+}
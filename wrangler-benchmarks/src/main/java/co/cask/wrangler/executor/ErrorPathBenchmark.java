@@ -0,0 +1,86 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.executor;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.ErrorRecord;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks a recipe executed on {@link RowBatch#SIZE} rows of which a percentage are in error,
+ * with the records errored only counted, or with the messages of the records errored read.
+ */
+@State(Scope.Thread)
+public class ErrorPathBenchmark {
+  private static final String[] RECIPE = new String[] {
+    "parse-as-csv body , false",
+    "drop body",
+    "send-to-error-and-continue exp:{ body_3 == '' } 'missing amount'",
+    "parse-as-simple-date :body_2 'yyyy-MM-dd'",
+    "send-to-error exp:{ body_1 == 'bad' }"
+  };
+
+  // Percentage of the rows in error.
+  @Param({"0", "20", "50"})
+  private int errors;
+
+  private List<Row> templates;
+  private RecipePipelineExecutor pipeline;
+
+  @Setup
+  public void setup() throws Exception {
+    templates = new ArrayList<>();
+    for (int i = 0; i < RowBatch.SIZE; ++i) {
+      boolean error = i % 100 < errors;
+      String date = error && i % 2 == 0 ? "not a date" : "2017-10-" + (10 + i % 20);
+      String name = error && i % 2 == 1 ? "bad" : "name " + i;
+      String amount = i % 3 == 0 ? "" : Integer.toString(i);
+      templates.add(new Row("body", name + "," + date + "," + amount));
+    }
+    pipeline = (RecipePipelineExecutor) TestingRig.execute(RECIPE);
+  }
+
+  private List<Row> rows() {
+    List<Row> rows = new ArrayList<>(templates.size());
+    for (Row template : templates) {
+      rows.add(new Row(template));
+    }
+    return rows;
+  }
+
+  @Benchmark
+  public int counted() throws Exception {
+    return pipeline.execute(rows()).size() + pipeline.errors().size();
+  }
+
+  @Benchmark
+  public int formatted() throws Exception {
+    int length = pipeline.execute(rows()).size();
+    for (ErrorRecord error : pipeline.errors()) {
+      length += error.getMessage().length();
+    }
+    return length;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.executor;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Benchmarks a recipe of column-local directives executed on {@link RowBatch#SIZE} rows, one row
+ * at a time against a batch of rows.
+ */
+@State(Scope.Thread)
+public class RowBatchBenchmark {
+  private static final String[] RECIPE = new String[] {
+    "trim :name;",
+    "titlecase :name;",
+    "uppercase :city;",
+    "fill-null-or-empty :city 'UNKNOWN';",
+    "set-type :age int;",
+    "mask-number :ssn 'xxx-xx-####';",
+    "lowercase :email;"
+  };
+
+  private List<Row> templates;
+  private RecipePipeline pipeline;
+
+  @Setup
+  public void setup() throws Exception {
+    templates = new ArrayList<>();
+    Row template = new Row();
+    for (String column : new String[] {"name", "city", "age", "ssn", "email"}) {
+      template.add(column, null);
+    }
+    for (int i = 0; i < 10; ++i) {
+      template.add("column_" + i, "value " + i);
+    }
+    for (int i = 0; i < RowBatch.SIZE; ++i) {
+      Row row = new Row(template);
+      row.setValue(0, "  name " + i + "  ");
+      row.setValue(1, i % 10 == 0 ? "" : "city " + i);
+      row.setValue(2, Integer.toString(i % 90));
+      row.setValue(3, "123-45-" + (1000 + i));
+      row.setValue(4, "Name" + i + "@Example.com");
+      templates.add(row);
+    }
+    pipeline = TestingRig.execute(RECIPE);
+  }
+
+  private List<Row> rows() {
+    List<Row> rows = new ArrayList<>(templates.size());
+    for (Row template : templates) {
+      rows.add(new Row(template));
+    }
+    return rows;
+  }
+
+  @Benchmark
+  public int rowAtATime() throws Exception {
+    int count = 0;
+    for (Row row : rows()) {
+      count += pipeline.execute(Collections.singletonList(row)).size();
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int batch() throws Exception {
+    return pipeline.execute(rows()).size();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.parser;
+
+import co.cask.wrangler.api.CompileStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Benchmarks compiling a recipe, parsing it every time or finding it already compiled.
+ */
+@State(Scope.Thread)
+public class RecipeCompilerBenchmark {
+  private static final String[] DIRECTIVES = {
+    "parse-as-csv :body ',' true;",
+    "drop :body,:headers;",
+    "rename :col%d :column%d;",
+    "set-column :total%d exp:{ price * quantity + %d };",
+    "fill-null-or-empty :col%d 'N/A';",
+    "set-type :column%d int;",
+    "quantize :age :range%d 0:10='child',11:19='teen',20:100='adult';",
+    "filter-rows-on regex-match :name '^test%d.*';",
+    "format-date :date 'yyyy-MM-dd HH:mm:%d';",
+    "// step %d"
+  };
+
+  @Param({"500"})
+  private int lines;
+
+  private RecipeCompiler compiler;
+  private String recipe;
+  private long invocation;
+
+  @Setup
+  public void setup() {
+    compiler = new RecipeCompiler();
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < lines; ++i) {
+      builder.append(String.format(DIRECTIVES[i % DIRECTIVES.length], i, i)).append('\n');
+    }
+    recipe = builder.toString();
+  }
+
+  @Benchmark
+  public CompileStatus compile() throws Exception {
+    // A distinct comment makes a distinct recipe, which is parsed.
+    return compiler.compile(recipe + "// " + invocation++);
+  }
+
+  @Benchmark
+  public CompileStatus compileCached() throws Exception {
+    return compiler.compile(recipe);
+  }
+}
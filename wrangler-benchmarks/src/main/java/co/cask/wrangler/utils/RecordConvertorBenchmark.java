@@ -0,0 +1,96 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.cdap.api.data.schema.Schema;
+import co.cask.wrangler.api.Row;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks conversion of wide rows into {@link StructuredRecord}, comparing {@link RecordConvertor}
+ * followed by the rebuild of the record into the output schema, as done by the transform before, against
+ * {@link CompiledRecordConvertor}.
+ */
+@State(Scope.Thread)
+public class RecordConvertorBenchmark {
+  private static final Schema.Type[] TYPES = {
+    Schema.Type.STRING, Schema.Type.INT, Schema.Type.LONG, Schema.Type.DOUBLE, Schema.Type.BOOLEAN
+  };
+
+  @Param({"10", "100", "500"})
+  private int width;
+
+  private Schema schema;
+  private Row row;
+  private RecordConvertor convertor;
+  private CompiledRecordConvertor compiled;
+
+  @Setup
+  public void setup() {
+    List<Schema.Field> fields = new ArrayList<>();
+    row = new Row();
+    for (int i = 0; i < width; ++i) {
+      Schema.Type type = TYPES[i % TYPES.length];
+      String name = "field_" + i;
+      fields.add(Schema.Field.of(name, Schema.nullableOf(Schema.of(type))));
+      switch (type) {
+        case STRING:
+          row.add(name, "value " + i);
+          break;
+        case BOOLEAN:
+          row.add(name, "true");
+          break;
+        case DOUBLE:
+          row.add(name, i + 0.5);
+          break;
+        default:
+          row.add(name, String.valueOf(i));
+      }
+    }
+    schema = Schema.recordOf("wide", fields);
+    convertor = new RecordConvertor();
+    compiled = new CompiledRecordConvertor(schema);
+  }
+
+  @Benchmark
+  public StructuredRecord twoPass() throws Exception {
+    StructuredRecord record = convertor.decodeRecord(row, schema);
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (Schema.Field field : schema.getFields()) {
+      Object value = record.get(field.getName());
+      if (value instanceof String) {
+        builder.convertAndSet(field.getName(), (String) value);
+      } else {
+        builder.set(field.getName(), value);
+      }
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public StructuredRecord compiled() throws Exception {
+    return compiled.convert(row);
+  }
+}
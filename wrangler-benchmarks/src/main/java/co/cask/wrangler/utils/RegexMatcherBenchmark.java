@@ -0,0 +1,121 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks {@link RegexMatcher} matching and finding in 1024 values, against a new {@link Matcher}
+ * for each value, which the directives used to do.
+ */
+@State(Scope.Thread)
+public class RegexMatcherBenchmark {
+  private static final int VALUES = 1024;
+
+  @Param({"root@joltie.io", "user.*@joltie\\.io", ".*@joltie\\.io", "([a-z]+)([0-9]+)@"})
+  private String regex;
+
+  private String[] values;
+  private Pattern pattern;
+  private RegexMatcher matcher;
+  private RegexMatcher bounded;
+
+  @Setup
+  public void setup() {
+    values = new String[VALUES];
+    for (int i = 0; i < VALUES; ++i) {
+      values[i] = (i % 4 == 0 ? "root" : "user" + i) + (i % 3 == 0 ? "@joltie.io" : "@mars.com");
+    }
+    pattern = Pattern.compile(regex);
+    matcher = new RegexMatcher(regex, false);
+    bounded = new RegexMatcher(regex, true);
+  }
+
+  @Benchmark
+  public int matchesPattern() {
+    int count = 0;
+    for (String value : values) {
+      if (pattern.matcher(value).matches()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int matches() {
+    return matches(matcher);
+  }
+
+  @Benchmark
+  public int matchesBounded() {
+    return matches(bounded);
+  }
+
+  @Benchmark
+  public int findPattern() {
+    int count = 0;
+    for (String value : values) {
+      Matcher m = pattern.matcher(value);
+      while (m.find()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int find() {
+    return find(matcher);
+  }
+
+  @Benchmark
+  public int findBounded() {
+    return find(bounded);
+  }
+
+  private int matches(RegexMatcher matcher) {
+    int count = 0;
+    for (String value : values) {
+      if (matcher.matches(value)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private int find(RegexMatcher matcher) {
+    int count = 0;
+    for (String value : values) {
+      Matcher m = matcher.find(value);
+      if (m == null) {
+        continue;
+      }
+      while (m.find()) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -17,7 +17,7 @@
 package co.cask.directives.aggregates;
 
 import co.cask.wrangler.api.TransientVariableScope;
-import co.cask.wrangler.api.TransientStore;
+import co.cask.wrangler.api.VersionedTransientStore;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,10 +32,13 @@ import java.util.Set;
  * The life-time of variables set in this store is within a boundary of record
  * being processed.
  */
-public class DefaultTransientStore implements TransientStore {
+public class DefaultTransientStore implements VersionedTransientStore {
   private final Map<String, Object> global = new HashMap<>();
   private final Map<String, Object> local = new HashMap<>();
 
+  // Incremented on every change of the variables, allows readers to cache them.
+  private long version;
+
   /**
    * Increments a value of the variable.
    *
@@ -52,6 +55,7 @@ public class DefaultTransientStore implements TransientStore {
   }
 
   private void increment(Map<String, Object> variables, String name, long value) {
+    version++;
     Long count = null;
     if (variables.containsKey(name)) {
       count = (Long) variables.get(name);
@@ -87,13 +91,23 @@ public class DefaultTransientStore implements TransientStore {
    */
   @Override
   public void reset(TransientVariableScope scope) {
-    if (scope == TransientVariableScope.GLOBAL) {
+    if (scope == TransientVariableScope.GLOBAL && !global.isEmpty()) {
       global.clear();
-    } else if (scope == TransientVariableScope.LOCAL) {
+      version++;
+    } else if (scope == TransientVariableScope.LOCAL && !local.isEmpty()) {
       local.clear();
+      version++;
     }
   }
 
+  /**
+   * @return version of the variables, changed whenever a variable is set, incremented or reset.
+   */
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
   /**
    * A value associated with the variable in the transient store.
    *
@@ -116,6 +130,7 @@ public class DefaultTransientStore implements TransientStore {
    */
   @Override
   public void set(TransientVariableScope scope, String name, Object value) {
+    version++;
     if (scope == TransientVariableScope.GLOBAL) {
       global.put(name, value);
     } else if (scope == TransientVariableScope.LOCAL) {
@@ -30,6 +30,8 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.Identifier;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnNameNormalizer;
+import co.cask.wrangler.utils.ColumnRewriter;
 
 import java.util.List;
 
@@ -45,6 +47,14 @@ public class ChangeColCaseNames implements Directive {
   public static final String NAME = "change-column-case";
   private boolean toLower;
 
+  // Changes the case of the columns, once per layout of the rows.
+  private final ColumnRewriter rewriter = new ColumnNameNormalizer() {
+    @Override
+    protected String normalize(String name) {
+      return toLower ? name.toLowerCase() : name.toUpperCase();
+    }
+  };
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
@@ -72,14 +82,7 @@ public class ChangeColCaseNames implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      for (int i = 0; i < row.length(); ++i) {
-        String name = row.getColumn(i);
-        if (toLower) {
-          row.setColumn(i, name.toLowerCase());
-        } else {
-          row.setColumn(i, name.toUpperCase());
-        }
-      }
+      rewriter.rewrite(row);
     }
     return rows;
   }
@@ -27,6 +27,8 @@ import co.cask.wrangler.api.ExecutorContext;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnNameNormalizer;
+import co.cask.wrangler.utils.ColumnRewriter;
 
 import java.util.List;
 
@@ -48,6 +50,12 @@ import java.util.List;
   "with an underscore '_'.")
 public final class CleanseColumnNames implements Directive {
   public static final String NAME = "cleanse-column-names";
+  private final ColumnRewriter rewriter = new ColumnNameNormalizer() {
+    @Override
+    protected String normalize(String name) {
+      return cleanse(name);
+    }
+  };
 
   @Override
   public UsageDefinition define() {
@@ -68,17 +76,38 @@ public final class CleanseColumnNames implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      for (int i = 0; i < row.length(); ++i) {
-        String column = row.getColumn(i);
-        // Trims
-        column = column.trim();
-        // Lower case columns
-        column = column.toLowerCase();
-        // Filtering unwanted characters
-        column = column.replaceAll("[^a-zA-Z0-9_]", "_");
-        row.setColumn(i, column);
-      }
+      rewriter.rewrite(row);
     }
     return rows;
   }
+
+  /**
+   * Trims and lower cases a column name, and replaces the characters other than [a-zA-Z0-9_] with
+   * an underscore, same as <code>replaceAll("[^a-zA-Z0-9_]", "_")</code> would.
+   *
+   * @param name of the column.
+   * @return name cleansed.
+   */
+  static String cleanse(String name) {
+    String lower = name.trim().toLowerCase();
+    StringBuilder builder = null;
+    for (int i = 0; i < lower.length(); ++i) {
+      char c = lower.charAt(i);
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_') {
+        if (builder != null) {
+          builder.append(c);
+        }
+        continue;
+      }
+      if (builder == null) {
+        builder = new StringBuilder(lower.length()).append(lower, 0, i);
+      }
+      builder.append('_');
+      // A character outside of the basic plane is replaced by a single underscore.
+      if (Character.isHighSurrogate(c) && i + 1 < lower.length() && Character.isLowSurrogate(lower.charAt(i + 1))) {
+        i++;
+      }
+    }
+    return builder == null ? lower : builder.toString();
+  }
 }
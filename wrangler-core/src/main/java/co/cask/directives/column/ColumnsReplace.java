@@ -29,6 +29,8 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnNameNormalizer;
+import co.cask.wrangler.utils.ColumnRewriter;
 import org.unix4j.Unix4j;
 import org.unix4j.builder.Unix4jCommandBuilder;
 
@@ -47,6 +49,21 @@ public class ColumnsReplace implements Directive {
   public static final String NAME = "columns-replace";
   private String sed;
 
+  // Applies the sed expression to the columns, once per layout of the rows.
+  private final ColumnRewriter rewriter = new ColumnNameNormalizer() {
+    @Override
+    protected String normalize(String name) throws DirectiveExecutionException {
+      try {
+        Unix4jCommandBuilder builder = Unix4j.echo(name).sed(sed);
+        return builder.toStringResult();
+      } catch (IllegalArgumentException e) {
+        throw new DirectiveExecutionException(
+          String.format(ColumnsReplace.this.toString() + " : " + e.getMessage())
+        );
+      }
+    }
+  };
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
@@ -67,17 +84,7 @@ public class ColumnsReplace implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      for (int i = 0; i < row.length(); ++i) {
-        String name = row.getColumn(i);
-        try {
-          Unix4jCommandBuilder builder = Unix4j.echo(name).sed(sed);
-          row.setColumn(i, builder.toStringResult());
-        } catch (IllegalArgumentException e) {
-          throw new DirectiveExecutionException(
-            String.format(toString() + " : " + e.getMessage())
-          );
-        }
-      }
+      rewriter.rewrite(row);
     }
     return rows;
   }
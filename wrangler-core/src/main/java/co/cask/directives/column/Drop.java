@@ -29,6 +29,7 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnNameList;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnSelector;
 
 import java.util.List;
 
@@ -46,6 +47,34 @@ public class Drop implements Directive {
   // Columns to be dropped.
   private List<String> columns;
 
+  // Drops the columns specified, resolved once per layout of the rows.
+  private final ColumnSelector selector = new ColumnSelector() {
+    @Override
+    protected int[] select(List<String> names) {
+      // Each column specified drops the first column of the same name not already dropped.
+      boolean[] dropped = new boolean[names.size()];
+      int count = 0;
+      for (String column : columns) {
+        String name = column.trim();
+        for (int i = 0; i < names.size(); ++i) {
+          if (!dropped[i] && name.equalsIgnoreCase(names.get(i))) {
+            dropped[i] = true;
+            count++;
+            break;
+          }
+        }
+      }
+      int[] positions = new int[names.size() - count];
+      int idx = 0;
+      for (int i = 0; i < names.size(); ++i) {
+        if (!dropped[i]) {
+          positions[idx++] = i;
+        }
+      }
+      return positions;
+    }
+  };
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
@@ -68,12 +97,7 @@ public class Drop implements Directive {
   public List<Row> execute(List<Row> rows, ExecutorContext context)
     throws DirectiveExecutionException {
     for (Row row : rows) {
-      for (String column : columns) {
-        int idx = row.find(column.trim());
-        if (idx != -1) {
-          row.remove(idx);
-        }
-      }
+      selector.select(row);
     }
     return rows;
   }
@@ -23,14 +23,15 @@ import co.cask.wrangler.api.Arguments;
 import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveParseException;
-import co.cask.wrangler.api.Pair;
 import co.cask.wrangler.api.ExecutorContext;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnNameList;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnSelector;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -49,6 +50,21 @@ public class Keep implements Directive {
   public static final String NAME = "keep";
   private final Set<String> keep = new HashSet<>();
 
+  // Keeps the columns specified, resolved once per layout of the rows.
+  private final ColumnSelector selector = new ColumnSelector() {
+    @Override
+    protected int[] select(List<String> columns) {
+      int[] positions = new int[columns.size()];
+      int count = 0;
+      for (int i = 0; i < columns.size(); ++i) {
+        if (keep.contains(columns.get(i))) {
+          positions[count++] = i;
+        }
+      }
+      return Arrays.copyOf(positions, count);
+    }
+  };
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
@@ -72,14 +88,7 @@ public class Keep implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      int idx = 0;
-      for (Pair<String, Object> v : row.getFields()) {
-        if (!keep.contains(v.getFirst())) {
-          row.remove(idx);
-        } else {
-          ++idx;
-        }
-      }
+      selector.select(row);
     }
     return rows;
   }
@@ -30,7 +30,9 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnRewriter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -44,6 +46,27 @@ public final class Rename implements Directive {
   public static final String NAME = "rename";
   private ColumnName source;
   private ColumnName target;
+  private final ColumnRewriter rewriter = new ColumnRewriter() {
+    @Override
+    protected List<String> rewrite(List<String> columns) throws DirectiveExecutionException {
+      int idx = find(columns, source.value());
+      int idxnew = find(columns, target.value());
+      if (idx == -1) {
+        return columns;
+      }
+      if (idxnew != -1) {
+        throw new DirectiveExecutionException(
+          String.format(
+            "%s : %s column already exists. Apply the directive 'drop %s' before renaming %s to %s.", Rename.this,
+            target.value(), target.value(), source.value(), source.value()
+          )
+        );
+      }
+      List<String> renamed = new ArrayList<>(columns);
+      renamed.set(idx, target.value());
+      return renamed;
+    }
+  };
 
   @Override
   public UsageDefinition define() {
@@ -69,20 +92,7 @@ public final class Rename implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException, ErrorRowException {
     for (Row row : rows) {
-      int idx = row.find(source.value());
-      int idxnew = row.find(target.value());
-      if (idx != -1) {
-        if (idxnew == -1) {
-          row.setColumn(idx, target.value());
-        } else {
-          throw new DirectiveExecutionException(
-            String.format(
-              "%s : %s column already exists. Apply the directive 'drop %s' before renaming %s to %s.", toString(),
-              target.value(), target.value(), source.value(), source.value()
-            )
-          );
-        }
-      }
+      rewriter.rewrite(row);
     }
     return rows;
   }
@@ -31,22 +31,76 @@ import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Identifier;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.executor.RowBatch;
+import co.cask.wrangler.executor.VectorizedDirective;
 
 import java.util.List;
 
 /**
  * A Wrangler step for converting data type of a column
  * Accepted types are: int, short, long, double, float, string, boolean and bytes
+ *
+ * <p>The type converted to is resolved when the directive is initialized, and the kind of the
+ * values converted is resolved once per class of the values, so each value is converted by a
+ * switch over both without looking at the names of the types. Numbers are converted to numbers
+ * directly, and integers are parsed from strings of ASCII digits without {@link Integer#parseInt}
+ * unless they could overflow.</p>
  */
 @Plugin(type = "directives")
 @Name(SetType.NAME)
 @Categories(categories = {"column"})
 @Description("Converting data type of a column.")
-public final class SetType implements Directive {
+public final class SetType implements Directive, VectorizedDirective {
   public static final String NAME = "set-type";
+
+  // Value returned by parseAscii for the strings that are not integers of the digits expected.
+  private static final long NOT_PARSED = Long.MIN_VALUE;
+
   private String col;
   private String type;
 
+  // Type converted to, null if the type is unknown.
+  private Target target;
+
+  // Class of the value last converted and its kind.
+  private Class<?> lastClass;
+  private Kind lastKind;
+
+  /**
+   * Types the values can be converted to.
+   */
+  private enum Target {
+    INT, SHORT, LONG, BOOLEAN, STRING, FLOAT, DOUBLE, BYTES
+  }
+
+  /**
+   * Kinds of the values converted.
+   */
+  private enum Kind {
+    STRING, SHORT, INT, LONG, FLOAT, DOUBLE, BOOLEAN, BYTES, OTHER;
+
+    static Kind of(Class<?> cls) {
+      if (cls == String.class) {
+        return STRING;
+      } else if (cls == Short.class) {
+        return SHORT;
+      } else if (cls == Integer.class) {
+        return INT;
+      } else if (cls == Long.class) {
+        return LONG;
+      } else if (cls == Float.class) {
+        return FLOAT;
+      } else if (cls == Double.class) {
+        return DOUBLE;
+      } else if (cls == Boolean.class) {
+        return BOOLEAN;
+      } else if (cls == byte[].class) {
+        return BYTES;
+      }
+      return OTHER;
+    }
+  }
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
@@ -59,6 +113,34 @@ public final class SetType implements Directive {
   public void initialize(Arguments args) throws DirectiveParseException {
     col = ((ColumnName)args.value("column")).value();
     type = ((Identifier)args.value("type")).value();
+    target = toTarget(type.toUpperCase());
+  }
+
+  private static Target toTarget(String type) {
+    switch (type) {
+      case "INTEGER":
+      case "I64":
+      case "INT":
+        return Target.INT;
+      case "I32":
+      case "SHORT":
+        return Target.SHORT;
+      case "LONG":
+        return Target.LONG;
+      case "BOOL":
+      case "BOOLEAN":
+        return Target.BOOLEAN;
+      case "STRING":
+        return Target.STRING;
+      case "FLOAT":
+        return Target.FLOAT;
+      case "DOUBLE":
+        return Target.DOUBLE;
+      case "BYTES":
+        return Target.BYTES;
+      default:
+        return null;
+    }
   }
 
   @Override
@@ -72,196 +154,253 @@ public final class SetType implements Directive {
       int idx = row.find(col);
       if (idx != -1) {
         Object object = row.getValue(idx);
-        if (object == null || (object instanceof String && ((String) object).trim().isEmpty())) {
+        if (object == null || (object instanceof String && isBlank((String) object))) {
           continue;
         }
-        try {
-          row.setValue(idx, convertType(type, object));
-        } catch (DirectiveExecutionException e) {
-          throw e;
-        } catch (Exception e) {
-          throw new DirectiveExecutionException(String.format("Invalid data: Column '%s' can not be converted to '%s'",
-                                                              col, type));
-        }
+        row.setValue(idx, convert(object));
       }
     }
     return rows;
   }
 
-  private Object convertType(String toType, Object object) throws Exception {
-    toType = toType.toUpperCase();
-    switch (toType) {
-      case "INTEGER":
-      case "I64":
-      case "INT": {
-        if(object instanceof String) {
-          return Integer.parseInt((String) object);
-        } else if (object instanceof Short) {
-          return ((Short) object).intValue();
-        } else if (object instanceof Float) {
-          return ((Float) object).intValue();
-        } else if (object instanceof Double) {
-          return ((Double) object).intValue();
-        } else if (object instanceof Integer) {
-          return object;
-        } else if (object instanceof Long) {
-          return ((Long) object).intValue();
-        } else if (object instanceof byte[]) {
-          return Bytes.toInt((byte[]) object);
-        } else {
-          return object;
-        }
+  @Override
+  public void execute(RowBatch batch) throws DirectiveExecutionException {
+    RowBatch.Vector vector = batch.find(col);
+    if (vector == null) {
+      return;
+    }
+    for (int i = vector.nextNotNull(0); i < vector.size(); i = vector.nextNotNull(i + 1)) {
+      Object object = vector.get(i);
+      if (object instanceof String && isBlank((String) object)) {
+        continue;
       }
+      vector.set(i, convert(object));
+    }
+  }
 
-      case "I32":
-      case "SHORT": {
-        if(object instanceof String) {
-          return Short.parseShort((String) object);
-        } else if (object instanceof Short) {
-          return object;
-        } else if (object instanceof Float) {
-          return ((Float) object).shortValue();
-        } else if (object instanceof Double) {
-          return ((Double) object).shortValue();
-        } else if (object instanceof Integer) {
-          return ((Integer) object).shortValue();
-        } else if (object instanceof Long) {
-          return ((Long) object).shortValue();
-        } else if (object instanceof byte[]) {
-          return Bytes.toShort((byte[]) object);
-        } else {
-          return object;
-        }
+  /**
+   * @return true if the value is empty once trimmed, without trimming it.
+   */
+  private static boolean isBlank(String value) {
+    for (int i = 0; i < value.length(); ++i) {
+      if (value.charAt(i) > ' ') {
+        return false;
       }
+    }
+    return true;
+  }
+
+  private Object convert(Object object) throws DirectiveExecutionException {
+    if (target == null) {
+      throw new DirectiveExecutionException(
+        String.format("Unknown data type '%s' found in the directive. " +
+                        "Accepted types are: int, short, long, double, boolean, string, bytes", type.toUpperCase())
+      );
+    }
+    Class<?> cls = object.getClass();
+    if (cls != lastClass) {
+      lastKind = Kind.of(cls);
+      lastClass = cls;
+    }
+    try {
+      return convert(target, lastKind, object);
+    } catch (Exception e) {
+      throw new DirectiveExecutionException(String.format("Invalid data: Column '%s' can not be converted to '%s'",
+                                                          col, type));
+    }
+  }
 
-      case "LONG": {
-        if(object instanceof String) {
-          return Long.parseLong((String) object);
-        } else if (object instanceof Short) {
-          return ((Short) object).longValue();
-        } else if (object instanceof Float) {
-          return ((Float) object).longValue();
-        } else if (object instanceof Double) {
-          return ((Double) object).longValue();
-        } else if (object instanceof Integer) {
-          return ((Integer) object).longValue();
-        } else if (object instanceof Long) {
-          return object;
-        } else if (object instanceof byte[]) {
-          return Bytes.toLong((byte[]) object);
-        } else {
-          return object;
+  private static Object convert(Target target, Kind kind, Object object) {
+    switch (target) {
+      case INT:
+        switch (kind) {
+          case STRING:
+            return parseInt((String) object);
+          case INT:
+            return object;
+          case SHORT:
+          case LONG:
+          case FLOAT:
+          case DOUBLE:
+            return ((Number) object).intValue();
+          case BYTES:
+            return Bytes.toInt((byte[]) object);
+          default:
+            return object;
         }
-      }
 
-      case "BOOL":
-      case "BOOLEAN": {
-        if(object instanceof String) {
-          return Boolean.parseBoolean((String) object);
-        } else if (object instanceof Short) {
-          return ((Short) object) > 0 ? true : false;
-        } else if (object instanceof Float) {
-          return ((Float) object) > 0 ? true : false;
-        } else if (object instanceof Double) {
-          return ((Double) object)  > 0 ? true : false;
-        } else if (object instanceof Integer) {
-          return ((Integer) object)  > 0 ? true : false;
-        } else if (object instanceof Long) {
-          return ((Long) object)  > 0 ? true : false;
-        } else if (object instanceof byte[]) {
-          return Bytes.toBoolean((byte[]) object);
-        } else {
-          return object;
+      case SHORT:
+        switch (kind) {
+          case STRING:
+            return parseShort((String) object);
+          case SHORT:
+            return object;
+          case INT:
+          case LONG:
+          case FLOAT:
+          case DOUBLE:
+            return ((Number) object).shortValue();
+          case BYTES:
+            return Bytes.toShort((byte[]) object);
+          default:
+            return object;
         }
-      }
 
-      case "STRING": {
-        if(object instanceof String) {
-          return object;
-        } else if (object instanceof Short) {
-          return Short.toString((Short) object);
-        } else if (object instanceof Float) {
-          return Float.toString((Float) object);
-        } else if (object instanceof Double) {
-          return Double.toString((Double) object);
-        } else if (object instanceof Integer) {
-          return Integer.toString((Integer) object);
-        } else if (object instanceof Long) {
-          return Long.toString((Long) object);
-        } else if (object instanceof byte[]) {
-          return Bytes.toString((byte[]) object);
-        } else if (object instanceof Boolean){
-          return Boolean.toString((Boolean) object);
-        } else {
-          return object;
+      case LONG:
+        switch (kind) {
+          case STRING:
+            return parseLong((String) object);
+          case LONG:
+            return object;
+          case SHORT:
+          case INT:
+          case FLOAT:
+          case DOUBLE:
+            return ((Number) object).longValue();
+          case BYTES:
+            return Bytes.toLong((byte[]) object);
+          default:
+            return object;
         }
-      }
 
-      case "FLOAT": {
-        if(object instanceof String) {
-          return Float.parseFloat((String) object);
-        } else if (object instanceof Short) {
-          return ((Short) object).floatValue();
-        } else if (object instanceof Float) {
-          return object;
-        } else if (object instanceof Double) {
-          return ((Double) object).floatValue();
-        } else if (object instanceof Integer) {
-          return ((Integer) object).floatValue();
-        } else if (object instanceof Long) {
-          return ((Long) object).floatValue();
-        } else if (object instanceof byte[]) {
-          return Bytes.toFloat((byte[]) object);
-        } else {
-          return object;
+      case BOOLEAN:
+        switch (kind) {
+          case STRING:
+            return Boolean.parseBoolean((String) object);
+          case SHORT:
+          case INT:
+          case LONG:
+            return ((Number) object).longValue() > 0;
+          case FLOAT:
+          case DOUBLE:
+            return ((Number) object).doubleValue() > 0;
+          case BYTES:
+            return Bytes.toBoolean((byte[]) object);
+          default:
+            return object;
         }
-      }
 
-      case "DOUBLE": {
-        if(object instanceof String) {
-          return Double.parseDouble((String) object);
-        } else if (object instanceof Short) {
-          return ((Short) object).doubleValue();
-        } else if (object instanceof Float) {
-          return ((Float) object).doubleValue();
-        } else if (object instanceof Double) {
-          return object;
-        } else if (object instanceof Integer) {
-          return ((Integer) object).doubleValue();
-        } else if (object instanceof Long) {
-          return ((Long) object).doubleValue();
-        } else if (object instanceof byte[]) {
-          return Bytes.toDouble((byte[]) object);
-        } else {
-          return object;
+      case STRING:
+        switch (kind) {
+          case SHORT:
+          case INT:
+          case LONG:
+          case FLOAT:
+          case DOUBLE:
+          case BOOLEAN:
+            return object.toString();
+          case BYTES:
+            return Bytes.toString((byte[]) object);
+          default:
+            return object;
         }
-      }
 
-      case "BYTES": {
-        if(object instanceof String) {
-          return Bytes.toBytes((String) object);
-        } else if (object instanceof Short) {
-          return Bytes.toBytes((Short) object);
-        } else if (object instanceof Float) {
-          return Bytes.toBytes((Float) object);
-        } else if (object instanceof Double) {
-          return Bytes.toBytes((Double) object);
-        } else if (object instanceof Integer) {
-          return Bytes.toBytes((Integer) object);
-        } else if (object instanceof Long) {
-          return Bytes.toBytes((Long) object);
-        } else if (object instanceof byte[]) {
-          return object;
-        } else {
-          return object;
+      case FLOAT:
+        switch (kind) {
+          case STRING:
+            return Float.parseFloat((String) object);
+          case FLOAT:
+            return object;
+          case SHORT:
+          case INT:
+          case LONG:
+          case DOUBLE:
+            return ((Number) object).floatValue();
+          case BYTES:
+            return Bytes.toFloat((byte[]) object);
+          default:
+            return object;
+        }
+
+      case DOUBLE:
+        switch (kind) {
+          case STRING:
+            return Double.parseDouble((String) object);
+          case DOUBLE:
+            return object;
+          case SHORT:
+          case INT:
+          case LONG:
+          case FLOAT:
+            return ((Number) object).doubleValue();
+          case BYTES:
+            return Bytes.toDouble((byte[]) object);
+          default:
+            return object;
+        }
+
+      case BYTES:
+        switch (kind) {
+          case STRING:
+            return Bytes.toBytes((String) object);
+          case SHORT:
+            return Bytes.toBytes((Short) object);
+          case INT:
+            return Bytes.toBytes((Integer) object);
+          case LONG:
+            return Bytes.toBytes((Long) object);
+          case FLOAT:
+            return Bytes.toBytes((Float) object);
+          case DOUBLE:
+            return Bytes.toBytes((Double) object);
+          default:
+            return object;
         }
-      }
 
       default:
-        throw new DirectiveExecutionException(
-          String.format("Unknown data type '%s' found in the directive. " +
-                  "Accepted types are: int, short, long, double, boolean, string, bytes", toType)
-        );
+        return object;
+    }
+  }
+
+  /**
+   * Parses an integer the same as {@link Integer#parseInt(String)}.
+   */
+  static int parseInt(String value) {
+    long parsed = parseAscii(value, 9);
+    return parsed == NOT_PARSED ? Integer.parseInt(value) : (int) parsed;
+  }
+
+  /**
+   * Parses a short the same as {@link Short#parseShort(String)}.
+   */
+  static short parseShort(String value) {
+    long parsed = parseAscii(value, 4);
+    return parsed == NOT_PARSED ? Short.parseShort(value) : (short) parsed;
+  }
+
+  /**
+   * Parses a long the same as {@link Long#parseLong(String)}.
+   */
+  static long parseLong(String value) {
+    long parsed = parseAscii(value, 18);
+    return parsed == NOT_PARSED ? Long.parseLong(value) : parsed;
+  }
+
+  /**
+   * Parses an optionally signed integer of at most the given number of ASCII digits, which are
+   * few enough for the integer not to overflow.
+   *
+   * @return integer parsed, {@link #NOT_PARSED} if the value is not such an integer.
+   */
+  private static long parseAscii(String value, int digits) {
+    int length = value.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+      negative = value.charAt(0) == '-';
+      i = 1;
+    }
+    if (i == length || length - i > digits) {
+      return NOT_PARSED;
+    }
+    long result = 0;
+    for (; i < length; ++i) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return NOT_PARSED;
+      }
+      result = result * 10 + (c - '0');
     }
+    return negative ? -result : result;
   }
 }
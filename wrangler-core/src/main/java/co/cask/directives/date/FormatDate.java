@@ -36,7 +36,6 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -74,10 +73,8 @@ public class FormatDate implements Directive {
 
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
-    List<Row> results = new ArrayList<>();
     for (Row row : rows) {
-      Row dt = new Row(row);
-      int idx = dt.find(column);
+      int idx = row.find(column);
 
       if (idx == -1) {
         throw new DirectiveExecutionException(toString() + " : '" + column + "' column is not defined in the row. " +
@@ -100,11 +97,9 @@ public class FormatDate implements Directive {
           );
         }
 
-        dt.setValue(idx, destinationFmt.format(zonedDateTime));
+        row.setValue(idx, destinationFmt.format(zonedDateTime));
       }
-
-      results.add(dt);
     }
-    return results;
+    return rows;
   }
 }
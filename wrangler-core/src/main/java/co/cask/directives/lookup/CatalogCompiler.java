@@ -0,0 +1,170 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.lookup;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class {@link CatalogCompiler} compiles a text catalog into the binary format read by
+ * {@link MappedCatalog}.
+ *
+ * <p>The text catalog has an entry per line, with the code followed by whitespace and the description,
+ * which is the format of the ICD code files. The binary catalog is laid
+ * out as follows, all integers being big endian:</p>
+ *
+ * <pre>
+ *   int   magic ('WCAT')
+ *   int   version
+ *   int   count of entries
+ *   int[] count + 1 offsets of the codes, relative to the start of the codes
+ *   int[] count + 1 offsets of the descriptions, relative to the start of the descriptions
+ *   byte[] UTF-8 codes, sorted by their bytes
+ *   byte[] UTF-8 descriptions, in the order of the codes
+ * </pre>
+ *
+ * <p>The catalogs bundled are compiled during the build, other catalogs can be compiled with:</p>
+ * <pre>
+ *   java co.cask.directives.lookup.CatalogCompiler &lt;catalog.txt&gt; &lt;catalog.catalog&gt;
+ * </pre>
+ */
+public final class CatalogCompiler {
+  static final int MAGIC = 0x57434154;
+  static final int VERSION = 1;
+
+  // Extension of the text catalogs and the compiled catalogs.
+  public static final String TEXT = ".txt";
+  public static final String BINARY = ".catalog";
+
+  private CatalogCompiler() {
+  }
+
+  /**
+   * Compiles the text catalog read from the stream.
+   *
+   * @param in stream of the text catalog.
+   * @param out stream the binary catalog is written to.
+   */
+  public static void compile(InputStream in, OutputStream out) throws IOException {
+    List<byte[][]> entries = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        int split = 0;
+        while (split < line.length() && !Character.isWhitespace(line.charAt(split))) {
+          split++;
+        }
+        if (split == 0) {
+          continue;
+        }
+        String code = line.substring(0, split);
+        String description = line.substring(split).trim();
+        entries.add(new byte[][] {
+          code.getBytes(StandardCharsets.UTF_8), description.getBytes(StandardCharsets.UTF_8)
+        });
+      }
+    }
+
+    // Stable sort keeps the duplicates in the order they are read, the last one is kept.
+    Collections.sort(entries, new Comparator<byte[][]>() {
+      @Override
+      public int compare(byte[][] a, byte[][] b) {
+        return MappedCatalog.compare(a[0], b[0]);
+      }
+    });
+    List<byte[][]> unique = new ArrayList<>(entries.size());
+    for (int i = 0; i < entries.size(); ++i) {
+      if (i + 1 < entries.size() && MappedCatalog.compare(entries.get(i)[0], entries.get(i + 1)[0]) == 0) {
+        continue;
+      }
+      unique.add(entries.get(i));
+    }
+
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(unique.size());
+    for (int part = 0; part < 2; ++part) {
+      int offset = 0;
+      data.writeInt(offset);
+      for (byte[][] entry : unique) {
+        offset += entry[part].length;
+        data.writeInt(offset);
+      }
+    }
+    for (int part = 0; part < 2; ++part) {
+      for (byte[][] entry : unique) {
+        data.write(entry[part]);
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Compiles a text catalog file into a binary catalog file.
+   *
+   * @param source text catalog.
+   * @param destination of the binary catalog.
+   */
+  public static void compile(File source, File destination) throws IOException {
+    try (InputStream in = new FileInputStream(source);
+         OutputStream out = new FileOutputStream(destination)) {
+      compile(in, out);
+    }
+  }
+
+  /**
+   * Compiles the text catalog in the first argument into the binary catalog in the second argument.
+   * With a single argument, all the text catalogs named '*_codes.txt' in the directory are compiled
+   * next to them.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length == 2) {
+      compile(new File(args[0]), new File(args[1]));
+      return;
+    }
+    if (args.length != 1) {
+      System.err.println("Usage: CatalogCompiler <catalog.txt> <catalog.catalog> | <directory>");
+      System.exit(1);
+    }
+    File[] files = new File(args[0]).listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      String name = file.getName();
+      if (name.endsWith("_codes" + TEXT)) {
+        String base = name.substring(0, name.length() - TEXT.length());
+        compile(file, new File(file.getParentFile(), base + BINARY));
+      }
+    }
+  }
+}
@@ -30,8 +30,8 @@ import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
-import co.cask.wrangler.executor.ICDCatalog;
-
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -43,8 +43,12 @@ import java.util.List;
 @Description("Looks-up values from pre-loaded (static) catalogs.")
 public class CatalogLookup implements Directive {
   public static final String NAME = "catalog-lookup";
-  // StaticCatalog that holds the ICD code and their descriptions
-  private StaticCatalog catalog;
+
+  // System property with the directory user catalogs are read from, user catalogs are disabled when not set.
+  public static final String CATALOG_DIR = "wrangler.catalog.dir";
+
+  // Catalog that holds the ICD code and their descriptions, shared within the JVM.
+  private MappedCatalog catalog;
 
   // Catalog name -- normalized for column name
   private String name;
@@ -52,6 +56,9 @@ public class CatalogLookup implements Directive {
   // Column from which the ICD code needs to be read.
   private String column;
 
+  // Column the description is written to.
+  private String output;
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
@@ -64,19 +71,60 @@ public class CatalogLookup implements Directive {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
     String type = ((Text) args.value("catalog")).value();
-    if (!type.equalsIgnoreCase("ICD-9") && !type.equalsIgnoreCase("ICD-10-2016") &&
-      !type.equalsIgnoreCase("ICD-10-2017")) {
-      throw new DirectiveParseException("Invalid ICD type - should be 9 (ICD-9) or 10 (ICD-10-2016 " +
-                                           "or ICD-10-2017).");
-    } else {
-      catalog = new ICDCatalog(type.toLowerCase());
-      if (!catalog.configure()) {
-        throw new DirectiveParseException(
-          String.format("Failed to configure ICD StaticCatalog. Check with your administrator")
-        );
+    try {
+      if (type.equalsIgnoreCase("ICD-9") || type.equalsIgnoreCase("ICD-10-2016") ||
+        type.equalsIgnoreCase("ICD-10-2017")) {
+        String name = type.toLowerCase();
+        catalog = MappedCatalog.fromResource(name, String.format("%s_cm_codes", name));
+        if (catalog == null) {
+          throw new DirectiveParseException(
+            String.format("Failed to configure ICD catalog. Check with your administrator")
+          );
+        }
+      } else if (type.endsWith(CatalogCompiler.BINARY)) {
+        File file = userCatalog(type);
+        String name = file.getName();
+        catalog = MappedCatalog.fromFile(name.substring(0, name.length() - CatalogCompiler.BINARY.length())
+                                           .toLowerCase(), file);
+      } else {
+        throw new DirectiveParseException("Invalid ICD type - should be 9 (ICD-9) or 10 (ICD-10-2016 " +
+                                            "or ICD-10-2017), or the name of a compiled catalog file.");
       }
+    } catch (IOException e) {
+      throw new DirectiveParseException(
+        String.format("Failed to load catalog '%s'. %s", type, e.getMessage())
+      );
     }
     this.name = catalog.getCatalog().replaceAll("-", "_");
+    this.output = String.format("%s_%s_description", column, name);
+  }
+
+  /**
+   * Resolves a user catalog within the catalog directory. Catalogs are memory mapped from the filesystem
+   * of the process running the directive, hence only catalogs the administrator placed in the catalog
+   * directory can be read.
+   *
+   * @param path of the catalog, relative to the catalog directory.
+   * @return catalog file.
+   */
+  private static File userCatalog(String path) throws DirectiveParseException, IOException {
+    String dir = System.getProperty(CATALOG_DIR);
+    if (dir == null || dir.isEmpty()) {
+      throw new DirectiveParseException(
+        String.format("User catalogs are not enabled. Check with your administrator to set '%s'.", CATALOG_DIR)
+      );
+    }
+    File root = new File(dir).getCanonicalFile();
+    File file = new File(root, path).getCanonicalFile();
+    if (!file.toPath().startsWith(root.toPath())) {
+      throw new DirectiveParseException(
+        String.format("Catalog '%s' is not within the catalog directory.", path)
+      );
+    }
+    if (!file.isFile()) {
+      throw new DirectiveParseException(String.format("Catalog file '%s' does not exist.", path));
+    }
+    return file;
   }
 
   @Override
@@ -88,22 +136,14 @@ public class CatalogLookup implements Directive {
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
       int idx = row.find(column);
+      String description = null;
       if (idx != -1) {
         Object object = row.getValue(idx);
-        if (object != null && object instanceof String) {
-          String code = (String) object;
-          StaticCatalog.Entry value = catalog.lookup(code);
-          if (value != null) {
-            row.add(String.format("%s_%s_description", column, name), value.getDescription());
-          } else {
-            row.add(String.format("%s_%s_description", column, name), null);
-          }
-        } else {
-          row.add(String.format("%s_%s_description", column, name), null);
+        if (object instanceof String) {
+          description = catalog.getDescription((String) object);
         }
-      } else {
-        row.add(String.format("%s_%s_description", column, name), null);
       }
+      row.add(output, description);
     }
     return rows;
   }
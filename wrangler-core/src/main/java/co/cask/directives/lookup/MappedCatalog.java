@@ -0,0 +1,276 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.lookup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class {@link MappedCatalog} is a read-only catalog of codes and their descriptions, memory
+ * mapped from the binary format written by {@link CatalogCompiler}.
+ *
+ * <p>Catalogs are opened once per JVM and shared by all the directives using them, so a catalog
+ * is held in memory once however many stages and partitions use it. Codes are looked up by binary
+ * search over the sorted codes directly in the mapped memory.</p>
+ *
+ * <p>Instances are thread safe.</p>
+ */
+public final class MappedCatalog {
+  private static final Logger LOG = LoggerFactory.getLogger(MappedCatalog.class);
+
+  // Catalogs opened in this JVM, by resource or file.
+  private static final ConcurrentMap<String, MappedCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final ByteBuffer buffer;
+  private final int count;
+  private final int codeOffsets;
+  private final int descriptionOffsets;
+  private final int codes;
+  private final int descriptions;
+
+  private MappedCatalog(String name, ByteBuffer buffer) throws IOException {
+    this.name = name;
+    this.buffer = buffer;
+    if (buffer.capacity() < 12 || buffer.getInt(0) != CatalogCompiler.MAGIC) {
+      throw new IOException(String.format("Catalog '%s' is not a compiled catalog.", name));
+    }
+    if (buffer.getInt(4) != CatalogCompiler.VERSION) {
+      throw new IOException(String.format("Catalog '%s' has unsupported version %d.", name, buffer.getInt(4)));
+    }
+    this.count = buffer.getInt(8);
+    this.codeOffsets = 12;
+    this.descriptionOffsets = codeOffsets + 4 * (count + 1);
+    this.codes = descriptionOffsets + 4 * (count + 1);
+    this.descriptions = codes + buffer.getInt(codeOffsets + 4 * count);
+  }
+
+  /**
+   * Returns the catalog held in a resource, opening it if it's not already open in this JVM.
+   * The compiled resource <code>base.catalog</code> is used when present, otherwise the text
+   * resource <code>base.txt</code> is compiled.
+   *
+   * @param name of the catalog.
+   * @param base name of the resource, without extension.
+   * @return catalog, null if the resource does not exist.
+   */
+  public static MappedCatalog fromResource(String name, String base) throws IOException {
+    String key = "resource:" + base;
+    MappedCatalog catalog = CATALOGS.get(key);
+    if (catalog != null) {
+      return catalog;
+    }
+    synchronized (CATALOGS) {
+      catalog = CATALOGS.get(key);
+      if (catalog == null) {
+        catalog = openResource(name, base);
+        if (catalog != null) {
+          CATALOGS.put(key, catalog);
+        }
+      }
+      return catalog;
+    }
+  }
+
+  /**
+   * Returns the catalog compiled into a file, opening it if it's not already open in this JVM.
+   *
+   * @param name of the catalog.
+   * @param file holding the compiled catalog.
+   * @return catalog.
+   */
+  public static MappedCatalog fromFile(String name, File file) throws IOException {
+    String key = "file:" + file.getCanonicalPath();
+    MappedCatalog catalog = CATALOGS.get(key);
+    if (catalog != null) {
+      return catalog;
+    }
+    synchronized (CATALOGS) {
+      catalog = CATALOGS.get(key);
+      if (catalog == null) {
+        catalog = new MappedCatalog(name, map(file));
+        CATALOGS.put(key, catalog);
+      }
+      return catalog;
+    }
+  }
+
+  private static MappedCatalog openResource(String name, String base) throws IOException {
+    ClassLoader loader = MappedCatalog.class.getClassLoader();
+    URL url = loader.getResource(base + CatalogCompiler.BINARY);
+    if (url != null && "file".equals(url.getProtocol())) {
+      try {
+        return new MappedCatalog(name, map(new File(url.toURI())));
+      } catch (URISyntaxException e) {
+        // Copied to a file below.
+      }
+    }
+
+    // Resources within jars are copied to a temporary file to be mapped.
+    File file = File.createTempFile("catalog-" + name + "-", CatalogCompiler.BINARY);
+    file.deleteOnExit();
+    try {
+      if (url != null) {
+        try (InputStream in = url.openStream(); OutputStream out = new FileOutputStream(file)) {
+          byte[] bytes = new byte[64 * 1024];
+          int read;
+          while ((read = in.read(bytes)) != -1) {
+            out.write(bytes, 0, read);
+          }
+        }
+      } else {
+        InputStream in = loader.getResourceAsStream(base + CatalogCompiler.TEXT);
+        if (in == null) {
+          return null;
+        }
+        LOG.debug("Compiled catalog for '{}' not found, compiling it from text.", name);
+        try (OutputStream out = new FileOutputStream(file)) {
+          CatalogCompiler.compile(in, out);
+        }
+      }
+      return new MappedCatalog(name, map(file));
+    } finally {
+      // The mapping remains valid after the file is deleted.
+      if (!file.delete()) {
+        LOG.debug("Unable to delete temporary catalog file '{}'.", file);
+      }
+    }
+  }
+
+  private static ByteBuffer map(File file) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+         FileChannel channel = raf.getChannel()) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * @return number of codes in the catalog.
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Looks up the description of a code.
+   *
+   * @param code to be looked up.
+   * @return description of the code if found, null otherwise.
+   */
+  public String getDescription(String code) {
+    int index = find(code);
+    if (index < 0) {
+      return null;
+    }
+    int start = buffer.getInt(descriptionOffsets + 4 * index);
+    int end = buffer.getInt(descriptionOffsets + 4 * (index + 1));
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; ++i) {
+      bytes[i] = buffer.get(descriptions + start + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return name of the catalog.
+   */
+  public String getCatalog() {
+    return name;
+  }
+
+  /**
+   * Finds the index of the code by binary search.
+   */
+  private int find(String code) {
+    byte[] encoded = null;
+    for (int i = 0; i < code.length(); ++i) {
+      if (code.charAt(i) >= 0x80) {
+        encoded = code.getBytes(StandardCharsets.UTF_8);
+        break;
+      }
+    }
+
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int start = buffer.getInt(codeOffsets + 4 * mid);
+      int end = buffer.getInt(codeOffsets + 4 * (mid + 1));
+      int cmp = encoded == null ? compareAscii(start, end, code) : compareBytes(start, end, encoded);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private int compareAscii(int start, int end, String code) {
+    int length = end - start;
+    int n = Math.min(length, code.length());
+    for (int i = 0; i < n; ++i) {
+      int diff = (buffer.get(codes + start + i) & 0xff) - code.charAt(i);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - code.length();
+  }
+
+  private int compareBytes(int start, int end, byte[] code) {
+    int length = end - start;
+    int n = Math.min(length, code.length);
+    for (int i = 0; i < n; ++i) {
+      int diff = (buffer.get(codes + start + i) & 0xff) - (code[i] & 0xff);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - code.length;
+  }
+
+  /**
+   * Compares two byte arrays as unsigned bytes.
+   */
+  static int compare(byte[] a, byte[] b) {
+    int n = Math.min(a.length, b.length);
+    for (int i = 0; i < n; ++i) {
+      int diff = (a[i] & 0xff) - (b[i] & 0xff);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return a.length - b.length;
+  }
+}
@@ -70,6 +70,9 @@ public class CsvParser implements Directive {
   // Header names.
   private List<String> headers = new ArrayList<>();
 
+  // Columns of the last row parsed, shared by the next rows parsed into the same columns.
+  private List<String> layout;
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder("parse-as-csv");
@@ -150,6 +153,7 @@ public class CsvParser implements Directive {
             toRow(csvRecord, row);
           }
         }
+        share(row);
       } catch (IOException e) {
         // When there is error parsing data, the data is written to error.
         throw new ErrorRowException(e.getMessage(), 1);
@@ -175,6 +179,19 @@ public class CsvParser implements Directive {
     }
   }
 
+  /**
+   * Shares the columns of the row with the previous row, if the columns are the same, so the
+   * rows parsed share their columns and directives working on the columns do so once.
+   */
+  private void share(Row row) {
+    List<String> columns = row.getColumns();
+    if (columns.equals(layout)) {
+      row.setColumns(layout);
+    } else {
+      layout = columns;
+    }
+  }
+
   private boolean isHeader(CSVRecord record) {
     checkedHeader = true;
     Set<String> columns = new HashSet<>();
@@ -51,6 +51,7 @@ public final class FixedLengthParser implements Directive {
   private String col;
   private String padding;
   private int recordLength;
+  private String[] names;
 
   @Override
   public UsageDefinition define() {
@@ -74,6 +75,10 @@ public final class FixedLengthParser implements Directive {
       idx = idx + 1;
     }
     this.recordLength = sum;
+    this.names = new String[widths.length];
+    for (int i = 0; i < widths.length; ++i) {
+      names[i] = String.format("%s_%d", col, i + 1);
+    }
     if(args.contains("padding")) {
       this.padding = ((Text) args.value("padding")).value();
     } else {
@@ -100,25 +105,34 @@ public final class FixedLengthParser implements Directive {
           // If the recordLength length doesn't match the string length.
           if (length < recordLength) {
             throw new ErrorRowException(
-              String.format("Fewer bytes than length of row specified - expected atleast %d bytes, found %s bytes.",
-                            recordLength, length),
-              2
+              2, "Fewer bytes than length of row specified - expected atleast %d bytes, found %s bytes.",
+              recordLength, length
             );
           }
 
+          // The first record is appended to a copy of the row, following records are copied
+          // from it so that all of them share the same columns.
+          Row first = null;
+          int base = row.length();
           int index = 1;
           while ((index + recordLength - 1) <= length) {
-            Row newRow = new Row(row);
+            Row newRow = first == null ? new Row(row) : new Row(first);
             int recPosition = index;
-            int colid = 1;
-            for (int width : widths) {
+            for (int i = 0; i < widths.length; ++i) {
+              int width = widths[i];
               String val = data.substring(recPosition - 1, recPosition + width - 1);
               if (padding != null) {
                 val = val.replaceAll(padding, "");
               }
-              newRow.add(String.format("%s_%d", col, colid), val);
+              if (first == null) {
+                newRow.add(names[i], val);
+              } else {
+                newRow.setValue(base + i, val);
+              }
               recPosition += width;
-              colid+=1;
+            }
+            if (first == null) {
+              first = newRow;
             }
             results.add(newRow);
             index = (index + recordLength);
@@ -129,10 +129,15 @@ public class JsParser implements Directive {
             } else if (element instanceof JsonArray) {
               JsonArray array = element.getAsJsonArray();
               if (array.size() > 0) {
-                for (int i = 0; i < array.size(); ++i) {
+                // Rows after the first are copied from it, so that all of them share the same columns.
+                Row first = new Row(row);
+                first.add(column, getValue(array.get(0)));
+                results.add(first);
+                int position = first.length() - 1;
+                for (int i = 1; i < array.size(); ++i) {
                   JsonElement object = array.get(i);
-                  Row newRow = new Row(row);
-                  newRow.add(column, getValue(object));
+                  Row newRow = new Row(first);
+                  newRow.setValue(position, getValue(object));
                   results.add(newRow);
                 }
               } else {
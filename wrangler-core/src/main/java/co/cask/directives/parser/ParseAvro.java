@@ -19,7 +19,6 @@ package co.cask.directives.parser;
 import co.cask.cdap.api.annotation.Description;
 import co.cask.cdap.api.annotation.Name;
 import co.cask.cdap.api.annotation.Plugin;
-import co.cask.cdap.api.common.Bytes;
 import co.cask.wrangler.api.Arguments;
 import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
@@ -29,12 +28,15 @@ import co.cask.wrangler.api.ExecutorContext;
 import co.cask.wrangler.api.Optional;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
+import co.cask.wrangler.api.parser.Bool;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Identifier;
 import co.cask.wrangler.api.parser.Numeric;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
 import co.cask.wrangler.clients.RestClientException;
+import co.cask.wrangler.clients.SchemaCache;
+import co.cask.wrangler.clients.SchemaPrefetch;
 import co.cask.wrangler.clients.SchemaRegistryClient;
 import co.cask.wrangler.codec.BinaryAvroDecoder;
 import co.cask.wrangler.codec.Decoder;
@@ -59,21 +61,24 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * A step to parse AVRO json or binary format.
+ *
+ * <p>The schema is retrieved through the process wide {@link SchemaCache} and is prefetched when
+ * the pipeline is initialized.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("parse-as-avro")
 @Categories(categories = { "parser", "avro"})
 @Description("Parses column as AVRO generic record.")
-public class ParseAvro implements Directive {
+public class ParseAvro implements Directive, SchemaPrefetch {
   public static final String NAME = "parse-as-avro";
   private static final Logger LOG = LoggerFactory.getLogger(ParseAvro.class);
   private String column;
   private String schemaId;
   private String type;
   private long version;
+  private boolean nativeNested = false;
   private Decoder<Row> decoder;
   private boolean decoderInitialized = false;
-  private SchemaRegistryClient client;
 
   @Override
   public UsageDefinition define() {
@@ -82,6 +87,7 @@ public class ParseAvro implements Directive {
     builder.define("schema-id", TokenType.IDENTIFIER);
     builder.define("encode-type", TokenType.IDENTIFIER);
     builder.define("version", TokenType.NUMERIC, Optional.TRUE);
+    builder.define("native-nested", TokenType.BOOLEAN, Optional.TRUE);
     return builder.build();
   }
 
@@ -100,6 +106,24 @@ public class ParseAvro implements Directive {
     } else {
       this.version = -1;
     }
+    if (args.contains("native-nested")) {
+      this.nativeNested = ((Bool) args.value("native-nested")).value();
+    }
+  }
+
+  @Override
+  public void prefetch(final ExecutorContext context) {
+    try {
+      final SchemaRegistryClient client = SchemaRegistryClient.getInstance(context);
+      SchemaCache.get().prefetch(new Callable<Schema>() {
+        @Override
+        public Schema call() throws Exception {
+          return SchemaCache.get().getAvroSchema(client, schemaId, version);
+        }
+      });
+    } catch (Exception e) {
+      LOG.debug("Unable to prefetch schema '{}'. {}", schemaId, e.getMessage());
+    }
   }
 
   @Override
@@ -118,19 +142,12 @@ public class ParseAvro implements Directive {
       Callable<Decoder<Row>> decoderCallable = new Callable<Decoder<Row>>() {
         @Override
         public Decoder<Row> call() throws Exception {
-          client = SchemaRegistryClient.getInstance(context);
-          byte[] bytes;
-          if (version != -1) {
-            bytes = client.getSchema(schemaId, version);
-          } else {
-            bytes = client.getSchema(schemaId);
-          }
-          Schema.Parser parser = new Schema.Parser();
-          Schema schema = parser.parse(Bytes.toString(bytes));
+          Schema schema = SchemaCache.get().getAvroSchema(SchemaRegistryClient.getInstance(context),
+                                                          schemaId, version);
           if ("json".equalsIgnoreCase(type)) {
-            return new JsonAvroDecoder(schema);
+            return new JsonAvroDecoder(schema, nativeNested);
           } else if ("binary".equalsIgnoreCase(type)) {
-            return new BinaryAvroDecoder(schema);
+            return new BinaryAvroDecoder(schema, nativeNested);
           }
           return null;
         }
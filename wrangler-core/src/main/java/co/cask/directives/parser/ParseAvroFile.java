@@ -24,26 +24,30 @@ import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveParseException;
 import co.cask.wrangler.api.ExecutorContext;
+import co.cask.wrangler.api.Optional;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
+import co.cask.wrangler.api.parser.Bool;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
-import com.google.gson.Gson;
+import co.cask.wrangler.codec.AvroValueConvertor;
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
-import org.apache.avro.file.DataFileReader;
-import org.apache.avro.file.SeekableByteArrayInput;
+import org.apache.avro.file.DataFileStream;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.util.Utf8;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A step to parse AVRO File.
+ *
+ * <p>The file is read as a {@link DataFileStream}, which decodes each block in place, and a single
+ * {@link GenericRecord} is reused for every datum in the file.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("parse-as-avro-file")
@@ -52,19 +56,24 @@ import java.util.Map;
 public class ParseAvroFile implements Directive {
   public static final String NAME = "parse-as-avro-file";
   private String column;
-  private Gson gson;
+  private AvroValueConvertor convertor;
 
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
     builder.define("column", TokenType.COLUMN_NAME);
+    builder.define("native-nested", TokenType.BOOLEAN, Optional.TRUE);
     return builder.build();
   }
 
   @Override
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
-    gson = new Gson();
+    boolean nativeNested = false;
+    if (args.contains("native-nested")) {
+      nativeNested = ((Bool) args.value("native-nested")).value();
+    }
+    convertor = new AvroValueConvertor(nativeNested);
   }
 
   @Override
@@ -80,21 +89,23 @@ public class ParseAvroFile implements Directive {
       if (idx != -1) {
         Object object = row.getValue(idx);
         if (object instanceof byte[]) {
-          DataFileReader<GenericRecord> reader = null;
+          DataFileStream<GenericRecord> stream = null;
           try {
-            reader =
-              new DataFileReader<>(new SeekableByteArrayInput((byte[]) object), new GenericDatumReader<>());
-            while(reader.hasNext()) {
+            stream =
+              new DataFileStream<>(new ByteArrayInputStream((byte[]) object), new GenericDatumReader<GenericRecord>());
+            GenericRecord record = null;
+            while(stream.hasNext()) {
+              record = stream.next(record);
               Row newRow = new Row();
-              add(reader.next(), newRow, null);
+              add(record, newRow, null);
               results.add(newRow);
             }
-          } catch (IOException e) {
+          } catch (IOException | AvroRuntimeException e) {
             throw new DirectiveExecutionException(toString() + " : Failed to parse Avro data file." + e.getMessage());
           } finally {
-            if (reader != null) {
+            if (stream != null) {
               try {
-                reader.close();
+                stream.close();
               } catch (IOException e) {
                 // Nothing can be done.
               }
@@ -120,20 +131,16 @@ public class ParseAvroFile implements Directive {
     List<Schema.Field> fields = genericRecord.getSchema().getFields();
     String colname;
     for (Schema.Field field : fields) {
-      Object v = genericRecord.get(field.name());
+      Object v = genericRecord.get(field.pos());
       if (name != null) {
-        colname = String.format("%s_%s", name, field.name());
+        colname = name + "_" + field.name();
       } else {
         colname = field.name();
       }
       if (v instanceof GenericRecord) {
         add((GenericRecord) v, row, colname);
-      } else if (v instanceof Map || v instanceof List) {
-        row.add(colname, gson.toJson(v));
-      } else if (v instanceof Utf8) {
-        row.add(colname, v.toString());
       } else {
-        row.add(colname, genericRecord.get(field.name()));
+        row.add(colname, convertor.convert(v));
       }
     }
   }
@@ -95,8 +95,8 @@ public class ParseDate implements Directive {
           }
         } else {
           throw new ErrorRowException(
-            String.format("%s : Invalid type '%s' of column '%s'. Should be of type String.", toString(),
-                          object != null ? object.getClass().getName() : "null", column), 1
+            1, "%s : Invalid type '%s' of column '%s'. Should be of type String.", this,
+            object != null ? object.getClass().getName() : "null", column
           );
         }
       }
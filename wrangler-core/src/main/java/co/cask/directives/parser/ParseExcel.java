@@ -19,7 +19,6 @@ package co.cask.directives.parser;
 import co.cask.cdap.api.annotation.Description;
 import co.cask.cdap.api.annotation.Name;
 import co.cask.cdap.api.annotation.Plugin;
-import co.cask.functions.Types;
 import co.cask.wrangler.api.Arguments;
 import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
@@ -30,29 +29,25 @@ import co.cask.wrangler.api.Optional;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnName;
+import co.cask.wrangler.api.parser.Numeric;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
 import com.google.common.io.Closeables;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFDateUtil;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * A step to parse Excel files.
+ *
+ * <p>The sheet is read with {@link XlsxSheetReader}, which streams over the sheet XML instead
+ * of building the workbook in memory. An optional limit restricts the number of rows parsed,
+ * which is useful when sampling large spreadsheets.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("parse-as-excel")
@@ -64,6 +59,7 @@ public class ParseExcel implements Directive {
   private String column;
   private String sheet;
   private boolean firstRowAsHeader = false;
+  private int limit = 0;
 
   @Override
   public UsageDefinition define() {
@@ -71,6 +67,7 @@ public class ParseExcel implements Directive {
     builder.define("column", TokenType.COLUMN_NAME);
     builder.define("sheet", TokenType.TEXT, Optional.TRUE);
     builder.define("first-row-as-header", TokenType.BOOLEAN, Optional.TRUE);
+    builder.define("limit", TokenType.NUMERIC, Optional.TRUE);
     return builder.build();
   }
 
@@ -85,6 +82,9 @@ public class ParseExcel implements Directive {
     if (args.contains("first-row-as-header")) {
       this.firstRowAsHeader = ((Boolean) args.value("first-row-as-header").value());
     }
+    if (args.contains("limit")) {
+      this.limit = ((Numeric) args.value("limit")).value().intValue();
+    }
   }
 
   @Override
@@ -95,7 +95,7 @@ public class ParseExcel implements Directive {
   @Override
   public List<Row> execute(List<Row> records, final ExecutorContext context)
     throws DirectiveExecutionException, ErrorRowException {
-    List<Row> results = new ArrayList<>();
+    final List<Row> results = new ArrayList<>();
     ByteArrayInputStream input = null;
     try {
       for (Row record : records) {
@@ -115,84 +115,17 @@ public class ParseExcel implements Directive {
 
           if (bytes != null) {
             input = new ByteArrayInputStream(bytes);
-            XSSFWorkbook book = new XSSFWorkbook(input);
-            XSSFSheet excelsheet;
-            if (Types.isInteger(sheet)) {
-              excelsheet = book.getSheetAt(Integer.parseInt(sheet));
-            } else {
-              excelsheet = book.getSheet(sheet);
-            }
-
-            if (excelsheet == null) {
-              throw new DirectiveExecutionException(
-                String.format("Failed to extract sheet '%s' from the excel. Sheet '%s' does not exist.", sheet, sheet)
-              );
-            }
-
-            Map<Integer, String> columnNames = new TreeMap<>();
-            Iterator<org.apache.poi.ss.usermodel.Row> it = excelsheet.iterator();
-            int rows = 0;
-            while (it.hasNext()) {
-              org.apache.poi.ss.usermodel.Row row = it.next();
-              Iterator<Cell> cellIterator = row.cellIterator();
-              if(checkIfRowIsEmpty(row)) {
-                continue;
-              }
-
-              Row newRow = new Row();
-              newRow.add("fwd", rows);
-
-              while (cellIterator.hasNext()) {
-                Cell cell = cellIterator.next();
-                String name = columnName(cell.getAddress().getColumn());
-                if (firstRowAsHeader && rows > 0) {
-                  String value = columnNames.get(cell.getAddress().getColumn());
-                  if (value != null) {
-                    name = value;
-                  }
-                }
-                String value = "";
-                switch (cell.getCellTypeEnum()) {
-                  case STRING:
-                    newRow.add(name, cell.getStringCellValue());
-                    value = cell.getStringCellValue();
-                    break;
-
-                  case NUMERIC:
-                    if (HSSFDateUtil.isCellDateFormatted(cell)) {
-                      newRow.add(name, cell.getDateCellValue());
-                      value = cell.getDateCellValue().toString();
-                    } else {
-                      newRow.add(name, cell.getNumericCellValue());
-                      value = String.valueOf(cell.getNumericCellValue());
-                    }
-                    break;
-
-                  case BOOLEAN:
-                    newRow.add(name, cell.getBooleanCellValue());
-                    value = String.valueOf(cell.getBooleanCellValue());
-                    break;
-                }
-
-                if (rows == 0 && firstRowAsHeader) {
-                  columnNames.put(cell.getAddress().getColumn(), value);
-                }
+            final int start = results.size();
+            XlsxSheetReader reader = new XlsxSheetReader(sheet, firstRowAsHeader, limit);
+            int rows = reader.read(input, new XlsxSheetReader.Handler() {
+              @Override
+              public void row(Row row) {
+                results.add(row);
               }
-
-              if (firstRowAsHeader && rows == 0) {
-                rows++;
-                continue;
-              }
-              results.add(newRow);
-              rows++;
-            }
-
-            if (firstRowAsHeader) {
-              rows = rows - 1;
-            }
+            });
 
             for (int i = rows - 1; i >= 0; --i) {
-              results.get(rows - i - 1).addOrSetAtIndex(1, "bkd", i); // fwd - 0, bkd - 1.
+              results.get(start + rows - i - 1).addOrSetAtIndex(1, "bkd", i); // fwd - 0, bkd - 1.
             }
           }
         }
@@ -206,32 +139,4 @@ public class ParseExcel implements Directive {
     }
     return results;
   }
-
-  private boolean checkIfRowIsEmpty(org.apache.poi.ss.usermodel.Row row) {
-    if (row == null) {
-      return true;
-    }
-    if (row.getLastCellNum() <= 0) {
-      return true;
-    }
-    for (int cellNum = row.getFirstCellNum(); cellNum < row.getLastCellNum(); cellNum++) {
-      Cell cell = row.getCell(cellNum);
-      if (cell != null && cell.getCellTypeEnum() != CellType.BLANK && StringUtils.isNotBlank(cell.toString())) {
-        return false;
-      }
-    }
-    return true;
-  }
-
-  private String columnName(int number) {
-    final StringBuilder sb = new StringBuilder();
-
-    int num = number;
-    while (num >=  0) {
-      int numChar = (num % 26)  + 65;
-      sb.append((char)numChar);
-      num = (num  / 26) - 1;
-    }
-    return sb.reverse().toString();
-  }
 }
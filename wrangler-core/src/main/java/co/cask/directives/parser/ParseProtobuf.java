@@ -35,6 +35,8 @@ import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
 import co.cask.wrangler.clients.RestClientException;
+import co.cask.wrangler.clients.SchemaCache;
+import co.cask.wrangler.clients.SchemaPrefetch;
 import co.cask.wrangler.clients.SchemaRegistryClient;
 import co.cask.wrangler.codec.Decoder;
 import co.cask.wrangler.codec.DecoderException;
@@ -44,6 +46,7 @@ import com.github.rholder.retry.Retryer;
 import com.github.rholder.retry.RetryerBuilder;
 import com.github.rholder.retry.StopStrategies;
 import com.github.rholder.retry.WaitStrategies;
+import com.google.protobuf.Descriptors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,12 +59,15 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * A step to parse Protobuf encoded memory representations.
+ *
+ * <p>The descriptor is retrieved through the process wide {@link SchemaCache} and is prefetched
+ * when the pipeline is initialized.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("parse-as-protobuf")
 @Categories(categories = { "parser", "protobuf"})
 @Description("Parses column as protobuf encoded memory representations.")
-public class ParseProtobuf implements Directive {
+public class ParseProtobuf implements Directive, SchemaPrefetch {
   public static final String NAME = "parse-as-protobuf";
   private static final Logger LOG = LoggerFactory.getLogger(ParseProtobuf.class);
   private String column;
@@ -70,7 +76,6 @@ public class ParseProtobuf implements Directive {
   private long version;
   private Decoder<Row> decoder;
   private boolean decoderInitialized = false;
-  private SchemaRegistryClient client;
 
   @Override
   public UsageDefinition define() {
@@ -94,6 +99,21 @@ public class ParseProtobuf implements Directive {
     }
   }
 
+  @Override
+  public void prefetch(final ExecutorContext context) {
+    try {
+      final SchemaRegistryClient client = SchemaRegistryClient.getInstance(context);
+      SchemaCache.get().prefetch(new Callable<Descriptors.Descriptor>() {
+        @Override
+        public Descriptors.Descriptor call() throws Exception {
+          return SchemaCache.get().getProtobufDescriptor(client, schemaId, version, recordName);
+        }
+      });
+    } catch (Exception e) {
+      LOG.debug("Unable to prefetch protobuf descriptor '{}'. {}", schemaId, e.getMessage());
+    }
+  }
+
   @Override
   public void destroy() {
     // no-op
@@ -110,15 +130,10 @@ public class ParseProtobuf implements Directive {
       Callable<Decoder<Row>> decoderCallable = new Callable<Decoder<Row>>() {
         @Override
         public Decoder<Row> call() throws Exception {
-          client = SchemaRegistryClient.getInstance(context);
-          byte[] bytes;
-          if (version != -1) {
-            bytes = client.getSchema(schemaId, version);
-          } else {
-            bytes = client.getSchema(schemaId);
-          }
-
-          return new ProtobufDecoderUsingDescriptor(bytes, recordName);
+          Descriptors.Descriptor descriptor = SchemaCache.get().getProtobufDescriptor(
+            SchemaRegistryClient.getInstance(context), schemaId, version, recordName
+          );
+          return new ProtobufDecoderUsingDescriptor(descriptor);
         }
       };
 
@@ -97,13 +97,12 @@ public class ParseSimpleDate implements Directive {
                                                                .atZone(ZoneId.ofOffset("UTC", ZoneOffset.UTC)));
             row.setValue(idx, zonedDateTime);
           } catch (ParseException e) {
-            throw new ErrorRowException(String.format("Failed to parse '%s' with pattern '%s'",
-                                                      object, formatter.toPattern()), 1);
+            throw new ErrorRowException(1, "Failed to parse '%s' with pattern '%s'", object, formatter.toPattern());
           }
         } else {
           throw new ErrorRowException(
-            String.format("%s : Invalid type '%s' of column '%s'. Should be of type String.", toString(),
-                          object != null ? object.getClass().getName() : "null", column), 2
+            2, "%s : Invalid type '%s' of column '%s'. Should be of type String.", this,
+            object != null ? object.getClass().getName() : "null", column
           );
         }
       }
@@ -120,8 +120,6 @@ public class ParseTimestamp implements Directive {
   }
 
   private long getLongValue(Object object) throws ErrorRowException {
-    String errorMsg = String.format("%s : Invalid type '%s' of column '%s'. Must be of type Long or String.",
-                                    toString(), object.getClass().getName(), column);
     try {
       if (object instanceof Long) {
         return  (long) object;
@@ -130,11 +128,12 @@ public class ParseTimestamp implements Directive {
       }
     } catch (Exception e) {
       // Exception while casting the object, do not handle it here, so that ErrorRowException is thrown.
-      errorMsg = String.format("%s : Invalid value for column '%s'. Must be of type Long or String representing long.",
-                               toString(), column);
+      throw new ErrorRowException(2, "%s : Invalid value for column '%s'. Must be of type Long or String " +
+        "representing long.", this, column);
     }
 
-    throw new ErrorRowException(errorMsg, 2);
+    throw new ErrorRowException(2, "%s : Invalid type '%s' of column '%s'. Must be of type Long or String.",
+                                this, object.getClass().getName(), column);
   }
 
   private ZonedDateTime getZonedDateTime(long ts, TimeUnit unit, ZoneId zoneId) {
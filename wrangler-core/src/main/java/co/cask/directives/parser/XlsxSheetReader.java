@@ -0,0 +1,337 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.parser;
+
+import co.cask.functions.Types;
+import co.cask.wrangler.api.Row;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streaming reader for XLSX sheets built on the XSSF event model.
+ *
+ * <p>Unlike {@link org.apache.poi.xssf.usermodel.XSSFWorkbook}, this class never materializes
+ * the workbook DOM. The shared strings table is loaded in read-only form, the requested sheet
+ * is parsed with SAX and every non-empty spreadsheet row is handed over to the {@link Handler}
+ * as soon as its closing element is seen.</p>
+ *
+ * <p>Cell typing follows the behavior of the DOM based reader: strings, booleans and numerics
+ * are emitted, numerics with a date format are converted to {@link java.util.Date}, while
+ * formula, error and blank cells are skipped.</p>
+ */
+public final class XlsxSheetReader {
+  private final String sheet;
+  private final boolean firstRowAsHeader;
+  private final int limit;
+
+  /**
+   * Receives rows as they are parsed from the sheet.
+   */
+  public interface Handler {
+    /**
+     * Invoked for each parsed row.
+     *
+     * @param row parsed from the sheet, with the 'fwd' column set.
+     */
+    void row(Row row);
+  }
+
+  /**
+   * @param sheet index or name of the sheet to be read.
+   * @param firstRowAsHeader true if the first non-empty row provides the column names.
+   * @param limit maximum number of rows to be emitted, any value less than 1 reads the complete sheet.
+   */
+  public XlsxSheetReader(String sheet, boolean firstRowAsHeader, int limit) {
+    this.sheet = sheet;
+    this.firstRowAsHeader = firstRowAsHeader;
+    this.limit = limit;
+  }
+
+  /**
+   * Reads the sheet from the XLSX stream.
+   *
+   * @param input stream of XLSX file.
+   * @param handler to receive the rows parsed.
+   * @return number of rows emitted to the handler.
+   */
+  public int read(InputStream input, Handler handler) throws Exception {
+    OPCPackage pkg = OPCPackage.open(input);
+    try {
+      XSSFReader reader = new XSSFReader(pkg);
+      ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+      StylesTable styles = reader.getStylesTable();
+      boolean date1904 = isDate1904(reader);
+
+      InputStream sheetStream = findSheet(reader);
+      if (sheetStream == null) {
+        throw new IllegalArgumentException(
+          String.format("Failed to extract sheet '%s' from the excel. Sheet '%s' does not exist.", sheet, sheet)
+        );
+      }
+
+      SheetHandler sheetHandler = new SheetHandler(strings, styles, date1904, handler);
+      try {
+        XMLReader parser = SAXHelper.newXMLReader();
+        parser.setContentHandler(sheetHandler);
+        parser.parse(new InputSource(sheetStream));
+      } catch (LimitReachedException e) {
+        // Expected when a limit has been specified, rest of the sheet is not parsed.
+      } finally {
+        sheetStream.close();
+      }
+      return sheetHandler.emitted;
+    } finally {
+      pkg.revert();
+    }
+  }
+
+  private InputStream findSheet(XSSFReader reader) throws Exception {
+    XSSFReader.SheetIterator it = (XSSFReader.SheetIterator) reader.getSheetsData();
+    boolean byIndex = Types.isInteger(sheet);
+    int index = byIndex ? Integer.parseInt(sheet) : -1;
+    int current = 0;
+    while (it.hasNext()) {
+      InputStream stream = it.next();
+      if ((byIndex && current == index) || (!byIndex && sheet.equals(it.getSheetName()))) {
+        return stream;
+      }
+      stream.close();
+      current++;
+    }
+    return null;
+  }
+
+  private static boolean isDate1904(XSSFReader reader) throws Exception {
+    final boolean[] date1904 = new boolean[] { false };
+    try (InputStream workbook = reader.getWorkbookData()) {
+      XMLReader parser = SAXHelper.newXMLReader();
+      parser.setContentHandler(new DefaultHandler() {
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+          throws SAXException {
+          if ("workbookPr".equals(localName)) {
+            String value = attributes.getValue("date1904");
+            date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+            throw new LimitReachedException();
+          } else if ("sheets".equals(localName)) {
+            throw new LimitReachedException();
+          }
+        }
+      });
+      parser.parse(new InputSource(workbook));
+    } catch (LimitReachedException e) {
+      // Workbook properties are found before the list of sheets, nothing more to read.
+    }
+    return date1904[0];
+  }
+
+  /**
+   * Used to stop the SAX parser once enough of the document has been read.
+   */
+  private static final class LimitReachedException extends SAXException {
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
+  /**
+   * SAX handler for the sheet XML, translating 'row' and 'c' elements into {@link Row}.
+   */
+  private final class SheetHandler extends DefaultHandler {
+    private final ReadOnlySharedStringsTable strings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final Handler handler;
+    private final Map<Integer, String> columnNames = new TreeMap<>();
+    private final StringBuilder text = new StringBuilder();
+
+    // State of the row being parsed.
+    private Row row;
+    private boolean empty;
+    private int rows = 0;
+    private int emitted = 0;
+
+    // State of the cell being parsed.
+    private int column;
+    private int position;
+    private String type;
+    private String style;
+    private boolean formula;
+    private boolean hasValue;
+    private boolean collect;
+
+    SheetHandler(ReadOnlySharedStringsTable strings, StylesTable styles, boolean date1904, Handler handler) {
+      this.strings = strings;
+      this.styles = styles;
+      this.date1904 = date1904;
+      this.handler = handler;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      switch (localName) {
+        case "row":
+          row = new Row();
+          row.add("fwd", rows);
+          empty = true;
+          position = 0;
+          break;
+
+        case "c":
+          String ref = attributes.getValue("r");
+          column = ref != null ? new CellReference(ref).getCol() : position;
+          position = column + 1;
+          type = attributes.getValue("t");
+          style = attributes.getValue("s");
+          formula = false;
+          hasValue = false;
+          text.setLength(0);
+          break;
+
+        case "f":
+          formula = true;
+          break;
+
+        case "v":
+        case "t":
+          // 't' holds the text of inline strings, possibly split into rich text runs.
+          collect = true;
+          hasValue = true;
+          break;
+      }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      if (collect) {
+        text.append(ch, start, length);
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+      switch (localName) {
+        case "v":
+        case "t":
+          collect = false;
+          break;
+
+        case "c":
+          if (!formula && hasValue) {
+            addCell();
+          }
+          break;
+
+        case "row":
+          endRow();
+          break;
+      }
+    }
+
+    private void addCell() {
+      String raw = text.toString();
+      Object value;
+      if ("s".equals(type)) {
+        value = strings.getEntryAt(Integer.parseInt(raw.trim()));
+      } else if ("inlineStr".equals(type) || "str".equals(type)) {
+        value = raw;
+      } else if ("b".equals(type)) {
+        value = "1".equals(raw.trim());
+      } else if (type == null || "n".equals(type)) {
+        double number = Double.parseDouble(raw);
+        value = isDate(number) ? DateUtil.getJavaDate(number, date1904) : number;
+      } else {
+        // Error cells and any other type are skipped, as with the DOM based reader.
+        return;
+      }
+
+      String name = columnName(column);
+      if (firstRowAsHeader && rows > 0) {
+        String header = columnNames.get(column);
+        if (header != null) {
+          name = header;
+        }
+      }
+      row.add(name, value);
+
+      String stringValue = value.toString();
+      if (StringUtils.isNotBlank(stringValue)) {
+        empty = false;
+      }
+      if (rows == 0 && firstRowAsHeader) {
+        columnNames.put(column, stringValue);
+      }
+    }
+
+    private boolean isDate(double number) {
+      if (style == null || styles == null || !DateUtil.isValidExcelDate(number)) {
+        return false;
+      }
+      XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+      return cellStyle != null && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+    }
+
+    private void endRow() throws SAXException {
+      if (empty) {
+        if (rows == 0 && firstRowAsHeader) {
+          columnNames.clear();
+        }
+        return;
+      }
+      if (firstRowAsHeader && rows == 0) {
+        rows++;
+        return;
+      }
+      handler.row(row);
+      rows++;
+      emitted++;
+      if (limit > 0 && emitted >= limit) {
+        throw new LimitReachedException();
+      }
+    }
+  }
+
+  private static String columnName(int number) {
+    final StringBuilder sb = new StringBuilder();
+
+    int num = number;
+    while (num >=  0) {
+      int numChar = (num % 26)  + 65;
+      sb.append((char) numChar);
+      num = (num  / 26) - 1;
+    }
+    return sb.reverse().toString();
+  }
+}
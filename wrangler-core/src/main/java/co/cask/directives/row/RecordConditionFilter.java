@@ -34,6 +34,7 @@ import co.cask.wrangler.api.parser.UsageDefinition;
 import co.cask.wrangler.expression.EL;
 import co.cask.wrangler.expression.ELContext;
 import co.cask.wrangler.expression.ELException;
+import co.cask.wrangler.utils.ColumnPositions;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -57,6 +58,10 @@ public class RecordConditionFilter implements Directive {
   public static final String NAME = "filter-row";
   private String condition;
   private final EL el = new EL(new EL.DefaultFunctions());
+  // Context reused for evaluating the condition on each row.
+  private final ELContext ctx = new ELContext();
+  // Positions of the columns referenced by the condition.
+  private ColumnPositions columns;
   private boolean isTrue;
   // Variables in expression
   private Set<String> variables = new HashSet<>();
@@ -78,6 +83,7 @@ public class RecordConditionFilter implements Directive {
     condition = ((Expression) args.value("condition")).value();
     try {
       el.compile(condition);
+      columns = new ColumnPositions(el.variables());
     } catch (ELException e) {
       throw new DirectiveParseException(e.getMessage());
     }
@@ -93,23 +99,20 @@ public class RecordConditionFilter implements Directive {
     List<Row> results = new ArrayList<>();
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context);
-      for(String var : el.variables()) {
-        Object value = row.getValue(var);
-        String strValue;
+      ctx.refresh(context);
+      String[] names = columns.getNames();
+      int[] positions = columns.resolve(row);
+      for (int i = 0; i < names.length; ++i) {
+        Object value = positions[i] == -1 ? null : row.getValue(positions[i]);
         // support numeric values by converting them to string
         if (value instanceof Number) {
-          Number number = (Number) value;
-          strValue = number.toString();
-          ctx.set(var, strValue);
+          ctx.set(names[i], value.toString());
         } else {
-          ctx.set(var, row.getValue(var));
+          ctx.set(names[i], value);
         }
       }
       if (context != null) {
-        for (String variable : context.getTransientStore().getVariables()) {
-          ctx.set(variable, context.getTransientStore().get(variable));
-        }
+        ctx.setTransientVariables();
       }
       try {
         Boolean result = el.execute(ctx).getBoolean();
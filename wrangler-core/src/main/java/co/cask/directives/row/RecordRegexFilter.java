@@ -23,19 +23,22 @@ import co.cask.wrangler.api.Arguments;
 import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveParseException;
+import co.cask.wrangler.api.ErrorRowException;
 import co.cask.wrangler.api.ExecutorContext;
+import co.cask.wrangler.api.Optional;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
+import co.cask.wrangler.api.parser.Bool;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Identifier;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.RegexMatcher;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * A Wrangle step for filtering rows that match the pattern specified on the column.
@@ -47,17 +50,20 @@ import java.util.regex.Pattern;
 public class RecordRegexFilter implements Directive {
   public static final String NAME = "filter-by-regex";
   private String column;
-  private Pattern pattern;
+  private RegexMatcher pattern;
   private boolean matched = false;
+  // Text of the numbers matched.
+  private final StringBuilder number = new StringBuilder();
 
-  // filter-by-regex if-matched :column 'expression'
-  // filter-by-regex if-not-matched :column 'expression'
+  // filter-by-regex if-matched :column 'expression' [bounded]
+  // filter-by-regex if-not-matched :column 'expression' [bounded]
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
     builder.define("match-type", TokenType.IDENTIFIER);
     builder.define("column", TokenType.COLUMN_NAME);
     builder.define("regex", TokenType.TEXT);
+    builder.define("bounded", TokenType.BOOLEAN, Optional.TRUE);
     return builder.build();
   }
 
@@ -73,8 +79,12 @@ public class RecordRegexFilter implements Directive {
     }
     column = ((ColumnName) args.value("column")).value();
     String regex = ((Text) args.value("regex")).value();
+    boolean bounded = false;
+    if (args.contains("bounded")) {
+      bounded = ((Bool) args.value("bounded")).value();
+    }
     if (!regex.equalsIgnoreCase("null") && !regex.isEmpty()) {
-      pattern = Pattern.compile(regex);
+      pattern = new RegexMatcher(regex, bounded);
     } else {
       pattern = null;
     }
@@ -86,7 +96,8 @@ public class RecordRegexFilter implements Directive {
   }
 
   @Override
-  public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+  public List<Row> execute(List<Row> rows, ExecutorContext context)
+    throws DirectiveExecutionException, ErrorRowException {
     List<Row> results = new ArrayList<>();
     if (pattern == null) {
       return rows;
@@ -100,11 +111,11 @@ public class RecordRegexFilter implements Directive {
             continue;
           }
         } else if (object instanceof String) {
-          if (matchPattern((String) row.getValue(idx))) {
+          if (matchPattern((String) object)) {
             continue;
           }
         } else if (object instanceof Number) {
-          if (matchPattern(((Number) row.getValue(idx)).toString())) {
+          if (matchPattern(toText((Number) object))) {
             continue;
           }
         } else {
@@ -121,12 +132,32 @@ public class RecordRegexFilter implements Directive {
     return results;
   }
 
-  private boolean matchPattern(String value) {
-    boolean matches = pattern.matcher(value).matches(); // pattern.matcher(value).matches();
-    if(!matched) {
+  private boolean matchPattern(CharSequence value) throws ErrorRowException {
+    boolean matches;
+    try {
+      matches = pattern.matches(value);
+    } catch (RegexMatcher.LimitExceededException e) {
+      throw new ErrorRowException(1, "%s : Column '%s' : %s", toString(), column, e.getMessage());
+    }
+    if (!matched) {
       matches = !matches;
     }
     return matches;
   }
-}
 
+  /**
+   * Returns the text of a number, same as {@link Number#toString()}, appending the primitive numbers
+   * to a builder reused for all the numbers instead of creating a string.
+   */
+  private CharSequence toText(Number value) {
+    number.setLength(0);
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return number.append(value.longValue());
+    } else if (value instanceof Double) {
+      return number.append(value.doubleValue());
+    } else if (value instanceof Float) {
+      return number.append(value.floatValue());
+    }
+    return value.toString();
+  }
+}
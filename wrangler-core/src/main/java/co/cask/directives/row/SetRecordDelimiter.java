@@ -33,6 +33,7 @@ import co.cask.wrangler.api.parser.Numeric;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.RecordSplitter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -88,14 +89,14 @@ public class SetRecordDelimiter implements Directive {
 
       Object object = row.getValue(idx);
       if (object instanceof String) {
-        String body = (String) object;
-        String[] lines = body.split(delimiter);
+        // Records are split one at a time, so the records beyond the limit are never split.
+        RecordSplitter lines = new RecordSplitter((String) object, delimiter);
         int i = 0;
-        for (String line : lines) {
+        while (lines.hasNext()) {
           if (i > limit) {
             break;
           }
-          results.add(new Row(column, line));
+          results.add(new Row(column, lines.next()));
           i++;
         }
       }
@@ -24,18 +24,27 @@ import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveParseException;
 import co.cask.wrangler.api.ExecutorContext;
+import co.cask.wrangler.api.Optional;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
+import co.cask.wrangler.api.parser.Bool;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
-import org.unix4j.Unix4j;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * A directive implements unix cut directive.
+ *
+ * <p>The ranges are parsed once into sorted, non overlapping ranges, and the characters are cut
+ * from each line of the value the same way unix cut does: characters are kept in the order of
+ * the value and at most once, and lines keep their terminators, except for the last line.
+ * Optionally, ranges count code points instead of characters.</p>
  */
 @Plugin(type = Directive.Type)
 @Name(CharacterCut.NAME)
@@ -47,12 +56,20 @@ public class CharacterCut implements Directive {
   private String destination;
   private String range;
 
+  // Ranges of characters kept, 0 based from the start inclusive to the end exclusive, sorted.
+  private int[] starts;
+  private int[] ends;
+
+  // True if the ranges count code points rather than characters.
+  private boolean codepoints;
+
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
     builder.define("source", TokenType.COLUMN_NAME);
     builder.define("destination", TokenType.COLUMN_NAME);
     builder.define("ranges", TokenType.TEXT);
+    builder.define("codepoints", TokenType.BOOLEAN, Optional.TRUE);
     return builder.build();
   }
 
@@ -61,6 +78,80 @@ public class CharacterCut implements Directive {
     this.source = ((ColumnName) args.value("source")).value();
     this.destination = ((ColumnName) args.value("destination")).value();
     this.range = ((Text) args.value("ranges")).value();
+    this.codepoints = false;
+    if (args.contains("codepoints")) {
+      this.codepoints = ((Bool) args.value("codepoints")).value();
+    }
+    parse(range);
+  }
+
+  /**
+   * Parses ranges of the form <code>N</code>, <code>N-</code>, <code>-M</code> or <code>N-M</code>
+   * separated by commas, counting from 1, into sorted ranges merging the ranges that overlap.
+   */
+  private void parse(String ranges) throws DirectiveParseException {
+    List<int[]> parsed = new ArrayList<>();
+    for (String part : ranges.split(",", -1)) {
+      int dash = part.indexOf('-');
+      int start;
+      int end;
+      if (dash == -1) {
+        start = index(part, part);
+        end = start;
+      } else {
+        start = dash == 0 ? 1 : index(part.substring(0, dash), part);
+        end = dash == part.length() - 1 ? Integer.MAX_VALUE : index(part.substring(dash + 1), part);
+        if (dash == 0 && end == Integer.MAX_VALUE) {
+          throw new DirectiveParseException(
+            String.format("%s : Invalid range '%s', expected N, N-, -M or N-M.", toString(), part)
+          );
+        }
+      }
+      if (start <= end) {
+        parsed.add(new int[] { start - 1, end });
+      }
+    }
+
+    Collections.sort(parsed, new Comparator<int[]>() {
+      @Override
+      public int compare(int[] a, int[] b) {
+        return Integer.compare(a[0], b[0]);
+      }
+    });
+    List<int[]> merged = new ArrayList<>();
+    for (int[] current : parsed) {
+      int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && current[0] <= last[1]) {
+        last[1] = Math.max(last[1], current[1]);
+      } else {
+        merged.add(current);
+      }
+    }
+    starts = new int[merged.size()];
+    ends = new int[merged.size()];
+    for (int i = 0; i < merged.size(); ++i) {
+      starts[i] = merged.get(i)[0];
+      ends[i] = merged.get(i)[1];
+    }
+  }
+
+  private int index(String value, String part) throws DirectiveParseException {
+    int index = 0;
+    for (int i = 0; i < value.length(); ++i) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9' || index > (Integer.MAX_VALUE - 9) / 10) {
+        index = -1;
+        break;
+      }
+      index = index * 10 + (c - '0');
+    }
+    if (value.isEmpty() || index < 1) {
+      throw new DirectiveParseException(
+        String.format("%s : Invalid range '%s', expected N, N-, -M or N-M with positions counted from 1.",
+                      toString(), part)
+      );
+    }
+    return index;
   }
 
   @Override
@@ -75,8 +166,7 @@ public class CharacterCut implements Directive {
       if (idx != -1) {
         Object value = row.getValue(idx);
         if (value instanceof String) {
-          String result = Unix4j.fromString((String) value).cut("-c", range).toStringResult();
-          row.addOrSet(destination, result);
+          row.addOrSet(destination, cut((String) value));
         } else {
           throw new DirectiveExecutionException(
             String.format("%s : Invalid type '%s' of column '%s'. Should be of type String.", toString(),
@@ -89,4 +179,89 @@ public class CharacterCut implements Directive {
     }
     return rows;
   }
+
+  /**
+   * Cuts the ranges from each line of the value.
+   */
+  private String cut(String value) {
+    int length = value.length();
+    int next = 0;
+    while (next < length && value.charAt(next) != '\n' && value.charAt(next) != '\r') {
+      next++;
+    }
+    if (next == length) {
+      return cut(value, 0, length, null);
+    }
+
+    StringBuilder builder = new StringBuilder(length);
+    int start = 0;
+    while (start < length) {
+      int end = start;
+      while (end < length && value.charAt(end) != '\n' && value.charAt(end) != '\r') {
+        end++;
+      }
+      cut(value, start, end, builder);
+      int terminator = end;
+      if (end < length && value.charAt(end) == '\r' && end + 1 < length && value.charAt(end + 1) == '\n') {
+        end += 2;
+      } else if (end < length) {
+        end++;
+      }
+      // The terminator of the last line is dropped.
+      if (end < length) {
+        builder.append(value, terminator, end);
+      }
+      start = end;
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Cuts the ranges from a line, appending them to the builder if there's one, otherwise returning
+   * them, with a single substring when a single range is kept.
+   */
+  private String cut(String value, int begin, int end, StringBuilder builder) {
+    StringBuilder result = builder;
+    String single = null;
+    // Characters of the line before the current range and the start of the range in the value.
+    int position = 0;
+    int offset = begin;
+    for (int i = 0; i < starts.length && offset < end; ++i) {
+      int from = codepoints ? advance(value, offset, end, starts[i] - position) :
+        (int) Math.min(end, (long) offset + starts[i] - position);
+      if (from >= end) {
+        break;
+      }
+      int to = codepoints ? advance(value, from, end, ends[i] - starts[i]) :
+        (int) Math.min(end, (long) from + ends[i] - starts[i]);
+      if (result == null && single == null) {
+        single = value.substring(from, to);
+      } else {
+        if (result == null) {
+          result = new StringBuilder(end - begin).append(single);
+        }
+        result.append(value, from, to);
+      }
+      position = ends[i];
+      offset = to;
+    }
+    if (builder != null) {
+      return null;
+    }
+    return result != null ? result.toString() : (single != null ? single : "");
+  }
+
+  /**
+   * @return offset of the code point count code points after the offset, at most the end.
+   */
+  private static int advance(String value, int offset, int end, long count) {
+    while (count > 0 && offset < end) {
+      char c = value.charAt(offset++);
+      if (Character.isHighSurrogate(c) && offset < end && Character.isLowSurrogate(value.charAt(offset))) {
+        offset++;
+      }
+      count--;
+    }
+    return offset;
+  }
 }
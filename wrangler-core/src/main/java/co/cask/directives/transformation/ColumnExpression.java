@@ -34,6 +34,7 @@ import co.cask.wrangler.expression.EL;
 import co.cask.wrangler.expression.ELContext;
 import co.cask.wrangler.expression.ELException;
 import co.cask.wrangler.expression.ELResult;
+import co.cask.wrangler.utils.ColumnPositions;
 
 import java.util.HashMap;
 import java.util.List;
@@ -64,6 +65,10 @@ public class ColumnExpression implements Directive {
   // Properties associated with pipeline
   private final Map<String, Object> properties = new HashMap<>();
   private final EL el = new EL(new EL.DefaultFunctions());
+  // Context reused for evaluating the expression on each row.
+  private final ELContext ctx = new ELContext();
+  // Positions of the columns referenced by the expression.
+  private ColumnPositions variables;
 
   @Override
   public UsageDefinition define() {
@@ -79,6 +84,7 @@ public class ColumnExpression implements Directive {
     this.expression = ((Expression) args.value("expression")).value();
     try {
       el.compile(expression);
+      variables = new ColumnPositions(el.variables());
     } catch (ELException e ){
       throw new DirectiveParseException(e.getMessage());
     }
@@ -93,17 +99,17 @@ public class ColumnExpression implements Directive {
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
       // Move the fields from the row into the context.
-      ELContext ctx = new ELContext(context);
+      ctx.refresh(context);
       ctx.set("this", row);
-      for(String var : el.variables()) {
-        ctx.set(var, row.getValue(var));
+      String[] names = variables.getNames();
+      int[] positions = variables.resolve(row);
+      for (int i = 0; i < names.length; ++i) {
+        ctx.set(names[i], positions[i] == -1 ? null : row.getValue(positions[i]));
       }
 
       // Transient variables are added.
       if (context != null) {
-        for (String variable : context.getTransientStore().getVariables()) {
-          ctx.set(variable, context.getTransientStore().get(variable));
-        }
+        ctx.setTransientVariables();
       }
 
       // Execution of the script / expression based on the row data
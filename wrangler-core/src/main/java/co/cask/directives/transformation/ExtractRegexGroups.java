@@ -23,17 +23,21 @@ import co.cask.wrangler.api.Arguments;
 import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveParseException;
+import co.cask.wrangler.api.ErrorRowException;
 import co.cask.wrangler.api.ExecutorContext;
+import co.cask.wrangler.api.Optional;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
+import co.cask.wrangler.api.parser.Bool;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.RegexMatcher;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * A directive extracts regex groups into separate columns.
@@ -46,13 +50,16 @@ public class ExtractRegexGroups implements Directive {
   public static final String NAME = "extract-regex-groups";
   private String column;
   private String regex;
-  private Pattern pattern;
+  private RegexMatcher matcher;
+  // Names of the columns extracted, by match and group.
+  private final List<String> names = new ArrayList<>();
 
   @Override
   public UsageDefinition define() {
     UsageDefinition.Builder builder = UsageDefinition.builder(NAME);
     builder.define("column", TokenType.COLUMN_NAME);
     builder.define("regex", TokenType.TEXT);
+    builder.define("bounded", TokenType.BOOLEAN, Optional.TRUE);
     return builder.build();
   }
 
@@ -60,7 +67,11 @@ public class ExtractRegexGroups implements Directive {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
     this.regex = ((Text) args.value("regex")).value();
-    pattern = Pattern.compile(regex);
+    boolean bounded = false;
+    if (args.contains("bounded")) {
+      bounded = ((Bool) args.value("bounded")).value();
+    }
+    matcher = new RegexMatcher(regex, bounded);
   }
 
   @Override
@@ -70,24 +81,46 @@ public class ExtractRegexGroups implements Directive {
 
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context)
-    throws DirectiveExecutionException {
+    throws DirectiveExecutionException, ErrorRowException {
+    if (matcher.groupCount() == 0) {
+      return rows;
+    }
     for (Row row : rows) {
       int idx = row.find(column);
       if (idx != -1) {
         Object value = row.getValue(idx);
-        if (value != null && value instanceof String) {
-          Matcher matcher = pattern.matcher((String) value);
-          int count = 1;
-          while (matcher.find()) {
-            for(int i = 1; i <= matcher.groupCount(); i++) {
-              row.add(String.format("%s_%d_%d", column, count, i), matcher.group(i));
+        if (value instanceof String) {
+          try {
+            Matcher m = matcher.find((String) value);
+            if (m == null) {
+              continue;
+            }
+            int count = 0;
+            while (m.find()) {
+              for (int i = 1; i <= m.groupCount(); i++) {
+                row.add(name(count, i), m.group(i));
+              }
+              count++;
             }
-            count++;
+          } catch (RegexMatcher.LimitExceededException e) {
+            throw new ErrorRowException(1, "%s : Column '%s' : %s", toString(), column, e.getMessage());
           }
         }
       }
     }
     return rows;
   }
+
+  /**
+   * @return name of the column of a group of a match, the match counted from zero.
+   */
+  private String name(int match, int group) {
+    int idx = match * matcher.groupCount() + group - 1;
+    while (names.size() <= idx) {
+      int size = names.size();
+      names.add(String.format("%s_%d_%d", column, size / matcher.groupCount() + 1, size % matcher.groupCount() + 1));
+    }
+    return names.get(idx);
+  }
 }
 
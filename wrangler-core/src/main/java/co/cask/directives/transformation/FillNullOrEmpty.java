@@ -30,6 +30,8 @@ import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.executor.RowBatch;
+import co.cask.wrangler.executor.VectorizedDirective;
 import org.json.JSONObject;
 
 import java.util.List;
@@ -41,7 +43,7 @@ import java.util.List;
 @Name(FillNullOrEmpty.NAME)
 @Categories(categories = { "transform"})
 @Description("Fills a value of a column with a fixed value if it is either null or empty.")
-public class FillNullOrEmpty implements Directive {
+public class FillNullOrEmpty implements Directive, VectorizedDirective {
   public static final String NAME = "fill-null-or-empty";
   private String column;
   private String value;
@@ -96,4 +98,20 @@ public class FillNullOrEmpty implements Directive {
     }
     return rows;
   }
+
+  @Override
+  public void execute(RowBatch batch) {
+    RowBatch.Vector vector = batch.find(column);
+    if (vector == null) {
+      batch.add(column, value);
+      return;
+    }
+    for (int i = 0; i < vector.size(); ++i) {
+      Object object = vector.get(i);
+      if (object == null || (object instanceof String && ((String) object).isEmpty())
+        || (object instanceof JSONObject && JSONObject.NULL.equals(object))) {
+        vector.set(i, value);
+      }
+    }
+  }
 }
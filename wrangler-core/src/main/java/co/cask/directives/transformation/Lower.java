@@ -29,6 +29,8 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.executor.RowBatch;
+import co.cask.wrangler.executor.VectorizedDirective;
 
 import java.util.List;
 
@@ -39,7 +41,7 @@ import java.util.List;
 @Name(Lower.NAME)
 @Categories(categories = { "transform"})
 @Description("Changes the column values to lowercase.")
-public class Lower implements Directive {
+public class Lower implements Directive, VectorizedDirective {
   public static final String NAME = "lowercase";
   // Columns of the column to be lower cased.
   private String column;
@@ -77,4 +79,18 @@ public class Lower implements Directive {
     }
     return rows;
   }
+
+  @Override
+  public void execute(RowBatch batch) {
+    RowBatch.Vector vector = batch.find(column);
+    if (vector == null) {
+      return;
+    }
+    for (int i = vector.nextNotNull(0); i < vector.size(); i = vector.nextNotNull(i + 1)) {
+      Object object = vector.get(i);
+      if (object instanceof String) {
+        vector.set(i, ((String) object).toLowerCase());
+      }
+    }
+  }
 }
@@ -30,6 +30,8 @@ import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.Text;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.executor.RowBatch;
+import co.cask.wrangler.executor.VectorizedDirective;
 import co.cask.wrangler.utils.TypeConvertor;
 
 import java.util.List;
@@ -60,7 +62,7 @@ import java.util.List;
 @Name(MaskNumber.NAME)
 @Categories(categories = { "transform"})
 @Description("Masks a column value using the specified masking pattern.")
-public class MaskNumber implements Directive {
+public class MaskNumber implements Directive, VectorizedDirective {
   public static final String NAME = "mask-number";
   // Specifies types of mask
   public static final int MASK_NUMBER = 1;
@@ -108,6 +110,21 @@ public class MaskNumber implements Directive {
     return rows;
   }
 
+  @Override
+  public void execute(RowBatch batch) {
+    RowBatch.Vector vector = batch.find(column);
+    if (vector == null) {
+      batch.add(column, "");
+      return;
+    }
+    for (int i = vector.nextNotNull(0); i < vector.size(); i = vector.nextNotNull(i + 1)) {
+      String value = TypeConvertor.toString(vector.get(i));
+      if (value != null) {
+        vector.set(i, maskNumber(value, mask));
+      }
+    }
+  }
+
   private String maskNumber(String number, String mask) {
     int index = 0;
     StringBuilder masked = new StringBuilder();
@@ -32,15 +32,21 @@ import co.cask.wrangler.api.parser.Numeric;
 import co.cask.wrangler.api.parser.Ranges;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import com.google.common.collect.BoundType;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeMap;
 import com.google.common.collect.TreeRangeMap;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A Wrangler step for quantizing a column.
+ *
+ * <p>The ranges are resolved into disjoint ranges, ranges specified later taking precedence over
+ * the ones they overlap, and compiled into sorted arrays of bounds that are binary searched for
+ * each value.</p>
  */
 @Plugin(type = Directive.Type)
 @Name(Quantization.NAME)
@@ -49,7 +55,12 @@ import java.util.List;
 public class Quantization implements Directive {
   public static final String NAME = "quantize";
   private static final String RANGE_PATTERN="([+-]?\\d+(?:\\.\\d+)?):([+-]?\\d+(?:\\.\\d+)?)=(.[^,]*)";
-  private final RangeMap<Double, String> rangeMap = TreeRangeMap.create();
+  // Disjoint ranges sorted by their lower bound.
+  private double[] lowers;
+  private boolean[] lowersClosed;
+  private double[] uppers;
+  private boolean[] uppersClosed;
+  private String[] labels;
   private String col1;
   private String col2;
 
@@ -67,11 +78,68 @@ public class Quantization implements Directive {
     this.col1 = ((ColumnName) args.value("source")).value();
     this.col2 = ((ColumnName) args.value("destination")).value();
     List<Triplet<Numeric, Numeric, String>> ranges = ((Ranges) args.value("ranges")).value();
+    RangeMap<Double, String> rangeMap = TreeRangeMap.create();
     for (Triplet<Numeric, Numeric, String> range : ranges) {
       double lower = range.getFirst().value().doubleValue();
       double upper = range.getSecond().value().doubleValue();
+      if (lower > upper) {
+        throw new DirectiveParseException(
+          String.format("Range %s:%s has a lower bound greater than its upper bound.",
+                        range.getFirst().value(), range.getSecond().value())
+        );
+      }
       rangeMap.put(Range.closed(lower, upper), range.getThird());
     }
+
+    Map<Range<Double>, String> disjoint = rangeMap.asMapOfRanges();
+    int size = disjoint.size();
+    this.lowers = new double[size];
+    this.lowersClosed = new boolean[size];
+    this.uppers = new double[size];
+    this.uppersClosed = new boolean[size];
+    this.labels = new String[size];
+    int i = 0;
+    for (Map.Entry<Range<Double>, String> entry : disjoint.entrySet()) {
+      Range<Double> range = entry.getKey();
+      lowers[i] = range.lowerEndpoint();
+      lowersClosed[i] = range.lowerBoundType() == BoundType.CLOSED;
+      uppers[i] = range.upperEndpoint();
+      uppersClosed[i] = range.upperBoundType() == BoundType.CLOSED;
+      labels[i] = entry.getValue();
+      i++;
+    }
+  }
+
+  /**
+   * Finds the label of the range holding the value.
+   *
+   * @param value to be quantized.
+   * @return label of the range, null if the value is not within any of the ranges.
+   */
+  private String quantize(double value) {
+    // Finds the last range with a lower bound not greater than the value.
+    int low = 0;
+    int high = lowers.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (lowers[mid] <= value) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    int idx = high;
+    // A range open at the value is preceded by the range closed at the value, if any.
+    if (idx >= 0 && lowers[idx] == value && !lowersClosed[idx]) {
+      idx--;
+    }
+    if (idx < 0) {
+      return null;
+    }
+    if (value < uppers[idx] || (value == uppers[idx] && uppersClosed[idx])) {
+      return labels[idx];
+    }
+    return null;
   }
 
   @Override
@@ -88,20 +156,18 @@ public class Quantization implements Directive {
       if (idx != -1) {
         try {
           Object object = row.getValue(idx);
-          Double d;
+          double d;
           if (object instanceof String) {
             d = Double.parseDouble((String) object);
-          } else if (object instanceof Double) {
-            d = (Double) object;
-          } else if (object instanceof Float) {
-            d = ((Float) object).doubleValue();
+          } else if (object instanceof Number) {
+            d = ((Number) object).doubleValue();
           } else {
             throw new DirectiveExecutionException(
-              String.format("%s : Invalid type '%s' of column '%s'. Should be of type String, Float or Double.",
+              String.format("%s : Invalid type '%s' of column '%s'. Should be of type String or a number.",
                             toString(), object != null ? object.getClass().getName() : "null", col1)
             );
           }
-          String value = rangeMap.get(d);
+          String value = quantize(d);
           int destIdx = row.find(col2);
           if (destIdx == -1) {
             row.add(col2, value);
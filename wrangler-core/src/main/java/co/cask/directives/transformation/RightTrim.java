@@ -29,6 +29,8 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.executor.RowBatch;
+import co.cask.wrangler.executor.VectorizedDirective;
 
 import java.util.List;
 
@@ -40,7 +42,7 @@ import java.util.List;
 @Name(RightTrim.NAME)
 @Categories(categories = { "transform"})
 @Description("Trimming whitespace from right side of a string.")
-public class RightTrim implements Directive {
+public class RightTrim implements Directive, VectorizedDirective {
   public static final String NAME = "rtrim";
   // Columns of the column to be upper-cased
   private String column;
@@ -78,4 +80,18 @@ public class RightTrim implements Directive {
     }
     return rows;
   }
+
+  @Override
+  public void execute(RowBatch batch) {
+    RowBatch.Vector vector = batch.find(column);
+    if (vector == null) {
+      return;
+    }
+    for (int i = vector.nextNotNull(0); i < vector.size(); i = vector.nextNotNull(i + 1)) {
+      Object object = vector.get(i);
+      if (object instanceof String) {
+        vector.set(i, Trimmer.rtrim((String) object));
+      }
+    }
+  }
 }
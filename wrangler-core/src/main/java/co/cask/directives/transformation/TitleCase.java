@@ -29,6 +29,8 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.executor.RowBatch;
+import co.cask.wrangler.executor.VectorizedDirective;
 import org.apache.commons.lang.WordUtils;
 
 import java.util.List;
@@ -40,7 +42,7 @@ import java.util.List;
 @Name(TitleCase.NAME)
 @Categories(categories = { "transform"})
 @Description("Changes the column values to title case.")
-public class TitleCase implements Directive {
+public class TitleCase implements Directive, VectorizedDirective {
   public static final String NAME = "titlecase";
   private String column;
 
@@ -77,4 +79,18 @@ public class TitleCase implements Directive {
     }
     return rows;
   }
+
+  @Override
+  public void execute(RowBatch batch) {
+    RowBatch.Vector vector = batch.find(column);
+    if (vector == null) {
+      return;
+    }
+    for (int i = vector.nextNotNull(0); i < vector.size(); i = vector.nextNotNull(i + 1)) {
+      Object object = vector.get(i);
+      if (object instanceof String) {
+        vector.set(i, WordUtils.capitalizeFully((String) object));
+      }
+    }
+  }
 }
@@ -29,19 +29,14 @@ import co.cask.wrangler.api.annotations.Categories;
 import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 
-import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.StringWriter;
-import java.io.Writer;
 import java.util.List;
 
 /**
  * A step to write the record fields as CSV.
+ *
+ * <p>Rows are written into a {@link StringBuilder} reused across rows, quoting the values the same
+ * way as {@link org.apache.commons.csv.CSVFormat#DEFAULT} does.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("write-as-csv")
@@ -49,8 +44,12 @@ import java.util.List;
 @Description("Writes the records files as well-formatted CSV")
 public class WriteAsCSV implements Directive {
   public static final String NAME = "write-as-csv";
+  private static final char DELIMITER = ',';
+  private static final char QUOTE = '"';
+  private static final char COMMENT = '#';
+
   private String column;
-  private CSVPrinter writer;
+  private final StringBuilder builder = new StringBuilder();
 
   @Override
   public UsageDefinition define() {
@@ -62,11 +61,6 @@ public class WriteAsCSV implements Directive {
   @Override
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
-    try {
-      this.writer = CSVFormat.DEFAULT.print(new StringWriter());
-    } catch (IOException e) {
-      throw new DirectiveParseException(toString() + " : " + "Unable to create CSV writer. " + e.getMessage());
-    }
   }
 
   @Override
@@ -77,24 +71,65 @@ public class WriteAsCSV implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      try {
-        final ByteArrayOutputStream bOut = new ByteArrayOutputStream();
-        try(Writer out = new BufferedWriter(new OutputStreamWriter(bOut))) {
-          CSVPrinter csvPrinter = new CSVPrinter(out, CSVFormat.DEFAULT);
-
-          for (int i = 0; i < row.length(); ++i) {
-            csvPrinter.print(row.getValue(i));
-          }
-          csvPrinter.flush();
-          csvPrinter.close();
-        } catch (Exception e) {
-          bOut.close();
+      builder.setLength(0);
+      for (int i = 0; i < row.length(); ++i) {
+        if (i > 0) {
+          builder.append(DELIMITER);
+        }
+        Object value = row.getValue(i);
+        // Nulls are written as empty values, without quotes.
+        if (value != null) {
+          append(builder, value instanceof CharSequence ? (CharSequence) value : value.toString(), i == 0);
         }
-        row.add(column, bOut.toString());
-      } catch (IOException e) {
-        throw new DirectiveExecutionException(toString() + " : Failed to write CSV row. " + e.getMessage());
       }
+      row.add(column, builder.toString());
     }
     return rows;
   }
+
+  /**
+   * Appends a value, quoting it if needed as per RFC 4180, and as the commons-csv minimal quote mode does.
+   *
+   * @param out to append the value to.
+   * @param value to be appended.
+   * @param first true if the value is the first of the record.
+   */
+  static void append(StringBuilder out, CharSequence value, boolean first) {
+    int length = value.length();
+    boolean quote = false;
+    if (length == 0) {
+      // An empty first value is quoted, otherwise a record with a single empty value is an empty line.
+      quote = first;
+    } else {
+      char c = value.charAt(0);
+      // Values not starting with a letter or a digit are quoted at the start of the record,
+      // and anywhere when starting with a character up to the comment marker.
+      if (first && (c < '0' || c > '9' && c < 'A' || c > 'Z' && c < 'a' || c > 'z')) {
+        quote = true;
+      } else if (c <= COMMENT) {
+        quote = true;
+      } else {
+        for (int i = 0; i < length && !quote; ++i) {
+          c = value.charAt(i);
+          quote = c == '\n' || c == '\r' || c == QUOTE || c == DELIMITER;
+        }
+        // Values ending with whitespace or control characters are quoted to preserve them.
+        quote = quote || value.charAt(length - 1) <= ' ';
+      }
+    }
+
+    if (!quote) {
+      out.append(value);
+      return;
+    }
+    out.append(QUOTE);
+    for (int i = 0; i < length; ++i) {
+      char c = value.charAt(i);
+      if (c == QUOTE) {
+        out.append(QUOTE);
+      }
+      out.append(c);
+    }
+    out.append(QUOTE);
+  }
 }
@@ -23,7 +23,6 @@ import co.cask.wrangler.api.Arguments;
 import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveParseException;
-import co.cask.wrangler.api.Pair;
 import co.cask.wrangler.api.ExecutorContext;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.annotations.Categories;
@@ -31,6 +30,7 @@ import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
 import com.google.gson.Gson;
+import org.apache.commons.io.output.StringBuilderWriter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -38,6 +38,9 @@ import java.util.Map;
 
 /**
  * A step to write the record fields as JSON.
+ *
+ * <p>The map of the fields and the unsynchronized writer the JSON is written to are
+ * reused across rows.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("write-as-json-map")
@@ -47,6 +50,8 @@ public class WriteAsJsonMap implements Directive {
   public static final String NAME = "write-as-json-map";
   private String column;
   private Gson gson;
+  private final Map<String, Object> fields = new HashMap<>();
+  private final StringBuilderWriter writer = new StringBuilderWriter();
 
   @Override
   public UsageDefinition define() {
@@ -69,11 +74,13 @@ public class WriteAsJsonMap implements Directive {
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
     for (Row row : rows) {
-      Map<String, Object> toJson = new HashMap<>();
-      for (Pair<String, Object> entry : row.getFields()) {
-        toJson.put(entry.getFirst(), entry.getSecond());
+      fields.clear();
+      for (int i = 0; i < row.length(); ++i) {
+        fields.put(row.getColumn(i), row.getValue(i));
       }
-      row.addOrSet(column, gson.toJson(toJson));
+      writer.getBuilder().setLength(0);
+      gson.toJson(fields, writer);
+      row.addOrSet(column, writer.toString());
     }
     return rows;
   }
@@ -31,15 +31,17 @@ import co.cask.wrangler.api.parser.ColumnName;
 import co.cask.wrangler.api.parser.ColumnNameList;
 import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.api.parser.UsageDefinition;
+import co.cask.wrangler.utils.ColumnPositions;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 
 import java.util.List;
 
 /**
  * A directive for writing selected columns as Json Objects.
+ *
+ * <p>The positions of the source columns are resolved once for rows sharing their columns.</p>
  */
 @Plugin(type = Directive.Type)
 @Name("write-as-json-object")
@@ -49,6 +51,7 @@ public class WriteAsJsonObject implements Directive {
   public static final String NAME = "write-as-json-object";
   private String column;
   private List<String> columns;
+  private ColumnPositions positions;
   private Gson gson;
 
   @Override
@@ -63,6 +66,7 @@ public class WriteAsJsonObject implements Directive {
   public void initialize(Arguments args) throws DirectiveParseException {
     this.column = ((ColumnName) args.value("column")).value();
     this.columns = ((ColumnNameList) args.value("col")).value();
+    this.positions = new ColumnPositions(columns);
     this.gson = new Gson();
   }
 
@@ -73,30 +77,20 @@ public class WriteAsJsonObject implements Directive {
 
   @Override
   public List<Row> execute(List<Row> rows, ExecutorContext context) throws DirectiveExecutionException {
+    String[] names = positions.getNames();
     for (Row row : rows) {
       JsonObject object = new JsonObject();
-      for (String col : columns) {
-        Object value = row.getValue(col);
-        if (value instanceof Integer) {
-          object.addProperty(col, (Integer) value);
-        } else if (value instanceof Long) {
-          object.addProperty(col, (Long) value);
-        } else if (value instanceof Number) {
-          object.addProperty(col, (Number) value);
-        } else if (value instanceof Float) {
-          object.addProperty(col, (Float) value);
-        } else if (value instanceof Double) {
-          object.addProperty(col, (Double) value);
-        } else if (value instanceof Short) {
-          object.addProperty(col, (Short) value);
+      int[] indexes = positions.resolve(row);
+      for (int i = 0; i < names.length; ++i) {
+        Object value = indexes[i] < 0 ? null : row.getValue(indexes[i]);
+        if (value instanceof Number) {
+          object.addProperty(names[i], (Number) value);
         } else if (value instanceof Character) {
-          object.addProperty(col, Character.toString((Character) value));
+          object.addProperty(names[i], Character.toString((Character) value));
         } else if (value instanceof String) {
-          object.addProperty(col, (String) value);
+          object.addProperty(names[i], (String) value);
         } else if (value instanceof JsonElement) {
-          object.add(col, (JsonElement) value);
-        } else if (value instanceof JsonNull) {
-          object.add(col, (JsonNull) value);
+          object.add(names[i], (JsonElement) value);
         }
       }
       row.addOrSet(column, object);
@@ -0,0 +1,223 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.clients;
+
+import co.cask.cdap.api.common.Bytes;
+import co.cask.wrangler.codec.ProtobufDecoderUsingDescriptor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.Descriptors;
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class {@link SchemaCache} is a process wide cache of schemas retrieved from the
+ * schema registry service.
+ *
+ * <p>Schemas are keyed by the service url, schema id and version. A specific version of a schema
+ * never changes, so it is kept until evicted by size, while lookups of the latest version expire
+ * after a configured time to live. Along with the bytes, the parsed AVRO {@link Schema} and protobuf
+ * {@link Descriptors.Descriptor} are cached, so transform instances, partitions and service requests
+ * share the same objects.</p>
+ *
+ * <p>Loads of the same key are de-duplicated, hence a schema that is being prefetched in the
+ * background is waited upon rather than fetched a second time.</p>
+ */
+public final class SchemaCache {
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaCache.class);
+  private static final long LATEST = -1;
+  private static final SchemaCache INSTANCE = new SchemaCache(1000, 60, TimeUnit.SECONDS);
+
+  // Schemas retrieved using specific version.
+  private final Cache<String, Object> versioned;
+
+  // Schemas retrieved as latest version.
+  private final Cache<String, Object> latest;
+
+  // Executor used for prefetching schemas in the background.
+  private final ExecutorService prefetcher;
+
+  /**
+   * Parses the bytes of schema into an object to be cached.
+   *
+   * @param <T> type of object parsed.
+   */
+  private interface Parser<T> {
+    T parse(byte[] bytes) throws Exception;
+  }
+
+  public SchemaCache(long maxSize, long latestTtl, TimeUnit unit) {
+    this.versioned = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    this.latest = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(latestTtl, unit).build();
+    this.prefetcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "schema-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * @return the process wide instance of the cache.
+   */
+  public static SchemaCache get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the bytes of schema, fetching it from the registry if not cached.
+   *
+   * @param client to fetch the schema with.
+   * @param id of the schema.
+   * @param version of the schema, -1 for the latest version.
+   * @return bytes of the schema.
+   */
+  public byte[] getBytes(final SchemaRegistryClient client, final String id, final long version)
+    throws URISyntaxException, IOException, RestClientException {
+    return load(key(client, id, version, "bytes"), version, new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        byte[] bytes = version != LATEST ? client.getSchema(id, version) : client.getSchema(id);
+        if (bytes == null) {
+          throw new IllegalStateException(
+            String.format("Schema '%s' with version '%s' not found in schema registry.", id,
+                          version == LATEST ? "latest" : version)
+          );
+        }
+        return bytes;
+      }
+    });
+  }
+
+  /**
+   * Returns the parsed AVRO schema.
+   *
+   * @param client to fetch the schema with.
+   * @param id of the schema.
+   * @param version of the schema, -1 for the latest version.
+   * @return parsed AVRO {@link Schema}.
+   */
+  public Schema getAvroSchema(SchemaRegistryClient client, String id, long version)
+    throws URISyntaxException, IOException, RestClientException {
+    return parse(client, id, version, "avro", new Parser<Schema>() {
+      @Override
+      public Schema parse(byte[] bytes) {
+        return new Schema.Parser().parse(Bytes.toString(bytes));
+      }
+    });
+  }
+
+  /**
+   * Returns the protobuf descriptor of a message.
+   *
+   * @param client to fetch the schema with.
+   * @param id of the schema.
+   * @param version of the schema, -1 for the latest version.
+   * @param name of the message within the descriptor.
+   * @return {@link Descriptors.Descriptor} of the message.
+   */
+  public Descriptors.Descriptor getProtobufDescriptor(SchemaRegistryClient client, String id, long version,
+                                                      final String name)
+    throws URISyntaxException, IOException, RestClientException {
+    return parse(client, id, version, "protobuf:" + name, new Parser<Descriptors.Descriptor>() {
+      @Override
+      public Descriptors.Descriptor parse(byte[] bytes) throws Exception {
+        Descriptors.Descriptor descriptor = ProtobufDecoderUsingDescriptor.parseDescriptor(bytes, name);
+        if (descriptor == null) {
+          throw new IllegalStateException(String.format("Message '%s' not found in protobuf descriptor.", name));
+        }
+        return descriptor;
+      }
+    });
+  }
+
+  /**
+   * Fetches the schema in the background, so that it's available in the cache by the time it's used.
+   * Failures are ignored, as the schema will be fetched again when used.
+   *
+   * @param callable that loads the schema through this cache.
+   */
+  public void prefetch(final Callable<?> callable) {
+    prefetcher.submit(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          callable.call();
+        } catch (Exception e) {
+          LOG.debug("Failed to prefetch schema. {}", e.getMessage());
+        }
+      }
+    });
+  }
+
+  /**
+   * Removes all the entries from the cache.
+   */
+  public void invalidateAll() {
+    versioned.invalidateAll();
+    latest.invalidateAll();
+  }
+
+  private <T> T parse(final SchemaRegistryClient client, final String id, final long version,
+                      String kind, final Parser<T> parser)
+    throws URISyntaxException, IOException, RestClientException {
+    return load(key(client, id, version, kind), version, new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        return parser.parse(getBytes(client, id, version));
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T load(String key, long version, Callable<Object> loader)
+    throws URISyntaxException, IOException, RestClientException {
+    Cache<String, Object> cache = version == LATEST ? latest : versioned;
+    try {
+      return (T) cache.get(key, loader);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RestClientException) {
+        throw (RestClientException) cause;
+      } else if (cause instanceof URISyntaxException) {
+        throw (URISyntaxException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause.getMessage(), cause);
+    }
+  }
+
+  private static String key(SchemaRegistryClient client, String id, long version, String kind) {
+    return client.getBaseUrl() + '|' + id + '|' + version + '|' + kind;
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.clients;
+
+import co.cask.wrangler.api.ExecutorContext;
+
+/**
+ * This interface {@link SchemaPrefetch} is implemented by directives that retrieve schemas
+ * from the schema registry.
+ *
+ * <p>The pipeline invokes {@link #prefetch(ExecutorContext)} once it's initialized, allowing the
+ * directive to load the schema into the {@link SchemaCache} in the background instead of fetching
+ * it when the first row is processed.</p>
+ */
+public interface SchemaPrefetch {
+  /**
+   * Starts fetching the schemas used by the directive. This method should not block or throw.
+   *
+   * @param context of the pipeline the directive is part of.
+   */
+  void prefetch(ExecutorContext context);
+}
@@ -22,9 +22,15 @@ import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DatumReader;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * This class {@link AbstractAvroDecoder} is implementation of {@link Decoder} interface using type {@link Row}.
  * All implementations of AVRO decoder should extend from this class.
+ *
+ * <p>The field names of the schema are resolved once and the {@link GenericRecord} is reused
+ * across reads, the values are copied out of it by {@link AvroValueConvertor}.</p>
  */
 public abstract class AbstractAvroDecoder implements Decoder<Row> {
   // Schema associated with record or data file being read.
@@ -33,9 +39,28 @@ public abstract class AbstractAvroDecoder implements Decoder<Row> {
   // Reader for reading data based on the schema.
   private final DatumReader<GenericRecord> reader;
 
+  // Names of the fields in the schema, indexed by field position.
+  private final String[] names;
+
+  // Converts values of the reused record into values held by the row.
+  private final AvroValueConvertor convertor;
+
+  // Record reused for every datum read.
+  private GenericRecord record;
+
   protected AbstractAvroDecoder(Schema schema) {
+    this(schema, false);
+  }
+
+  protected AbstractAvroDecoder(Schema schema, boolean nativeNested) {
     this.schema = schema;
     this.reader = new GenericDatumReader<>(this.schema);
+    List<Schema.Field> fields = schema.getFields();
+    this.names = new String[fields.size()];
+    for (Schema.Field field : fields) {
+      names[field.pos()] = field.name();
+    }
+    this.convertor = new AvroValueConvertor(nativeNested);
   }
 
   protected Schema getSchema() {
@@ -45,4 +70,19 @@ public abstract class AbstractAvroDecoder implements Decoder<Row> {
   protected DatumReader<GenericRecord> getReader() {
     return reader;
   }
+
+  /**
+   * Reads the next datum from the AVRO decoder and converts it into a {@link Row}.
+   *
+   * @param decoder to read the datum from.
+   * @return {@link Row} holding a column for each field of the schema.
+   */
+  protected Row read(org.apache.avro.io.Decoder decoder) throws IOException {
+    record = reader.read(record, decoder);
+    Row row = new Row();
+    for (int i = 0; i < names.length; ++i) {
+      row.add(names[i], convertor.convert(record.get(i)));
+    }
+    return row;
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.codec;
+
+import co.cask.wrangler.api.Row;
+import com.google.gson.Gson;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class {@link AvroValueConvertor} converts values read from AVRO records into values
+ * that can be stored in a {@link Row}.
+ *
+ * <p>AVRO datum readers reuse the record, buffers, arrays and maps of the previous read. The values
+ * returned by this class never share state with the record they are read from, so the record can be
+ * safely reused for decoding the next datum.</p>
+ *
+ * <p>{@link Map} and {@link List} values are either converted into their JSON representation or, when
+ * native nested values are requested, into {@link LinkedHashMap} and {@link ArrayList} holding plain
+ * java objects.</p>
+ */
+public final class AvroValueConvertor {
+  private final Gson gson = new Gson();
+  private final boolean nativeNested;
+
+  public AvroValueConvertor(boolean nativeNested) {
+    this.nativeNested = nativeNested;
+  }
+
+  /**
+   * Converts a value of a top level field of AVRO record.
+   *
+   * @param value to be converted.
+   * @return value that can be stored in the {@link Row}.
+   */
+  public Object convert(Object value) {
+    if (value instanceof Utf8) {
+      return value.toString();
+    } else if (value instanceof Map || value instanceof List) {
+      Object object = toNative(value);
+      return nativeNested ? object : gson.toJson(object);
+    } else if (value instanceof GenericRecord) {
+      GenericRecord record = (GenericRecord) value;
+      return GenericData.get().deepCopy(record.getSchema(), record);
+    } else if (value instanceof ByteBuffer) {
+      return copy((ByteBuffer) value);
+    } else if (value instanceof GenericFixed) {
+      GenericFixed fixed = (GenericFixed) value;
+      return new GenericData.Fixed(fixed.getSchema(), fixed.bytes().clone());
+    }
+    return value;
+  }
+
+  /**
+   * Converts nested AVRO values into plain java objects, copying any container reused by the reader.
+   */
+  private Object toNative(Object value) {
+    if (value instanceof CharSequence || value instanceof GenericEnumSymbol) {
+      return value.toString();
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      Map<String, Object> result = new LinkedHashMap<>(map.size() * 2);
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        result.put(entry.getKey().toString(), toNative(entry.getValue()));
+      }
+      return result;
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      List<Object> result = new ArrayList<>(list.size());
+      for (Object object : list) {
+        result.add(toNative(object));
+      }
+      return result;
+    } else if (value instanceof GenericRecord) {
+      GenericRecord record = (GenericRecord) value;
+      List<Schema.Field> fields = record.getSchema().getFields();
+      Map<String, Object> result = new LinkedHashMap<>(fields.size() * 2);
+      for (Schema.Field field : fields) {
+        result.put(field.name(), toNative(record.get(field.pos())));
+      }
+      return result;
+    } else if (value instanceof ByteBuffer) {
+      ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      return bytes;
+    } else if (value instanceof GenericFixed) {
+      return ((GenericFixed) value).bytes().clone();
+    }
+    return value;
+  }
+
+  private static ByteBuffer copy(ByteBuffer buffer) {
+    ByteBuffer source = buffer.duplicate();
+    ByteBuffer copy = ByteBuffer.allocate(source.remaining());
+    copy.put(source);
+    copy.flip();
+    return copy;
+  }
+}
@@ -17,55 +17,45 @@
 package co.cask.wrangler.codec;
 
 import co.cask.wrangler.api.Row;
-import com.google.gson.Gson;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.JsonDecoder;
-import org.apache.avro.util.Utf8;
 
 import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class {@link JsonAvroDecoder} decodes a byte array of AVRO Json Records into the {@link Row} structure.
  */
 public class JsonAvroDecoder extends AbstractAvroDecoder {
-  private final Gson gson;
+  // Decoder reused across invocations of decode.
+  private JsonDecoder decoder;
 
   public JsonAvroDecoder(Schema schema) {
     super(schema);
-    this.gson = new Gson();
+  }
+
+  public JsonAvroDecoder(Schema schema, boolean nativeNested) {
+    super(schema, nativeNested);
   }
 
   @Override
   public List<Row> decode(byte[] bytes) throws DecoderException {
     List<Row> rows = new ArrayList<>();
-    JsonDecoder decoder = null;
     ByteArrayInputStream in = new ByteArrayInputStream(bytes);
     try {
-      decoder = DecoderFactory.get().jsonDecoder(getSchema(), in);
+      if (decoder == null) {
+        decoder = DecoderFactory.get().jsonDecoder(getSchema(), in);
+      } else {
+        decoder.configure(in);
+      }
       while (true) {
         try {
-          GenericRecord gRecord = getReader().read(null, decoder);
-          List<Schema.Field> fields = getSchema().getFields();
-          Row r = new Row();
-          for (Schema.Field field : fields) {
-            Object object = gRecord.get(field.name());
-            if (object instanceof Utf8) {
-              Utf8 o = (Utf8) object;
-              object = o.toString();
-            } else if (object instanceof Map || object instanceof List) {
-              object = gson.toJson(object);
-            }
-            r.add(field.name(), object);
-          }
-          rows.add(r);
+          rows.add(read(decoder));
         } catch (EOFException e) {
           break; // Reached end of buffer.
         }
@@ -39,12 +39,28 @@ public class ProtobufDecoderUsingDescriptor implements Decoder<Row> {
 
   public ProtobufDecoderUsingDescriptor(byte[] bytes, String name)
     throws InvalidProtocolBufferException, Descriptors.DescriptorValidationException {
+    this(parseDescriptor(bytes, name));
+  }
+
+  public ProtobufDecoderUsingDescriptor(Descriptors.Descriptor descriptor) {
     this.gson = new Gson();
+    this.descriptor = descriptor;
+  }
+
+  /**
+   * Parses the descriptor of a message from the bytes of a serialized {@link DescriptorProtos.FileDescriptorSet}.
+   *
+   * @param bytes of the file descriptor set, the message being defined in its first file.
+   * @param name of the message.
+   * @return descriptor of the message, null if the file does not define the message.
+   */
+  public static Descriptors.Descriptor parseDescriptor(byte[] bytes, String name)
+    throws InvalidProtocolBufferException, Descriptors.DescriptorValidationException {
     DescriptorProtos.FileDescriptorSet fileDescriptorSet = DescriptorProtos.FileDescriptorSet.parseFrom(bytes);
     DescriptorProtos.FileDescriptorProto fileProto = fileDescriptorSet.getFile(0);
     Descriptors.FileDescriptor fileDescriptor =
       Descriptors.FileDescriptor.buildFrom(fileProto, new Descriptors.FileDescriptor[0]);
-    descriptor = fileDescriptor.findMessageTypeByName(name);
+    return fileDescriptor.findMessageTypeByName(name);
   }
 
   @Override
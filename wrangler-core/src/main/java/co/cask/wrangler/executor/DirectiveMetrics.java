@@ -0,0 +1,188 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.executor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * This class {@link DirectiveMetrics} holds the execution statistics of a single directive
+ * within a recipe.
+ *
+ * <p>Invocations, rows in, rows out and errors are counted for every invocation, while the time
+ * spent and the bytes allocated by the directive are measured only on every n-th invocation, as
+ * reading the clock and the thread allocation counter is costlier than the cheaper directives.
+ * The totals for time and allocation are estimated from the samples.</p>
+ *
+ * <p>An instance is not thread safe, it is owned by the pipeline executing the directive.</p>
+ */
+public final class DirectiveMetrics {
+  private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+  private final int index;
+  private final String name;
+  private final int interval;
+
+  private long invocations;
+  private long rowsIn;
+  private long rowsOut;
+  private long errors;
+  private long samples;
+  private long nanos;
+  private long bytes;
+
+  // State of the sample in progress.
+  private boolean sampling;
+  private long startNanos;
+  private long startBytes;
+
+  DirectiveMetrics(int index, String name, int interval) {
+    this.index = index;
+    this.name = name;
+    this.interval = Math.max(1, interval);
+  }
+
+  /**
+   * Marks the start of an invocation of the directive.
+   */
+  void start() {
+    sampling = invocations++ % interval == 0;
+    if (sampling) {
+      startBytes = allocatedBytes();
+      startNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * Marks the end of an invocation of the directive.
+   *
+   * @param in number of rows passed to the directive.
+   * @param out number of rows returned by the directive, -1 if the directive failed.
+   */
+  void end(int in, int out) {
+    if (sampling) {
+      nanos += System.nanoTime() - startNanos;
+      bytes += allocatedBytes() - startBytes;
+      samples++;
+      sampling = false;
+    }
+    rowsIn += in;
+    if (out < 0) {
+      errors++;
+    } else {
+      rowsOut += out;
+    }
+  }
+
+  /**
+   * @return position of the directive within the recipe.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return name of the directive.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return number of times the directive was invoked.
+   */
+  public long getInvocations() {
+    return invocations;
+  }
+
+  /**
+   * @return number of rows passed to the directive.
+   */
+  public long getRowsIn() {
+    return rowsIn;
+  }
+
+  /**
+   * @return number of rows returned by the directive.
+   */
+  public long getRowsOut() {
+    return rowsOut;
+  }
+
+  /**
+   * @return number of invocations that resulted in an error.
+   */
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * @return number of invocations that were timed.
+   */
+  public long getSamples() {
+    return samples;
+  }
+
+  /**
+   * @return estimated total time spent in the directive in nanoseconds.
+   */
+  public long getNanos() {
+    return samples == 0 ? 0 : (long) ((double) nanos / samples * invocations);
+  }
+
+  /**
+   * @return estimated total bytes allocated by the directive, 0 if not supported by the JVM.
+   */
+  public long getAllocatedBytes() {
+    return samples == 0 ? 0 : (long) ((double) bytes / samples * invocations);
+  }
+
+  /**
+   * Clears the statistics collected so far.
+   */
+  public void reset() {
+    invocations = 0;
+    rowsIn = 0;
+    rowsOut = 0;
+    errors = 0;
+    samples = 0;
+    nanos = 0;
+    bytes = 0;
+  }
+
+  private static long allocatedBytes() {
+    if (THREADS == null) {
+      return 0;
+    }
+    return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+          return threads;
+        }
+      }
+    } catch (Throwable t) {
+      // Allocation tracking is not available in this JVM.
+    }
+    return null;
+  }
+}
@@ -18,6 +18,7 @@ package co.cask.wrangler.executor;
 
 import co.cask.cdap.api.data.format.StructuredRecord;
 import co.cask.cdap.api.data.schema.Schema;
+import co.cask.wrangler.api.Directive;
 import co.cask.wrangler.api.DirectiveExecutionException;
 import co.cask.wrangler.api.DirectiveLoadException;
 import co.cask.wrangler.api.DirectiveNotFoundException;
@@ -32,6 +33,7 @@ import co.cask.wrangler.api.RecipePipeline;
 import co.cask.wrangler.api.ReportErrorAndProceed;
 import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.TransientVariableScope;
+import co.cask.wrangler.clients.SchemaPrefetch;
 import co.cask.wrangler.utils.RecordConvertor;
 import co.cask.wrangler.utils.RecordConvertorException;
 import com.google.common.collect.Lists;
@@ -39,11 +41,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * The class <code>RecipePipelineExecutor</code> compiles the recipe and executes
  * the directives.
+ *
+ * <p>Rows are executed through the directives one row at a time, except for the directives at the
+ * start of the recipe that are {@link VectorizedDirective}, which are executed on batches of rows
+ * sharing the same columns before the rows are executed through the rest of the directives.</p>
  */
 public final class RecipePipelineExecutor implements RecipePipeline<Row, StructuredRecord, ErrorRecord> {
   private static final Logger LOG = LoggerFactory.getLogger(RecipePipelineExecutor.class);
@@ -52,6 +60,15 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
   private final ErrorRecordCollector collector = new ErrorRecordCollector();
   private RecordConvertor convertor = new RecordConvertor();
 
+  // Sampling interval used for timing directives, the default when instrumentation is requested.
+  public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+  // Statistics of each directive, null when instrumentation is not enabled.
+  private DirectiveMetrics[] metrics;
+
+  // Number of directives at the start of the recipe that are executed on batches of rows.
+  private int vectorized;
+
   /**
    * Configures the pipeline based on the directives. It parses the recipe,
    * converting it into executable directives.
@@ -68,6 +85,56 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
     } catch (DirectiveNotFoundException | DirectiveLoadException e) {
       throw new RecipeException(e.getMessage(), e);
     }
+
+    vectorized = 0;
+    while (vectorized < directives.size() && directives.get(vectorized) instanceof VectorizedDirective) {
+      vectorized++;
+    }
+
+    // Allow directives depending on the schema registry to start fetching schemas.
+    if (context != null) {
+      for (Executor directive : directives) {
+        if (directive instanceof SchemaPrefetch) {
+          ((SchemaPrefetch) directive).prefetch(context);
+        }
+      }
+    }
+  }
+
+  /**
+   * Enables collection of per directive statistics. Rows, invocations and errors are counted for
+   * every invocation, while time and allocation are measured for every <code>interval</code>-th
+   * invocation of a directive. This has to be invoked after the pipeline is initialized.
+   *
+   * @param interval sampling interval for timing the directives, 1 times every invocation.
+   */
+  public void enableInstrumentation(int interval) {
+    metrics = new DirectiveMetrics[directives.size()];
+    for (int i = 0; i < metrics.length; ++i) {
+      Executor directive = directives.get(i);
+      String name = directive.getClass().getSimpleName();
+      if (directive instanceof Directive) {
+        try {
+          name = ((Directive) directive).define().getDirectiveName();
+        } catch (Exception e) {
+          // Use the class name if the directive fails to define itself.
+        }
+      }
+      metrics[i] = new DirectiveMetrics(i, name, interval);
+    }
+  }
+
+  /**
+   * Returns the statistics collected for each directive, in the order of the directives
+   * in the recipe.
+   *
+   * @return statistics of the directives, empty if the instrumentation is not enabled.
+   */
+  public List<DirectiveMetrics> getDirectiveMetrics() {
+    if (metrics == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(Arrays.asList(metrics));
   }
 
   /**
@@ -114,37 +181,44 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
    */
   @Override
   public List<Row> execute(List<Row> rows) throws RecipeException {
-    List<String> messages = new ArrayList<>();
+    // Errors reported for the current row, kept with the record of the row if the row errors.
+    List<ReportErrorAndProceed> reported = new ArrayList<>();
     List<Row> results = Lists.newArrayList();
     try {
-      int i = 0;
       collector.reset();
-      while (i < rows.size()) {
-        messages.clear();
-        // Resets the scope of local variable.
-        if (context != null) {
-          context.getTransientStore().reset(TransientVariableScope.LOCAL);
-        }
-        List<Row> newRows = rows.subList(i, i+1);
-        try {
-          for (Executor<List<Row>, List<Row>> directive : directives) {
-            try {
-              newRows = directive.execute(newRows, context);
-              if (newRows.size() < 1) {
-                break;
+      for (int start = 0; start < rows.size(); start += RowBatch.SIZE) {
+        List<Row> batch = rows.subList(start, Math.min(rows.size(), start + RowBatch.SIZE));
+        int first = vectorize(batch);
+        for (int i = 0; i < batch.size(); ++i) {
+          reported.clear();
+          // Resets the scope of local variable.
+          if (context != null) {
+            context.getTransientStore().reset(TransientVariableScope.LOCAL);
+          }
+          List<Row> newRows = batch.subList(i, i + 1);
+          try {
+            for (int index = first; index < directives.size(); ++index) {
+              Executor<List<Row>, List<Row>> directive = directives.get(index);
+              try {
+                if (metrics == null) {
+                  newRows = directive.execute(newRows, context);
+                } else {
+                  newRows = execute(metrics[index], directive, newRows);
+                }
+                if (newRows.size() < 1) {
+                  break;
+                }
+              } catch (ReportErrorAndProceed e) {
+                reported.add(e);
               }
-            } catch (ReportErrorAndProceed e) {
-              messages.add(String.format("%d:%s", e.getCode(), e.getMessage()));
             }
+            if (newRows.size() > 0) {
+              results.addAll(newRows);
+            }
+          } catch (ErrorRowException e) {
+            collector.add(new ErrorRecord(newRows.get(0), reported, e));
           }
-          if(newRows.size() > 0) {
-            results.addAll(newRows);
-          }
-        } catch (ErrorRowException e) {
-          messages.add(String.format("%s", e.getMessage()));
-          collector.add(new ErrorRecord(newRows.get(0), String.join(",", messages), e.getCode()));
         }
-        i++;
       }
     } catch (DirectiveExecutionException e) {
       throw new RecipeException(e.getMessage(), e);
@@ -152,6 +226,56 @@ public final class RecipePipelineExecutor implements RecipePipeline<Row, Structu
     return results;
   }
 
+  /**
+   * Executes the vectorized directives at the start of the recipe on a batch of rows.
+   *
+   * @param rows of the batch.
+   * @return index of the first directive to be executed on the rows one at a time.
+   */
+  private int vectorize(List<Row> rows) throws DirectiveExecutionException {
+    if (vectorized == 0 || rows.size() < 2) {
+      return 0;
+    }
+    RowBatch batch = RowBatch.of(rows);
+    if (batch == null) {
+      return 0;
+    }
+    for (int index = 0; index < vectorized; ++index) {
+      VectorizedDirective directive = (VectorizedDirective) directives.get(index);
+      if (metrics == null) {
+        directive.execute(batch);
+      } else {
+        int out = -1;
+        metrics[index].start();
+        try {
+          directive.execute(batch);
+          out = rows.size();
+        } finally {
+          metrics[index].end(rows.size(), out);
+        }
+      }
+    }
+    batch.flush();
+    return vectorized;
+  }
+
+  /**
+   * Executes a directive recording its statistics.
+   */
+  private List<Row> execute(DirectiveMetrics stats, Executor<List<Row>, List<Row>> directive, List<Row> rows)
+    throws DirectiveExecutionException, ErrorRowException, ReportErrorAndProceed {
+    int in = rows.size();
+    int out = -1;
+    stats.start();
+    try {
+      List<Row> result = directive.execute(rows, context);
+      out = result.size();
+      return result;
+    } finally {
+      stats.end(in, out);
+    }
+  }
+
   /**
    * Returns records that are errored out.
    *
@@ -0,0 +1,243 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.executor;
+
+import co.cask.wrangler.api.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class {@link RowBatch} is a columnar view of a batch of rows having the same columns, on
+ * which {@link VectorizedDirective} are executed.
+ *
+ * <p>The values of a column are copied out of the rows into a {@link Vector} when the column is
+ * first accessed, so only the columns used by the directives are copied. The vectors modified and
+ * the columns added are written back into the rows by {@link #flush()}.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public final class RowBatch {
+  // Maximum number of rows in a batch.
+  public static final int SIZE = 1024;
+
+  private final List<Row> rows;
+  private final List<String> columns;
+  private final List<Vector> vectors;
+  private final List<String> added = new ArrayList<>();
+
+  private RowBatch(List<Row> rows, List<String> columns) {
+    this.rows = rows;
+    this.columns = columns;
+    this.vectors = new ArrayList<>(columns.size());
+    for (int i = 0; i < columns.size(); ++i) {
+      vectors.add(null);
+    }
+  }
+
+  /**
+   * Creates a batch of rows.
+   *
+   * @param rows of the batch, at most {@link #SIZE}.
+   * @return batch of the rows, null if the rows do not all have the same columns.
+   */
+  public static RowBatch of(List<Row> rows) {
+    if (rows.isEmpty() || rows.size() > SIZE) {
+      return null;
+    }
+    List<String> columns = rows.get(0).getColumns();
+    for (int i = 1; i < rows.size(); ++i) {
+      List<String> other = rows.get(i).getColumns();
+      if (other != columns && !other.equals(columns)) {
+        return null;
+      }
+    }
+    return new RowBatch(rows, columns);
+  }
+
+  /**
+   * @return number of rows in the batch.
+   */
+  public int size() {
+    return rows.size();
+  }
+
+  /**
+   * Returns the values of a column, the same column {@link Row#find(String)} finds.
+   *
+   * @param name of the column.
+   * @return vector of the values of the column, null if the rows do not have the column.
+   */
+  public Vector find(String name) {
+    int idx = -1;
+    for (int i = 0; i < vectors.size(); ++i) {
+      if (name.equalsIgnoreCase(i < columns.size() ? columns.get(i) : added.get(i - columns.size()))) {
+        idx = i;
+        break;
+      }
+    }
+    if (idx == -1) {
+      return null;
+    }
+
+    Vector vector = vectors.get(idx);
+    if (vector == null) {
+      Object[] values = new Object[rows.size()];
+      for (int i = 0; i < values.length; ++i) {
+        values[i] = rows.get(i).getValue(idx);
+      }
+      vector = new Vector(values);
+      vectors.set(idx, vector);
+    }
+    return vector;
+  }
+
+  /**
+   * Adds a column to all the rows of the batch.
+   *
+   * @param name of the column.
+   * @param value of the column in all the rows.
+   * @return vector of the values of the column added.
+   */
+  public Vector add(String name, Object value) {
+    Object[] values = new Object[rows.size()];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = value;
+    }
+    Vector vector = new Vector(values);
+    vector.modified = true;
+    added.add(name);
+    vectors.add(vector);
+    return vector;
+  }
+
+  /**
+   * Writes the values modified and the columns added back into the rows, after which the batch
+   * is not to be used.
+   */
+  public void flush() {
+    for (int idx = 0; idx < columns.size(); ++idx) {
+      Vector vector = vectors.get(idx);
+      if (vector == null || !vector.modified) {
+        continue;
+      }
+      for (int i = 0; i < rows.size(); ++i) {
+        rows.get(i).setValue(idx, vector.values[i]);
+      }
+      vector.modified = false;
+    }
+
+    if (added.isEmpty()) {
+      return;
+    }
+    // Rows are given the same list of the columns they had and the ones added.
+    List<String> layout = new ArrayList<>(columns);
+    layout.addAll(added);
+    for (int i = 0; i < rows.size(); ++i) {
+      Row row = rows.get(i);
+      for (int idx = columns.size(); idx < vectors.size(); ++idx) {
+        row.add(added.get(idx - columns.size()), vectors.get(idx).values[i]);
+      }
+      row.setColumns(layout);
+    }
+  }
+
+  /**
+   * Values of a column of the batch, with a bitmap of the null values and the type of the values
+   * if they are all of the same type.
+   */
+  public static final class Vector {
+    private final Object[] values;
+    private final long[] nulls;
+    // Class of all the values that are not null, null if they are of different classes.
+    private Class<?> type;
+    private boolean modified;
+
+    Vector(Object[] values) {
+      this.values = values;
+      this.nulls = new long[(values.length + 63) >>> 6];
+      boolean first = true;
+      for (int i = 0; i < values.length; ++i) {
+        Object value = values[i];
+        if (value == null) {
+          nulls[i >>> 6] |= 1L << i;
+        } else if (first) {
+          type = value.getClass();
+          first = false;
+        } else if (type != null && value.getClass() != type) {
+          type = null;
+        }
+      }
+    }
+
+    /**
+     * @return number of values.
+     */
+    public int size() {
+      return values.length;
+    }
+
+    /**
+     * @return class of all the values that are not null, null if the values are of different classes.
+     */
+    public Class<?> getType() {
+      return type;
+    }
+
+    /**
+     * @return true if the value at the index is null.
+     */
+    public boolean isNull(int idx) {
+      return (nulls[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    /**
+     * Returns the index of the next value that is not null, skipping the nulls a word of the
+     * bitmap at a time.
+     *
+     * @param idx index to start from.
+     * @return index of the next value not null at or after the index, {@link #size()} if none.
+     */
+    public int nextNotNull(int idx) {
+      while (idx < values.length) {
+        long word = ~nulls[idx >>> 6] & (-1L << idx);
+        if (word != 0) {
+          return Math.min(values.length, (idx & ~63) + Long.numberOfTrailingZeros(word));
+        }
+        idx = (idx & ~63) + 64;
+      }
+      return values.length;
+    }
+
+    public Object get(int idx) {
+      return values[idx];
+    }
+
+    public void set(int idx, Object value) {
+      values[idx] = value;
+      if (value == null) {
+        nulls[idx >>> 6] |= 1L << idx;
+      } else {
+        nulls[idx >>> 6] &= ~(1L << idx);
+        if (type != null && value.getClass() != type) {
+          type = null;
+        }
+      }
+      modified = true;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.executor;
+
+import co.cask.wrangler.api.DirectiveExecutionException;
+
+/**
+ * This interface {@link VectorizedDirective} is implemented by directives that can also be executed
+ * on the columns of a {@link RowBatch}.
+ *
+ * <p>Executing the directive on a batch must have the same result as executing it on each of the
+ * rows of the batch. Hence it's implemented by directives that change the values of a column
+ * independently of the other columns, keep all the rows, do not use the context and do not fail
+ * individual rows.</p>
+ */
+public interface VectorizedDirective {
+
+  /**
+   * Executes the directive on all the rows of a batch.
+   *
+   * @param batch of rows.
+   */
+  void execute(RowBatch batch) throws DirectiveExecutionException;
+}
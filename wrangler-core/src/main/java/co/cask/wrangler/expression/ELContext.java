@@ -17,6 +17,8 @@
 package co.cask.wrangler.expression;
 
 import co.cask.wrangler.api.ExecutorContext;
+import co.cask.wrangler.api.TransientStore;
+import co.cask.wrangler.api.VersionedTransientStore;
 import org.apache.commons.jexl3.JexlContext;
 
 import java.util.HashMap;
@@ -35,8 +37,18 @@ import java.util.Set;
  * variables may lead to unexpected results unless specified otherwise.</p>
  */
 public class ELContext implements JexlContext {
+  private static final String[] NO_VARIABLES = new String[0];
+
   private final Map<String, Object> values = new HashMap<>();
 
+  // Context and version of the transient store the variables were last read from by refresh.
+  private ExecutorContext context;
+  private long version = -1;
+
+  // Transient variables read by refresh, with their values.
+  private String[] transientNames = NO_VARIABLES;
+  private Object[] transientValues = new Object[0];
+
   /**
    * No-op constructors that does nothing but create a instance of context.
    */
@@ -85,6 +97,55 @@ public class ELContext implements JexlContext {
     this.values.putAll(values);
   }
 
+  /**
+   * Prepares the context to be reused for evaluating an expression on another row. This sets the
+   * same variables as {@link #ELContext(ExecutorContext)} does, but the transient variables are read
+   * from the store only when they have changed since the last refresh. Variables set for the previous
+   * row are retained, hence all the variables of the expression have to be set again.
+   *
+   * @param context to be examined to be extracted into JEXL expression variables.
+   * @return 'this' context.
+   */
+  public ELContext refresh(ExecutorContext context) {
+    if (context == null) {
+      return this;
+    }
+
+    TransientStore store = context.getTransientStore();
+    long current = store instanceof VersionedTransientStore ? ((VersionedTransientStore) store).getVersion() : -1;
+    if (context == this.context && current != -1 && current == version) {
+      return this;
+    }
+
+    values.clear();
+    Set<String> variables = store.getVariables();
+    transientNames = variables.toArray(new String[variables.size()]);
+    transientValues = new Object[transientNames.length];
+    for (int i = 0; i < transientNames.length; ++i) {
+      transientValues[i] = store.get(transientNames[i]);
+      values.put(transientNames[i], transientValues[i]);
+    }
+    values.put("runtime", context.getProperties());
+    values.put("environment", context.getEnvironment().name());
+    values.put("context", context.getContextName());
+    this.context = context;
+    this.version = current;
+    return this;
+  }
+
+  /**
+   * Sets the transient variables read by the last {@link #refresh(ExecutorContext)} again,
+   * overriding the variables of the same name set since.
+   *
+   * @return 'this' context.
+   */
+  public ELContext setTransientVariables() {
+    for (int i = 0; i < transientNames.length; ++i) {
+      values.put(transientNames[i], transientValues[i]);
+    }
+    return this;
+  }
+
   /**
    * Returns the object associated with the name if found, else it's null.
    *
@@ -19,8 +19,15 @@ package co.cask.wrangler.parser;
 import co.cask.wrangler.api.DirectiveParseException;
 import co.cask.wrangler.api.GrammarMigrator;
 import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import edu.emory.mathcs.backport.java.util.Arrays;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
@@ -39,8 +46,44 @@ import static org.apache.commons.lang3.StringUtils.trim;
  *   <li>Expression or conditions are represented 'exp:{}'</li>
  *   <li>All directives are terminated by semicolo (;)</li>
  * </ul></p>
+ *
+ * <p>Recipes are migrated again every time they are executed or previewed, while most of them are
+ * the same as, or differ by a few directives from, a recipe migrated before. Hence the recipes
+ * migrated are cached by the hash of their directives, and each directive migrated is cached by
+ * its text, so directives already in version 2.0, which migrate to themselves, or seen in another
+ * recipe are not tokenized again. Directives failing to migrate are not cached.</p>
+ *
+ * <p>Directives missing the caches are still migrated by the rules below, each tokenizing its
+ * directive with a {@link StringTokenizer}. They are kept as they are rather than folded into a
+ * single-pass scanner, as a directive is only tokenized the first time it's seen, and rewriting the
+ * rules of every directive would risk changing how recipes saved in version 1.0 are migrated.</p>
  */
 public final class MigrateToV2 implements GrammarMigrator {
+  // Maximum number of characters of the recipes and of the directives cached.
+  private static final int MAX_CHARS = 4 * 1024 * 1024;
+
+  // Recipes migrated, by the hash of their directives.
+  private static final Cache<HashCode, String> RECIPES = CacheBuilder.newBuilder()
+    .maximumWeight(MAX_CHARS)
+    .weigher(new Weigher<HashCode, String>() {
+      @Override
+      public int weigh(HashCode hash, String migrated) {
+        return migrated.length() + 1;
+      }
+    })
+    .build();
+
+  // Directives migrated, by their trimmed text. Directives migrating to nothing are mapped to an empty string.
+  private static final Cache<String, String> DIRECTIVES = CacheBuilder.newBuilder()
+    .maximumWeight(MAX_CHARS)
+    .weigher(new Weigher<String, String>() {
+      @Override
+      public int weigh(String directive, String migrated) {
+        return directive.length() + migrated.length() + 1;
+      }
+    })
+    .build();
+
   private final List<String> recipe;
 
   public MigrateToV2(List<String> recipe) {
@@ -66,6 +109,20 @@ public final class MigrateToV2 implements GrammarMigrator {
    */
   @Override
   public String migrate() throws DirectiveParseException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (String directive : recipe) {
+      hasher.putInt(directive.length()).putString(directive, StandardCharsets.UTF_8);
+    }
+    HashCode hash = hasher.hash();
+    String migrated = RECIPES.getIfPresent(hash);
+    if (migrated == null) {
+      migrated = migrate(recipe);
+      RECIPES.put(hash, migrated);
+    }
+    return migrated;
+  }
+
+  private static String migrate(List<String> recipe) throws DirectiveParseException {
     List<String> transformed = new ArrayList<>();
     int lineno = 1;
     for (String directive : recipe) {
@@ -89,6 +146,17 @@ public final class MigrateToV2 implements GrammarMigrator {
         continue;
       }
 
+      String migrated = DIRECTIVES.getIfPresent(directive);
+      if (migrated != null) {
+        if (!migrated.isEmpty()) {
+          transformed.add(migrated);
+        }
+        lineno = lineno + 1;
+        continue;
+      }
+      String original = directive;
+      int size = transformed.size();
+
       if (directive.endsWith(";")) {
         directive = directive.substring(0, directive.length() - 1);
       }
@@ -484,12 +552,14 @@ public final class MigrateToV2 implements GrammarMigrator {
         }
         break;
 
-        // cut-character <source> <destination> <range|indexes>
+        // cut-character <source> <destination> <range|indexes> [<codepoints>]
         case "cut-character" : {
           String source = getNextToken(tokenizer, command, "source", lineno);
           String destination = getNextToken(tokenizer, command, "destination", lineno);
           String range = getNextToken(tokenizer, command, "range", lineno);
-          transformed.add(String.format("cut-character %s %s %s;", col(source), col(destination), quote(range)));
+          String codepointsOpt = getNextToken(tokenizer, "\n", command, "true|false", lineno, true);
+          transformed.add(String.format("cut-character %s %s %s%s;", col(source), col(destination), quote(range),
+                                        codepointsOpt == null ? "" : " " + codepointsOpt));
         }
         break;
 
@@ -682,11 +752,17 @@ public final class MigrateToV2 implements GrammarMigrator {
         }
         break;
 
-        // extract-regex-groups <column> <regex>
+        // extract-regex-groups <column> <regex> [<bounded>]
         case "extract-regex-groups" : {
           String column = getNextToken(tokenizer, command, "column", lineno);
           String regex = getNextToken(tokenizer, command, "regex", lineno);
-          transformed.add(String.format("extract-regex-groups %s %s;", col(column), quote(regex)));
+          String boundedOpt = getNextToken(tokenizer, "\n", command, "true|false", lineno, true);
+          if (boundedOpt != null && !boundedOpt.trim().equals("true") && !boundedOpt.trim().equals("false")) {
+            // Text following a regex with spaces was ignored in version 1.0, and still is.
+            boundedOpt = null;
+          }
+          transformed.add(String.format("extract-regex-groups %s %s%s;", col(column), quote(regex),
+                                        boundedOpt == null ? "" : " " + boundedOpt.trim()));
         }
         break;
 
@@ -764,6 +840,7 @@ public final class MigrateToV2 implements GrammarMigrator {
           break;
       }
 
+      DIRECTIVES.put(original, Joiner.on('\n').join(transformed.subList(size, transformed.size())));
       lineno = lineno + 1;
     }
     return Joiner.on('\n').join(transformed);
@@ -20,32 +20,100 @@ import co.cask.wrangler.api.CompileException;
 import co.cask.wrangler.api.CompileStatus;
 import co.cask.wrangler.api.Compiler;
 import co.cask.wrangler.api.RecipeSymbol;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.tool.GrammarParserInterpreter;
 import org.apache.twill.filesystem.Location;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
 /**
- * Class description here.
+ * This class {@link RecipeCompiler} compiles recipes into {@link RecipeSymbol}.
+ *
+ * <p>Recipes compiled successfully are cached by the hash of their content, so the same recipe
+ * compiled again, as it is when a pipeline is configured and then initialized or for every request
+ * of the service, is not parsed again. The symbols cached are shared, hence they are not to be
+ * modified.</p>
  */
 public final class RecipeCompiler implements Compiler {
+  private static final Logger LOG = LoggerFactory.getLogger(RecipeCompiler.class);
+
+  // Maximum number of directives of all the recipes cached.
+  private static final int MAX_DIRECTIVES = 10000;
+
+  // Symbols of the recipes compiled successfully, by the hash of the recipe.
+  private static final Cache<HashCode, RecipeSymbol> SYMBOLS = CacheBuilder.newBuilder()
+    .maximumWeight(MAX_DIRECTIVES)
+    .weigher(new Weigher<HashCode, RecipeSymbol>() {
+      @Override
+      public int weigh(HashCode hash, RecipeSymbol symbol) {
+        return symbol.size() + 1;
+      }
+    })
+    .build();
+
+  // Recipe exercising the constructs of the grammar, compiled to warm up the parser.
+  static final String WARMUP_RECIPE =
+    "#pragma version 2.0;\n"
+      + "#pragma load-directives text-reverse, text-exchange;\n"
+      + "// comment\n"
+      + "${macro}\n"
+      + "parse-as-csv :body ',' true;\n"
+      + "drop :body,:headers;\n"
+      + "set-column :total exp:{ price * quantity };\n"
+      + "send-to-error exp:{ total < 0 };\n"
+      + "quantize :age :age_range 0:10='child',11:19='teen',20:100='adult';\n"
+      + "cut-character :name :first 1,2,3 true,false 'a','b' 10L 1.5 id;\n"
+      + "parse-as-fixed-length :body 2,4,5 prop:{ a='x', b=1 };\n"
+      + "if ((total > 10)) { set-type :total int; } else { set-type :total long; }\n";
+
   public RecipeCompiler() {
   }
 
+  /**
+   * Compiles a representative recipe, so the DFA and prediction context cache shared by all the
+   * parsers are populated before the first recipe is compiled.
+   */
+  public static void warmup() {
+    long start = System.nanoTime();
+    try {
+      new RecipeCompiler().compile(CharStreams.fromString(WARMUP_RECIPE));
+    } catch (CompileException e) {
+      LOG.debug("Unable to compile the warm up recipe.", e);
+    }
+    LOG.debug("Warmed up the recipe compiler in {} ms.", (System.nanoTime() - start) / 1000000);
+  }
+
   @Override
   public CompileStatus compile(String recipe) throws CompileException {
-    return compile(CharStreams.fromString(recipe));
+    HashCode hash = Hashing.sha256().hashString(recipe, StandardCharsets.UTF_8);
+    RecipeSymbol symbol = SYMBOLS.getIfPresent(hash);
+    if (symbol != null) {
+      return new CompileStatus(symbol);
+    }
+
+    CompileStatus status = compile(CharStreams.fromString(recipe));
+    if (status.isSuccess()) {
+      SYMBOLS.put(hash, status.getSymbols());
+    }
+    return status;
   }
 
   @Override
   public CompileStatus compile(Location location) throws CompileException {
     try {
-      return compile(CharStreams.fromStream(location.getInputStream()));
+      return compile(CharStreams.fromStream(location.getInputStream()).toString());
     } catch (IOException e) {
       throw new CompileException(e.getMessage(), e);
     } catch (Exception e) {
@@ -56,7 +124,7 @@ public final class RecipeCompiler implements Compiler {
   @Override
   public CompileStatus compile(Path path) throws CompileException {
     try {
-      return compile(CharStreams.fromPath(path));
+      return compile(CharStreams.fromPath(path).toString());
     } catch (IOException e) {
       throw new CompileException(e.getMessage(), e);
     } catch (Exception e) {
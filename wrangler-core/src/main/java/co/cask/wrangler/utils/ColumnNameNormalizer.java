@@ -0,0 +1,73 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.wrangler.api.DirectiveExecutionException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class {@link ColumnNameNormalizer} is a {@link ColumnRewriter} that normalizes each column
+ * name on its own, for directives that rename all the columns the same way.
+ *
+ * <p>Names are normalized once per layout as with any {@link ColumnRewriter}, and the normalized
+ * names are also memoized by name, so rows of different layouts having the same columns, such as
+ * rows that don't share their columns, don't normalize the names again. At most {@link #MAX_NAMES}
+ * names are memoized.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public abstract class ColumnNameNormalizer extends ColumnRewriter {
+  // Maximum number of names memoized.
+  public static final int MAX_NAMES = 16 * 1024;
+
+  private final Map<String, String> names = new HashMap<>();
+
+  @Override
+  protected final List<String> rewrite(List<String> columns) throws DirectiveExecutionException {
+    List<String> normalized = null;
+    for (int i = 0; i < columns.size(); ++i) {
+      String name = columns.get(i);
+      String result = names.get(name);
+      if (result == null) {
+        result = normalize(name);
+        if (names.size() < MAX_NAMES) {
+          names.put(name, result);
+        }
+      }
+      if (normalized == null && !result.equals(name)) {
+        normalized = new ArrayList<>(columns.size());
+        normalized.addAll(columns.subList(0, i));
+      }
+      if (normalized != null) {
+        normalized.add(result);
+      }
+    }
+    return normalized == null ? columns : normalized;
+  }
+
+  /**
+   * Normalizes a column name.
+   *
+   * @param name of the column.
+   * @return name normalized.
+   */
+  protected abstract String normalize(String name) throws DirectiveExecutionException;
+}
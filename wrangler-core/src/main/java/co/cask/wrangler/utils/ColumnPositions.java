@@ -0,0 +1,83 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.wrangler.api.Row;
+
+import java.util.Collection;
+
+/**
+ * This class {@link ColumnPositions} resolves the positions of a fixed set of columns within rows.
+ *
+ * <p>The positions are resolved using {@link Row#find(String)}, and are reused for the next row
+ * as long as it has the same columns as the row they were resolved for. Columns are compared by
+ * reference, which holds for rows copied from one another or created by the same directive, so
+ * a stream of rows sharing the layout is resolved once.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public final class ColumnPositions {
+  private final String[] names;
+  private final int[] positions;
+
+  // Columns of the row the positions were resolved for.
+  private String[] columns;
+
+  public ColumnPositions(Collection<String> names) {
+    this(names.toArray(new String[names.size()]));
+  }
+
+  public ColumnPositions(String[] names) {
+    this.names = names;
+    this.positions = new int[names.length];
+  }
+
+  /**
+   * @return names of the columns resolved.
+   */
+  public String[] getNames() {
+    return names;
+  }
+
+  /**
+   * Resolves the positions of the columns within the row.
+   *
+   * @param row for which the positions are resolved.
+   * @return position of each of the columns in the order of the names, -1 if not present in the row.
+   * The array returned is owned by this instance and is valid until the next call.
+   */
+  public int[] resolve(Row row) {
+    int length = row.length();
+    boolean same = columns != null && length == columns.length;
+    for (int i = 0; same && i < length; ++i) {
+      same = row.getColumn(i) == columns[i];
+    }
+    if (same) {
+      return positions;
+    }
+
+    String[] current = new String[length];
+    for (int i = 0; i < length; ++i) {
+      current[i] = row.getColumn(i);
+    }
+    for (int i = 0; i < names.length; ++i) {
+      positions[i] = row.find(names[i]);
+    }
+    columns = current;
+    return positions;
+  }
+}
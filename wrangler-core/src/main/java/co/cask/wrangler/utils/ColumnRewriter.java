@@ -0,0 +1,80 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.wrangler.api.DirectiveExecutionException;
+import co.cask.wrangler.api.Row;
+
+import java.util.List;
+
+/**
+ * This class {@link ColumnRewriter} rewrites the names of the columns of rows, for directives
+ * that change the columns without changing the values.
+ *
+ * <p>The columns rewritten are set on the row with {@link Row#setColumns(List)}, and are reused
+ * for the next row as long as it shares its columns with the row they were rewritten for. Rows
+ * copied from one another, created from the same schema or rewritten by the same directive share
+ * their columns, so a stream of rows sharing the layout is rewritten once, and the rows rewritten
+ * keep sharing the columns rewritten.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public abstract class ColumnRewriter {
+  // Columns last rewritten and the result of rewriting them.
+  private List<String> columns;
+  private List<String> rewritten;
+
+  /**
+   * Rewrites the columns of the row.
+   *
+   * @param row whose columns are rewritten.
+   */
+  public final void rewrite(Row row) throws DirectiveExecutionException {
+    List<String> current = row.getColumns();
+    if (current != columns) {
+      rewritten = rewrite(current);
+      columns = current;
+    }
+    if (rewritten != current) {
+      row.setColumns(rewritten);
+    }
+  }
+
+  /**
+   * Rewrites the columns of a layout.
+   *
+   * @param columns to be rewritten, which are not to be modified.
+   * @return new list of the columns rewritten, the same list if none of the columns are changed.
+   */
+  protected abstract List<String> rewrite(List<String> columns) throws DirectiveExecutionException;
+
+  /**
+   * Finds a column the same way as {@link Row#find(String)} does.
+   *
+   * @param columns to be searched.
+   * @param column to be found.
+   * @return index of the column, -1 if not found.
+   */
+  public static int find(List<String> columns, String column) {
+    for (int i = 0; i < columns.size(); ++i) {
+      if (column.equalsIgnoreCase(columns.get(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
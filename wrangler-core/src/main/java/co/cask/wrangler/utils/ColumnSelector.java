@@ -0,0 +1,71 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.wrangler.api.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class {@link ColumnSelector} keeps a selection of the columns of rows, for directives
+ * that keep or drop columns.
+ *
+ * <p>Same as {@link ColumnRewriter}, the positions of the columns kept are resolved once for all
+ * the rows sharing their columns. The columns kept are removed from the row in a single pass
+ * with {@link Row#retain(int[], List)}, and the rows keep sharing the columns kept.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public abstract class ColumnSelector {
+  // Columns last selected from, the positions of the columns kept and the columns kept.
+  private List<String> columns;
+  private int[] positions;
+  private List<String> selected;
+
+  /**
+   * Keeps the columns of the row selected, removing all the others.
+   *
+   * @param row whose columns are selected.
+   */
+  public final void select(Row row) {
+    List<String> current = row.getColumns();
+    if (current != columns) {
+      positions = select(current);
+      if (positions.length == current.size()) {
+        selected = current;
+      } else {
+        selected = new ArrayList<>(positions.length);
+        for (int position : positions) {
+          selected.add(current.get(position));
+        }
+      }
+      columns = current;
+    }
+    if (selected != current) {
+      row.retain(positions, selected);
+    }
+  }
+
+  /**
+   * Selects the columns of a layout.
+   *
+   * @param columns to be selected from, which are not to be modified.
+   * @return positions of the columns kept, in increasing order.
+   */
+  protected abstract int[] select(List<String> columns);
+}
@@ -0,0 +1,171 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.cdap.api.data.format.UnexpectedFormatException;
+import co.cask.cdap.api.data.schema.Schema;
+import co.cask.wrangler.api.Row;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * This class {@link CompiledRecordConvertor} converts {@link Row} into {@link StructuredRecord} of
+ * a schema that is known upfront.
+ *
+ * <p>The schema is compiled once into a slot per field, holding the type the value is decoded to.
+ * Values that already are of the type of the field are set as is, others are decoded the same
+ * way as {@link RecordConvertor} does. Columns are located with {@link ColumnPositions}, hence
+ * they are not looked up by name for every row.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public final class CompiledRecordConvertor {
+  private final Schema schema;
+  private final Slot[] slots;
+  private final RecordConvertor convertor = new RecordConvertor();
+
+  // Positions of the columns of the fields within the rows converted.
+  private final ColumnPositions columns;
+
+  public CompiledRecordConvertor(Schema schema) {
+    this.schema = schema;
+    List<Schema.Field> fields = schema.getFields();
+    this.slots = new Slot[fields.size()];
+    String[] names = new String[slots.length];
+    for (int i = 0; i < slots.length; ++i) {
+      slots[i] = new Slot(fields.get(i));
+      names[i] = slots[i].name;
+    }
+    this.columns = new ColumnPositions(names);
+  }
+
+  /**
+   * @return schema of the records created.
+   */
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Converts a {@link Row} into a {@link StructuredRecord} of the compiled schema.
+   *
+   * @param row to be converted.
+   * @return {@link StructuredRecord} holding the values of the row.
+   */
+  public StructuredRecord convert(Row row) throws RecordConvertorException {
+    // A row holding just a record is copied into the output schema, same as the RecordConvertor does.
+    if (row.length() == 1) {
+      Object cell = row.getValue(0);
+      if (cell instanceof StructuredRecord) {
+        return copy((StructuredRecord) cell);
+      }
+    }
+
+    int[] positions = columns.resolve(row);
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (int i = 0; i < slots.length; ++i) {
+      int position = positions[i];
+      slots[i].set(builder, position < 0 ? null : row.getValue(position));
+    }
+    return builder.build();
+  }
+
+  private StructuredRecord copy(StructuredRecord record) {
+    StructuredRecord.Builder builder = StructuredRecord.builder(schema);
+    for (Slot slot : slots) {
+      Object value = record.get(slot.name);
+      if (value instanceof String) {
+        builder.convertAndSet(slot.name, (String) value);
+      } else {
+        builder.set(slot.name, value);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Decodes and sets the value of a single field of the schema.
+   */
+  private final class Slot {
+    private final String name;
+    private final Schema schema;
+    // Type values are decoded to, null if the field is not of a simple type.
+    private final Schema.Type type;
+
+    Slot(Schema.Field field) {
+      this.name = field.getName();
+      this.schema = field.getSchema();
+
+      // Unions are decoded using the first schema of the union.
+      Schema effective = schema;
+      while (effective.getType() == Schema.Type.UNION) {
+        effective = effective.getUnionSchemas().get(0);
+      }
+      this.type = effective.getLogicalType() == null && effective.getType().isSimpleType() ?
+        effective.getType() : null;
+    }
+
+    void set(StructuredRecord.Builder builder, Object value) throws RecordConvertorException {
+      try {
+        if (type != null && (value == null || isOfType(value))) {
+          builder.set(name, value);
+          return;
+        }
+
+        Object decoded = convertor.decode(name, value, schema);
+        if (decoded instanceof LocalDate) {
+          builder.setDate(name, (LocalDate) decoded);
+        } else if (decoded instanceof LocalTime) {
+          builder.setTime(name, (LocalTime) decoded);
+        } else if (decoded instanceof ZonedDateTime) {
+          builder.setTimestamp(name, (ZonedDateTime) decoded);
+        } else if (decoded instanceof String && type != Schema.Type.STRING) {
+          builder.convertAndSet(name, (String) decoded);
+        } else {
+          builder.set(name, decoded);
+        }
+      } catch (UnexpectedFormatException e) {
+        throw new RecordConvertorException(RecordConvertor.formatError(name, schema, value));
+      }
+    }
+
+    private boolean isOfType(Object value) {
+      switch (type) {
+        case STRING:
+          return value instanceof String;
+        case INT:
+          return value instanceof Integer;
+        case LONG:
+          return value instanceof Long;
+        case DOUBLE:
+          return value instanceof Double;
+        case FLOAT:
+          return value instanceof Float;
+        case BOOLEAN:
+          return value instanceof Boolean;
+        case BYTES:
+          return value instanceof byte[];
+        default:
+          return false;
+      }
+    }
+  }
+}
@@ -78,7 +78,6 @@ public final class RecordConvertor implements Serializable {
     List<Schema.Field> fields = schema.getFields();
     for (Schema.Field field : fields) {
       Schema fSchema = field.getSchema();
-      boolean isNullable = fSchema.isNullable();
       String name = field.getName();
       Object value = row.getValue(name);
       try {
@@ -93,21 +92,27 @@ public final class RecordConvertor implements Serializable {
           builder.set(name, decodedObj);
         }
       } catch (UnexpectedFormatException e) {
-        throw new RecordConvertorException(
-          String.format("Field '%s' of type '%s' (Nullable : '%s') cannot be set to '%s'. Possibly the value being " +
-                          "set is not in inline with the schema specified. Check schema for field '%s'.",
-                        name,
-                        isNullable ? fSchema.getNonNullable().getType().name() : fSchema.getType().name(),
-                        isNullable ? "YES" : "NO",
-                        value == null ? "NULL" : value,
-                        name)
-        );
+        throw new RecordConvertorException(formatError(name, fSchema, value));
       }
     }
     return builder.build();
   }
 
-  private Object decode(String name, Object object, Schema schema) throws RecordConvertorException {
+  /**
+   * Creates the message for a value that cannot be set to a field.
+   */
+  static String formatError(String name, Schema fSchema, Object value) {
+    boolean isNullable = fSchema.isNullable();
+    return String.format("Field '%s' of type '%s' (Nullable : '%s') cannot be set to '%s'. Possibly the value being " +
+                           "set is not in inline with the schema specified. Check schema for field '%s'.",
+                         name,
+                         isNullable ? fSchema.getNonNullable().getType().name() : fSchema.getType().name(),
+                         isNullable ? "YES" : "NO",
+                         value == null ? "NULL" : value,
+                         name);
+  }
+
+  Object decode(String name, Object object, Schema schema) throws RecordConvertorException {
     // Extract the type of the field.
     Schema.Type type = schema.getType();
     Schema.LogicalType logicalType = schema.getLogicalType();
@@ -0,0 +1,140 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.cdap.api.data.format.UnexpectedFormatException;
+import co.cask.cdap.api.data.schema.Schema;
+import co.cask.wrangler.api.Row;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class {@link RecordRowAdapter} converts a {@link StructuredRecord} into a {@link Row}
+ * holding a column for each field of the record.
+ *
+ * <p>Each distinct schema, compared by identity, is analyzed once into an accessor per field
+ * that knows how to read the field, including fields of logical types. Rows are created as copies
+ * of a template row holding the columns of the schema, so the columns are shared by all the rows
+ * created for a schema.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public final class RecordRowAdapter {
+  // Maximum number of schemas cached, the cache is cleared when exceeded.
+  private static final int MAX_SCHEMAS = 64;
+
+  private final Map<Schema, Layout> layouts = new IdentityHashMap<>();
+
+  // Layout of the last schema seen, most records share the schema of the previous record.
+  private Layout last;
+
+  /**
+   * Converts the record into a {@link Row}.
+   *
+   * @param record to be converted.
+   * @return {@link Row} with a column for each field of the record.
+   */
+  public Row toRow(StructuredRecord record) {
+    Schema schema = record.getSchema();
+    Layout layout = last;
+    if (layout == null || layout.schema != schema) {
+      layout = layouts.get(schema);
+      if (layout == null) {
+        if (layouts.size() >= MAX_SCHEMAS) {
+          layouts.clear();
+        }
+        layout = new Layout(schema);
+        layouts.put(schema, layout);
+      }
+      last = layout;
+    }
+    return layout.toRow(record);
+  }
+
+  /**
+   * Returns the value of a field of the record, reading the fields of logical types
+   * as their date, time and timestamp values.
+   *
+   * @param record to read the field from.
+   * @param name of the field.
+   * @return value of the field.
+   */
+  public static Object getValue(StructuredRecord record, String name) {
+    return read(record, name, logicalType(record.getSchema().getField(name).getSchema()));
+  }
+
+  private static Schema.LogicalType logicalType(Schema schema) {
+    schema = schema.isNullable() ? schema.getNonNullable() : schema;
+    return schema.getLogicalType();
+  }
+
+  private static Object read(StructuredRecord record, String name, Schema.LogicalType logicalType) {
+    if (logicalType != null) {
+      switch (logicalType) {
+        case DATE:
+          return record.getDate(name);
+        case TIME_MILLIS:
+        case TIME_MICROS:
+          return record.getTime(name);
+        case TIMESTAMP_MILLIS:
+        case TIMESTAMP_MICROS:
+          return record.getTimestamp(name);
+        default:
+          throw new UnexpectedFormatException("Field type " + logicalType + " is not supported.");
+      }
+    }
+
+    // If the logical type is present in complex types, it will be retrieved as corresponding
+    // simple type (int/long).
+    return record.get(name);
+  }
+
+  /**
+   * Fields of a schema with the logical type of each, resolved once.
+   */
+  private static final class Layout {
+    private final Schema schema;
+    private final String[] names;
+    private final Schema.LogicalType[] logicalTypes;
+    private final Row template;
+
+    Layout(Schema schema) {
+      this.schema = schema;
+      List<Schema.Field> fields = schema.getFields();
+      this.names = new String[fields.size()];
+      this.logicalTypes = new Schema.LogicalType[names.length];
+      this.template = new Row();
+      for (int i = 0; i < names.length; ++i) {
+        Schema.Field field = fields.get(i);
+        names[i] = field.getName();
+        logicalTypes[i] = logicalType(field.getSchema());
+        template.add(names[i], null);
+      }
+    }
+
+    Row toRow(StructuredRecord record) {
+      Row row = new Row(template);
+      for (int i = 0; i < names.length; ++i) {
+        row.setValue(i, read(record, names[i], logicalTypes[i]));
+      }
+      return row;
+    }
+  }
+}
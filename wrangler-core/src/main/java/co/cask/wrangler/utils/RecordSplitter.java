@@ -0,0 +1,246 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import com.google.common.collect.AbstractIterator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class {@link RecordSplitter} splits text into records separated by a delimiter, returning
+ * the same records as {@link String#split(String)} does, one record at a time.
+ *
+ * <p>Text is either a string or read from a {@link Reader} a chunk at a time, in which case only
+ * the text of the records not yet returned is held in memory. Delimiters without any regular
+ * expression meta characters are searched for as is, other delimiters are regular expressions.
+ * Same as {@link String#split(String)}, trailing empty records are not returned, and text without
+ * any delimiter is a single record.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public final class RecordSplitter extends AbstractIterator<String> {
+  // Number of characters read from the reader at once.
+  private static final int CHUNK = 64 * 1024;
+  private static final String META = "\\^$.|?*+()[]{}";
+
+  private final Reader reader;
+  private final StringBuilder buffer;
+  private final CharSequence text;
+  private char[] chars;
+
+  // Delimiter searched for as is, null if the delimiter is a regular expression.
+  private final String literal;
+  private final Matcher matcher;
+
+  // Start of the next record and position the next delimiter is searched from.
+  private int start;
+  private int from;
+  private boolean eof;
+  private boolean done;
+
+  // True once a delimiter is found.
+  private boolean matched;
+
+  // Empty records held back until a record that is not empty follows them.
+  private int empty;
+  private String pending;
+
+  /**
+   * Splits the text read from a reader, which is not closed by the splitter.
+   *
+   * @param reader of the text.
+   * @param delimiter of the records.
+   */
+  public RecordSplitter(Reader reader, String delimiter) {
+    this(reader, new StringBuilder(), delimiter);
+  }
+
+  /**
+   * Splits a string.
+   *
+   * @param text to be split.
+   * @param delimiter of the records.
+   */
+  public RecordSplitter(String text, String delimiter) {
+    this(null, text, delimiter);
+  }
+
+  private RecordSplitter(Reader reader, CharSequence text, String delimiter) {
+    this.reader = reader;
+    this.buffer = reader == null ? null : (StringBuilder) text;
+    this.text = text;
+    this.eof = reader == null;
+    if (isLiteral(delimiter)) {
+      this.literal = delimiter;
+      this.matcher = null;
+    } else {
+      this.literal = null;
+      this.matcher = Pattern.compile(delimiter).matcher(text).useTransparentBounds(true).useAnchoringBounds(false);
+    }
+  }
+
+  private static boolean isLiteral(String delimiter) {
+    if (delimiter.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < delimiter.length(); ++i) {
+      if (META.indexOf(delimiter.charAt(i)) != -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected String computeNext() {
+    if (empty > 0 && pending != null) {
+      empty--;
+      return "";
+    }
+    if (pending != null) {
+      String record = pending;
+      pending = null;
+      return record;
+    }
+    try {
+      String record;
+      while ((record = read()) != null) {
+        if (!record.isEmpty() || (done && !matched)) {
+          if (empty == 0) {
+            return record;
+          }
+          pending = record;
+          empty--;
+          return "";
+        }
+        empty++;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return endOfData();
+  }
+
+  /**
+   * @return next record, null once all the records are read.
+   */
+  private String read() throws IOException {
+    if (done) {
+      return null;
+    }
+    while (true) {
+      int length = text.length();
+      int begin = -1;
+      int end = -1;
+      if (literal != null) {
+        int idx = indexOf(from);
+        if (idx != -1) {
+          begin = idx;
+          end = idx + literal.length();
+        } else if (!eof) {
+          from = Math.max(start, length - literal.length() + 1);
+          fill(CHUNK);
+          continue;
+        }
+      } else if (from > length) {
+        // Searched past an empty match at the end of the text read so far.
+        if (!eof) {
+          fill(CHUNK);
+          continue;
+        }
+      } else {
+        matcher.reset(text).region(from, length);
+        if (matcher.find()) {
+          if (matcher.hitEnd() && !eof) {
+            // More text could change the match.
+            fill(CHUNK);
+            continue;
+          }
+          begin = matcher.start();
+          end = matcher.end();
+          if (begin == end && !matched && begin == 0) {
+            // Same as String#split, an empty match at the start of the text does not delimit a record.
+            from = 1;
+            continue;
+          }
+        } else if (!eof) {
+          // Regular expressions are searched again from the start of the record, hence records
+          // without a delimiter are read in growing chunks.
+          fill(Math.max(CHUNK, length - start));
+          continue;
+        }
+      }
+
+      if (begin == -1) {
+        done = true;
+        return text.subSequence(start, length).toString();
+      }
+      String record = text.subSequence(start, begin).toString();
+      start = end;
+      // Same as Matcher#find, the next delimiter is searched for after an empty match.
+      from = begin == end ? end + 1 : end;
+      matched = true;
+      return record;
+    }
+  }
+
+  private int indexOf(int from) {
+    int last = text.length() - literal.length();
+    char first = literal.charAt(0);
+    for (int i = from; i <= last; ++i) {
+      if (text.charAt(i) != first) {
+        continue;
+      }
+      int j = 1;
+      while (j < literal.length() && text.charAt(i + j) == literal.charAt(j)) {
+        j++;
+      }
+      if (j == literal.length()) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Reads at least the given number of characters into the buffer unless the text ends, dropping
+   * the text of the records already returned.
+   */
+  private void fill(int size) throws IOException {
+    if (start > 0 && start >= buffer.length() / 2) {
+      buffer.delete(0, start);
+      from -= start;
+      start = 0;
+    }
+    if (chars == null) {
+      chars = new char[CHUNK];
+    }
+    while (size > 0) {
+      int read = reader.read(chars);
+      if (read == -1) {
+        eof = true;
+        return;
+      }
+      buffer.append(chars, 0, read);
+      size -= read;
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class {@link RegexMatcher} matches values against a regular expression compiled once, reusing
+ * the same {@link Matcher} for all the values.
+ *
+ * <p>Regular expressions without any meta characters are matched as is, without the regular expression
+ * engine. For other regular expressions starting with literal characters, values not having those
+ * characters are rejected, and matches are only searched for from the first occurrence of those
+ * characters.</p>
+ *
+ * <p>A bounded matcher reads at most {@link #STEPS_PER_CHAR} characters for each character of a value
+ * while matching it, and throws {@link LimitExceededException} once it reads more, so a regular expression
+ * backtracking catastrophically on a value fails that value instead of stalling.</p>
+ *
+ * <p>An instance is not thread safe.</p>
+ */
+public final class RegexMatcher {
+  // Maximum number of characters read by a bounded matcher, for each character of the value.
+  public static final int STEPS_PER_CHAR = 1024;
+  private static final String META = "\\^$.|?*+()[]{}";
+
+  private final Pattern pattern;
+  private final Matcher matcher;
+
+  // Regular expression matched as is, null if the regular expression has meta characters.
+  private final String literal;
+
+  // Literal characters every match starts with, possibly empty.
+  private final String prefix;
+
+  // Value being matched, counting the characters read, null if the matcher is not bounded.
+  private final Bounded bounded;
+
+  /**
+   * Compiles a regular expression.
+   *
+   * @param regex regular expression.
+   * @param bounded true if the characters read while matching a value are bounded.
+   */
+  public RegexMatcher(String regex, boolean bounded) {
+    this.pattern = Pattern.compile(regex);
+    this.matcher = pattern.matcher("").useTransparentBounds(true).useAnchoringBounds(false);
+    this.literal = isLiteral(regex) ? regex : null;
+    this.prefix = prefix(regex);
+    this.bounded = bounded ? new Bounded() : null;
+  }
+
+  private static boolean isLiteral(String regex) {
+    for (int i = 0; i < regex.length(); ++i) {
+      if (META.indexOf(regex.charAt(i)) != -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return literal characters at the start of the regular expression every match starts with.
+   */
+  private static String prefix(String regex) {
+    if (regex.indexOf('|') != -1) {
+      return "";
+    }
+    int end = 0;
+    while (end < regex.length() && META.indexOf(regex.charAt(end)) == -1) {
+      end++;
+    }
+    if (end < regex.length() && end > 0 && "?*{".indexOf(regex.charAt(end)) != -1) {
+      // Last character is optional.
+      end--;
+    }
+    return regex.substring(0, end);
+  }
+
+  /**
+   * @return the compiled regular expression.
+   */
+  public Pattern pattern() {
+    return pattern;
+  }
+
+  /**
+   * @return number of capturing groups in the regular expression.
+   */
+  public int groupCount() {
+    return matcher.groupCount();
+  }
+
+  /**
+   * Checks whether an entire value matches the regular expression.
+   *
+   * @param value to be matched.
+   * @return true if the value matches.
+   * @throws LimitExceededException if the matcher is bounded and the value takes too long to match.
+   */
+  public boolean matches(CharSequence value) {
+    if (literal != null) {
+      return literal.contentEquals(value);
+    }
+    if (!startsWith(value, prefix)) {
+      return false;
+    }
+    return reset(value).matches();
+  }
+
+  /**
+   * Resets the matcher to find the matches in a value with {@link Matcher#find()}. The matcher is
+   * shared by all the values, hence it's only valid until the next value is matched.
+   *
+   * @param value to be matched.
+   * @return matcher finding the matches in the value, null if the value has no matches.
+   * @throws LimitExceededException if the matcher is bounded and the value takes too long to match.
+   */
+  public Matcher find(CharSequence value) {
+    int from = indexOf(value, prefix);
+    if (from == -1) {
+      return null;
+    }
+    return reset(value).region(from, value.length());
+  }
+
+  private Matcher reset(CharSequence value) {
+    if (bounded == null) {
+      return matcher.reset(value);
+    }
+    bounded.reset(value);
+    return matcher.reset(bounded);
+  }
+
+  private static boolean startsWith(CharSequence value, String prefix) {
+    if (value.length() < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); ++i) {
+      if (value.charAt(i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int indexOf(CharSequence value, String prefix) {
+    if (prefix.isEmpty()) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return ((String) value).indexOf(prefix);
+    }
+    int last = value.length() - prefix.length();
+    for (int i = 0; i <= last; ++i) {
+      if (startsWith(value, prefix, i)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean startsWith(CharSequence value, String prefix, int from) {
+    for (int j = 0; j < prefix.length(); ++j) {
+      if (value.charAt(from + j) != prefix.charAt(j)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Thrown by a bounded matcher when matching a value reads too many characters.
+   */
+  public static final class LimitExceededException extends RuntimeException {
+    private final int length;
+
+    private LimitExceededException(int length) {
+      super(null, null, false, false);
+      this.length = length;
+    }
+
+    @Override
+    public String getMessage() {
+      return String.format("Matching a value of %d characters exceeded %d steps per character.",
+                           length, STEPS_PER_CHAR);
+    }
+  }
+
+  /**
+   * Value counting the characters read from it.
+   */
+  private static final class Bounded implements CharSequence {
+    private CharSequence value;
+    private long steps;
+
+    void reset(CharSequence value) {
+      this.value = value;
+      this.steps = (long) STEPS_PER_CHAR * (value.length() + 1);
+    }
+
+    @Override
+    public int length() {
+      return value.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (--steps < 0) {
+        throw new LimitExceededException(value.length());
+      }
+      return value.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return value.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return value.toString();
+    }
+  }
+}
@@ -44,4 +44,17 @@ public class ChangeColCaseNamesTest {
     Assert.assertTrue(rows.size() == 1);
     Assert.assertEquals("url", rows.get(0).getColumn(0));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testUpperCaseOnRowsSharingColumns() throws Exception {
+    Row first = new Row("Url", "1").add("Fname", "2");
+    List<Row> rows = Arrays.asList(first, new Row(first).setValue(0, "3"), new Row("url", "4"));
+
+    rows = TestingRig.execute(new String[] { "change-column-case upper" }, rows);
+
+    Assert.assertEquals(Arrays.asList("URL", "FNAME"), rows.get(0).getColumns());
+    Assert.assertSame(rows.get(0).getColumns(), rows.get(1).getColumns());
+    Assert.assertEquals("3", rows.get(1).getValue("URL"));
+    Assert.assertEquals(Arrays.asList("URL"), rows.get(2).getColumns());
+  }
+}
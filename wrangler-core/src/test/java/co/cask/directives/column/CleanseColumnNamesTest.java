@@ -48,4 +48,30 @@ public class CleanseColumnNamesTest {
     Assert.assertEquals("column4", rows.get(0).getColumn(3));
     Assert.assertEquals("col_5", rows.get(0).getColumn(4));
   }
+
+  @Test
+  public void testCleanseSameAsRegex() throws Exception {
+    String[] names = new String[] {
+      "", "  ", "col", " Col 1 ", "a-b.c", "\u00c9t\u00e9", "\ud83d\ude00x", "x\ud83d", "_A_b_9", "\tTAB\t"
+    };
+    for (String name : names) {
+      String expected = name.trim().toLowerCase().replaceAll("[^a-zA-Z0-9_]", "_");
+      Assert.assertEquals(expected, CleanseColumnNames.cleanse(name));
+    }
+  }
+
+  @Test
+  public void testCleanseRowsOfDifferentLayouts() throws Exception {
+    List<Row> rows = Arrays.asList(
+      new Row("First Name", "a").add("Age", 1),
+      new Row("First Name", "b").add("Age", 2),
+      new Row("age", 3)
+    );
+
+    rows = TestingRig.execute(new String[] { "cleanse-column-names" }, rows);
+
+    Assert.assertEquals(Arrays.asList("first_name", "age"), rows.get(0).getColumns());
+    Assert.assertEquals(Arrays.asList("first_name", "age"), rows.get(1).getColumns());
+    Assert.assertEquals(Arrays.asList("age"), rows.get(2).getColumns());
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.column;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link Drop}
+ */
+public class DropTest {
+
+  @Test
+  public void testDrop() throws Exception {
+    String[] directives = new String[] {
+      "parse-as-csv body , false",
+      "drop body,BODY_3,body_9"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("body", "a,b,c,d"),
+      new Row("body", "e,f,g,h")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals(Arrays.asList("body_1", "body_2", "body_4"), rows.get(0).getColumns());
+    Assert.assertSame(rows.get(0).getColumns(), rows.get(1).getColumns());
+    Assert.assertEquals("d", rows.get(0).getValue("body_4"));
+    Assert.assertEquals("f", rows.get(1).getValue("body_2"));
+  }
+
+  @Test
+  public void testDropDuplicateColumns() throws Exception {
+    List<Row> rows = Arrays.asList(
+      new Row("a", 1).add("b", 2).add("A", 3).add("a", 4)
+    );
+
+    rows = TestingRig.execute(new String[] { "drop a,a" }, rows);
+
+    Assert.assertEquals(Arrays.asList("b", "a"), rows.get(0).getColumns());
+    Assert.assertEquals(4, rows.get(0).getValue("a"));
+  }
+}
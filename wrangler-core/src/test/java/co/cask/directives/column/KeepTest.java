@@ -45,4 +45,28 @@ public class KeepTest {
     Assert.assertTrue(rows.size() == 1);
     Assert.assertEquals(2, rows.get(0).length());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testKeepOnRowsSharingColumns() throws Exception {
+    String[] directives = new String[] {
+      "parse-as-csv body , false",
+      "keep body_4,body_2"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("body", "a,b,c,d"),
+      new Row("body", "e,f,g,h"),
+      new Row("body", "i,j")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    Assert.assertEquals(3, rows.size());
+    Assert.assertEquals(Arrays.asList("body_2", "body_4"), rows.get(0).getColumns());
+    Assert.assertSame(rows.get(0).getColumns(), rows.get(1).getColumns());
+    Assert.assertEquals("b", rows.get(0).getValue(0));
+    Assert.assertEquals("h", rows.get(1).getValue(1));
+    Assert.assertEquals(Arrays.asList("body_2"), rows.get(2).getColumns());
+    Assert.assertEquals("j", rows.get(2).getValue(0));
+  }
+}
@@ -19,6 +19,7 @@ package co.cask.directives.column;
 import co.cask.wrangler.TestingRig;
 import co.cask.wrangler.api.RecipeException;
 import co.cask.wrangler.api.Row;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -41,4 +42,32 @@ public class RenameTest {
 
     TestingRig.execute(directives, rows);
   }
+
+  @Test
+  public void testRenamedRowsShareColumns() throws Exception {
+    String[] directives = new String[] {
+      "parse-as-csv body , false",
+      "rename body_1 id",
+      "rename body_3 amount",
+      "cleanse-column-names",
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("body", "1,A,10"),
+      new Row("body", "2,B,20"),
+      new Row("body", "3,C,30,extra")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+    Assert.assertEquals(3, rows.size());
+    Assert.assertEquals(Arrays.asList("body", "id", "body_2", "amount"), rows.get(0).getColumns());
+    Assert.assertSame(rows.get(0).getColumns(), rows.get(1).getColumns());
+    Assert.assertEquals(Arrays.asList("body", "id", "body_2", "amount", "body_4"), rows.get(2).getColumns());
+    Assert.assertEquals("20", rows.get(1).getValue("amount"));
+
+    // Changing the columns of a row does not change the columns of the rows sharing them.
+    rows.get(1).setColumn(1, "key");
+    Assert.assertEquals("id", rows.get(0).getColumn(1));
+    Assert.assertEquals("key", rows.get(1).getColumn(1));
+  }
 }
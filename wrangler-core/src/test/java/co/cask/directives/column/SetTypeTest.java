@@ -18,6 +18,7 @@ package co.cask.directives.column;
 
 import co.cask.cdap.api.common.Bytes;
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipeException;
 import co.cask.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
@@ -234,4 +235,67 @@ public class SetTypeTest {
       Assert.assertEquals(0, Bytes.compareTo(value, bytesResults[i]));
     }
   }
+
+  @Test
+  public void testParseSameAsJava() throws Exception {
+    String[] values = new String[] {
+      "0", "7", "-7", "+7", "-", "+", "", " 1", "1 ", "12a", "123456789", "-123456789", "1234567890",
+      "2147483647", "2147483648", "-2147483648", "-2147483649", "9999", "-9999", "32767", "32768", "-32768",
+      "999999999999999999", "9223372036854775807", "9223372036854775808", "-9223372036854775808",
+      "\u0661\u0662", "00012", "-0"
+    };
+    for (String value : values) {
+      Assert.assertEquals(value, parse(value, Type.INT), parse(value, Type.JAVA_INT));
+      Assert.assertEquals(value, parse(value, Type.SHORT), parse(value, Type.JAVA_SHORT));
+      Assert.assertEquals(value, parse(value, Type.LONG), parse(value, Type.JAVA_LONG));
+    }
+  }
+
+  private enum Type {
+    INT, SHORT, LONG, JAVA_INT, JAVA_SHORT, JAVA_LONG
+  }
+
+  private static Object parse(String value, Type type) {
+    try {
+      switch (type) {
+        case INT:
+          return SetType.parseInt(value);
+        case SHORT:
+          return SetType.parseShort(value);
+        case LONG:
+          return SetType.parseLong(value);
+        case JAVA_INT:
+          return Integer.parseInt(value);
+        case JAVA_SHORT:
+          return Short.parseShort(value);
+        default:
+          return Long.parseLong(value);
+      }
+    } catch (NumberFormatException e) {
+      return NumberFormatException.class;
+    }
+  }
+
+  @Test
+  public void testRowsOfDifferentTypes() throws Exception {
+    List<Row> rows = Arrays.asList(
+      new Row("col", "12"), new Row("col", 3.7d), new Row("col", 5L), new Row("col", "  "),
+      new Row("col", true), new Row("col", (short) 2), new Row("col", "-8")
+    );
+
+    List<Row> results = TestingRig.execute(new String[] { "set-type col long" }, rows);
+
+    Assert.assertEquals(12L, results.get(0).getValue("col"));
+    Assert.assertEquals(3L, results.get(1).getValue("col"));
+    Assert.assertEquals(5L, results.get(2).getValue("col"));
+    Assert.assertEquals("  ", results.get(3).getValue("col"));
+    Assert.assertEquals(true, results.get(4).getValue("col"));
+    Assert.assertEquals(2L, results.get(5).getValue("col"));
+    Assert.assertEquals(-8L, results.get(6).getValue("col"));
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testInvalidInteger() throws Exception {
+    TestingRig.execute(new String[] { "set-type col int" }, Arrays.asList(new Row("col", "12x")));
+  }
 }
@@ -17,10 +17,16 @@
 package co.cask.directives.lookup;
 
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipeException;
 import co.cask.wrangler.api.Row;
 import org.junit.Assert;
+import org.junit.ClassRule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
 
@@ -29,6 +35,9 @@ import java.util.List;
  */
 public class CatalogLookupTest {
 
+  @ClassRule
+  public static final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Test
   public void testICDCodeLookup() throws Exception {
     String[] directives = new String[] {
@@ -55,4 +64,101 @@ public class CatalogLookupTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testICD9CodeLookup() throws Exception {
+    String[] directives = new String[] {
+      "catalog-lookup ICD-9 code",
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("code", "0010"),
+      new Row("code", "0019"),
+      new Row("code", "ABC"),
+      new Row("code", 10),
+      new Row("name", "Root")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+    Assert.assertEquals(5, rows.size());
+    Assert.assertEquals("Cholera due to vibrio cholerae", rows.get(0).getValue("code_icd_9_description"));
+    Assert.assertEquals("Cholera, unspecified", rows.get(1).getValue("code_icd_9_description"));
+    for (int i = 2; i < 5; ++i) {
+      Assert.assertEquals(2, rows.get(i).length());
+      Assert.assertNull(rows.get(i).getValue(1));
+    }
+  }
+
+  @Test
+  public void testUserCatalogLookup() throws Exception {
+    File source = temporaryFolder.newFile("colors.txt");
+    Files.write(source.toPath(), Arrays.asList(
+      "R Red",
+      "G       Green",
+      "\u00dc       Umlaut",
+      "B\tBlue",
+      "G       Gr\u00fcn"
+    ), StandardCharsets.UTF_8);
+    File catalog = new File(temporaryFolder.getRoot(), "colors.catalog");
+    CatalogCompiler.compile(source, catalog);
+
+    MappedCatalog mapped = MappedCatalog.fromFile("colors", catalog);
+    Assert.assertEquals(4, mapped.size());
+    Assert.assertSame(mapped, MappedCatalog.fromFile("colors", catalog));
+
+    String[] directives = new String[] {
+      "catalog-lookup 'colors.catalog' code",
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("code", "R"),
+      new Row("code", "G"),
+      new Row("code", "\u00dc"),
+      new Row("code", "Y")
+    );
+
+    System.setProperty(CatalogLookup.CATALOG_DIR, temporaryFolder.getRoot().getAbsolutePath());
+    try {
+      rows = TestingRig.execute(directives, rows);
+    } finally {
+      System.clearProperty(CatalogLookup.CATALOG_DIR);
+    }
+    Assert.assertEquals("Red", rows.get(0).getValue("code_colors_description"));
+    Assert.assertEquals("Gr\u00fcn", rows.get(1).getValue("code_colors_description"));
+    Assert.assertEquals("Umlaut", rows.get(2).getValue("code_colors_description"));
+    Assert.assertNull(rows.get(3).getValue("code_colors_description"));
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testUserCatalogsDisabled() throws Exception {
+    File catalog = new File(temporaryFolder.getRoot(), "disabled.catalog");
+    compile(catalog, "A Alpha");
+
+    String[] directives = new String[] {
+      String.format("catalog-lookup '%s' code", catalog.getAbsolutePath()),
+    };
+    TestingRig.execute(directives, Arrays.asList(new Row("code", "A")));
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testUserCatalogOutsideCatalogDirectory() throws Exception {
+    File dir = temporaryFolder.newFolder("catalogs");
+    File catalog = new File(temporaryFolder.getRoot(), "outside.catalog");
+    compile(catalog, "A Alpha");
+
+    String[] directives = new String[] {
+      "catalog-lookup '../outside.catalog' code",
+    };
+    System.setProperty(CatalogLookup.CATALOG_DIR, dir.getAbsolutePath());
+    try {
+      TestingRig.execute(directives, Arrays.asList(new Row("code", "A")));
+    } finally {
+      System.clearProperty(CatalogLookup.CATALOG_DIR);
+    }
+  }
+
+  private static void compile(File catalog, String... lines) throws Exception {
+    File source = temporaryFolder.newFile();
+    Files.write(source.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    CatalogCompiler.compile(source, catalog);
+  }
+}
@@ -17,6 +17,7 @@
 package co.cask.directives.parser;
 
 import co.cask.wrangler.api.Row;
+import co.cask.wrangler.codec.BinaryAvroDecoder;
 import co.cask.wrangler.codec.JsonAvroDecoder;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -38,6 +39,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -127,6 +130,43 @@ public class ParseAvroTest {
     Assert.assertEquals(2, records.size());
   }
 
+  @Test
+  public void testBinaryDecoderNativeNested() throws Exception {
+    Schema schema = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"Event\", \"fields\": [\n" +
+      "  {\"name\": \"id\", \"type\": \"string\"},\n" +
+      "  {\"name\": \"tags\", \"type\": {\"type\": \"array\", \"items\": \"string\"}},\n" +
+      "  {\"name\": \"attrs\", \"type\": {\"type\": \"map\", \"values\": \"long\"}}\n" +
+      "]}");
+
+    DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    for (int i = 0; i < 3; ++i) {
+      GenericRecord record = new GenericData.Record(schema);
+      record.put("id", "id-" + i);
+      record.put("tags", Arrays.asList("a" + i, "b" + i));
+      record.put("attrs", Collections.singletonMap("count", (long) i));
+      datumWriter.write(record, encoder);
+    }
+    encoder.flush();
+    byte[] bytes = out.toByteArray();
+
+    List<Row> rows = new BinaryAvroDecoder(schema, true).decode(bytes);
+    Assert.assertEquals(3, rows.size());
+    for (int i = 0; i < 3; ++i) {
+      Assert.assertEquals("id-" + i, rows.get(i).getValue("id"));
+      Assert.assertEquals(Arrays.asList("a" + i, "b" + i), rows.get(i).getValue("tags"));
+      Assert.assertEquals(Collections.singletonMap("count", (long) i), rows.get(i).getValue("attrs"));
+    }
+
+    BinaryAvroDecoder decoder = new BinaryAvroDecoder(schema);
+    Assert.assertEquals(3, decoder.decode(bytes).size());
+    rows = decoder.decode(bytes);
+    Assert.assertEquals(3, rows.size());
+    Assert.assertEquals("[\"a2\",\"b2\"]", rows.get(2).getValue("tags"));
+    Assert.assertEquals("{\"count\":2}", rows.get(2).getValue("attrs"));
+  }
+
   private Schema getSchema() throws Exception {
     // Parse schema and validate fields.
     Schema.Parser parser = new Schema.Parser();
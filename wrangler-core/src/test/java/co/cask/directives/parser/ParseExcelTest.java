@@ -51,6 +51,49 @@ public class ParseExcelTest {
     }
   }
 
+  @Test
+  public void testExcelWithLimit() throws Exception {
+    try (InputStream stream = ParseAvroFileTest.class.getClassLoader().getResourceAsStream("titanic.xlsx")) {
+      byte[] data = IOUtils.toByteArray(stream);
+
+      String[] directives = new String[]{
+        "parse-as-excel :body '0' true 10",
+      };
+
+      List<Row> rows = new ArrayList<>();
+      rows.add(new Row("body", data));
+
+      List<Row> results = TestingRig.execute(directives, rows);
+      Assert.assertEquals(10, results.size());
+      Assert.assertEquals(1, results.get(0).getValue("fwd"));
+      Assert.assertEquals(9, results.get(0).getValue("bkd"));
+      Assert.assertEquals(0, results.get(9).getValue("bkd"));
+    }
+  }
+
+  @Test
+  public void testExcelFirstRowAsHeader() throws Exception {
+    try (InputStream stream = ParseAvroFileTest.class.getClassLoader().getResourceAsStream("titanic.xlsx")) {
+      byte[] data = IOUtils.toByteArray(stream);
+
+      String[] directives = new String[]{
+        "parse-as-excel :body '0' true",
+      };
+
+      List<Row> rows = new ArrayList<>();
+      rows.add(new Row("body", data));
+
+      List<Row> results = TestingRig.execute(directives, rows);
+      Assert.assertEquals(891, results.size());
+      Assert.assertEquals(891, results.get(890).getValue("fwd"));
+      Assert.assertEquals(0, results.get(890).getValue("bkd"));
+      Assert.assertEquals("fwd", results.get(0).getColumn(0));
+      Assert.assertEquals("bkd", results.get(0).getColumn(1));
+      Assert.assertEquals("PassengerId", results.get(0).getColumn(2));
+      Assert.assertEquals(1.0, results.get(0).getValue("PassengerId"));
+    }
+  }
+
   @Test
   public void testNoSheetName() throws Exception {
     try (InputStream stream = ParseAvroFileTest.class.getClassLoader().getResourceAsStream("titanic.xlsx")) {
@@ -18,6 +18,7 @@ package co.cask.directives.row;
 
 import co.cask.wrangler.TestingRig;
 import co.cask.wrangler.api.RecipeException;
+import co.cask.wrangler.api.RecipePipeline;
 import co.cask.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
@@ -70,4 +71,25 @@ public class RowConditionFilterTest {
     Assert.assertTrue(rows.size() == 1);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testTransientVariableChangingAcrossRows() throws Exception {
+    String[] directives = new String[] {
+      "set-variable v a * 10",
+      "set-column b v + 1",
+      "filter-row-if-true v > 25"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("a", 1),
+      new Row("a", 2),
+      new Row("a", 3)
+    );
+
+    RecipePipeline pipeline = TestingRig.execute(directives);
+    rows = pipeline.execute(rows);
+
+    Assert.assertEquals(2, rows.size());
+    Assert.assertEquals(11, rows.get(0).getValue("b"));
+    Assert.assertEquals(21, rows.get(1).getValue("b"));
+  }
+}
@@ -17,10 +17,13 @@
 package co.cask.directives.row;
 
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.Pair;
 import co.cask.wrangler.api.Row;
+import com.google.common.base.Strings;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -158,4 +161,49 @@ public class RowRegexFilterTest {
     rows = TestingRig.execute(directives, rows);
     Assert.assertTrue(rows.size() == 2);
   }
+
+  @Test
+  public void testLiteralAndNumbers() throws Exception {
+    String[] directives = new String[] {
+      "filter-by-regex if-matched :a 'abc'",
+      "filter-by-regex if-matched :b '1.5'",
+      "filter-by-regex if-not-matched :c '1[0-9]*'"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("a", "abc").add("b", 0).add("c", 10L),
+      new Row("a", "abcd").add("b", 2.5d).add("c", 10L),
+      new Row("a", "xabc").add("b", 1.5f).add("c", 10L),
+      new Row("a", "ab").add("b", 2).add("c", (short) 12),
+      new Row("a", "ab").add("b", 2).add("c", 20),
+      new Row("a", "ab").add("b", 2).add("c", new BigDecimal("1E+3")),
+      new Row("a", "ab").add("b", 15).add("c", 1)
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    Assert.assertEquals(3, rows.size());
+    Assert.assertEquals("abcd", rows.get(0).getValue("a"));
+    Assert.assertEquals((short) 12, rows.get(1).getValue("c"));
+    Assert.assertEquals(15, rows.get(2).getValue("b"));
+  }
+
+  @Test
+  public void testBounded() throws Exception {
+    String[] directives = new String[] {
+      "filter-by-regex if-matched :text '(.*a){6}b' true"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("text", "aaaaaab"),
+      new Row("text", "aaa"),
+      new Row("text", Strings.repeat("a", 80) + "!")
+    );
+
+    Pair<List<Row>, List<Row>> results = TestingRig.executeWithErrors(directives, rows);
+
+    Assert.assertEquals(1, results.getFirst().size());
+    Assert.assertEquals("aaa", results.getFirst().get(0).getValue("text"));
+    Assert.assertEquals(1, results.getSecond().size());
+  }
 }
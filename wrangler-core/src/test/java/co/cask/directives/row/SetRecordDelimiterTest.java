@@ -0,0 +1,59 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.directives.row;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link SetRecordDelimiter}
+ */
+public class SetRecordDelimiterTest {
+
+  @Test
+  public void testSetRecordDelimiter() throws Exception {
+    List<Row> rows = Arrays.asList(
+      new Row("body", "a:b::c::"),
+      new Row("body", "d")
+    );
+
+    rows = TestingRig.execute(new String[] { "set-record-delim :body ':';" }, rows);
+
+    Assert.assertEquals(5, rows.size());
+    Assert.assertEquals("a", rows.get(0).getValue("body"));
+    Assert.assertEquals("", rows.get(2).getValue("body"));
+    Assert.assertEquals("c", rows.get(3).getValue("body"));
+    Assert.assertEquals("d", rows.get(4).getValue("body"));
+  }
+
+  @Test
+  public void testSetRecordDelimiterWithLimit() throws Exception {
+    List<Row> rows = Arrays.asList(
+      new Row("body", "1,2,3,4,5,6,7,8,9,10")
+    );
+
+    rows = TestingRig.execute(new String[] { "set-record-delim :body ',' 3;" }, rows);
+
+    Assert.assertEquals(4, rows.size());
+    Assert.assertEquals("4", rows.get(3).getValue("body"));
+  }
+}
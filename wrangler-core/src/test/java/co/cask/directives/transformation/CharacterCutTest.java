@@ -17,10 +17,13 @@
 package co.cask.directives.transformation;
 
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipeException;
 import co.cask.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
+import org.unix4j.Unix4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -73,4 +76,47 @@ public class CharacterCutTest {
     Assert.assertTrue(rows.size() == 1);
     Assert.assertEquals("734.77", rows.get(0).getValue("value"));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testSameAsUnixCut() throws Exception {
+    String[] values = new String[] {
+      "", "a", "abcdefgh", "ab\ncdef", "ab\r\ncd\n", "a\r\nbc\ncd", "ab\n\ncd", "abc\n\n", "ab\rcd", "\n", "\nab"
+    };
+    String[] ranges = new String[] {
+      "1", "3-5,1", "1-3,2-4", "2-100", "5-", "-2,5-", "2,2,2", "3-1", "1-", "-1", "2-3,1-2,7-"
+    };
+    for (String range : ranges) {
+      List<Row> rows = new ArrayList<>();
+      for (String value : values) {
+        rows.add(new Row("body", value));
+      }
+      rows = TestingRig.execute(new String[] { "cut-character body cut " + range }, rows);
+      for (int i = 0; i < values.length; ++i) {
+        String expected = Unix4j.fromString(values[i]).cut("-c", range).toStringResult();
+        Assert.assertEquals(String.format("'%s' cut by '%s'", values[i], range), expected, rows.get(i).getValue("cut"));
+      }
+    }
+  }
+
+  @Test
+  public void testCodePoints() throws Exception {
+    String[] directives = new String[] {
+      "cut-character body chars 2-3",
+      "cut-character body codepoints 2-3 true"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("body", "a\ud83d\ude00bc")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    Assert.assertEquals("\ud83d\ude00", rows.get(0).getValue("chars"));
+    Assert.assertEquals("\ud83d\ude00b", rows.get(0).getValue("codepoints"));
+  }
+
+  @Test(expected = RecipeException.class)
+  public void testInvalidRange() throws Exception {
+    TestingRig.execute(new String[] { "cut-character body cut 0-2" }, new ArrayList<Row>());
+  }
+}
@@ -17,10 +17,13 @@
 package co.cask.directives.transformation;
 
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.Pair;
 import co.cask.wrangler.api.Row;
+import com.google.common.base.Strings;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -296,6 +299,51 @@ public class ExtractRegexGroupsTest {
     testRegex(regex, regexInputOutputs);
   }
 
+  @Test
+  public void testMultipleMatches() throws Exception {
+    String[] directives = new String[] {
+      "extract-regex-groups :pairs 'k([0-9])=([a-z]+)'"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("pairs", "k1=a k2=b k3=c"),
+      new Row("pairs", "k4=d"),
+      new Row("pairs", "none"),
+      new Row("pairs", 1)
+    );
+
+    rows = TestingRig.execute(directives, rows);
+
+    Assert.assertEquals(4, rows.size());
+    Assert.assertEquals(7, rows.get(0).length());
+    Assert.assertEquals("1", rows.get(0).getValue("pairs_1_1"));
+    Assert.assertEquals("a", rows.get(0).getValue("pairs_1_2"));
+    Assert.assertEquals("2", rows.get(0).getValue("pairs_2_1"));
+    Assert.assertEquals("c", rows.get(0).getValue("pairs_3_2"));
+    Assert.assertEquals(3, rows.get(1).length());
+    Assert.assertEquals("d", rows.get(1).getValue("pairs_1_2"));
+    Assert.assertEquals(1, rows.get(2).length());
+    Assert.assertEquals(1, rows.get(3).length());
+  }
+
+  @Test
+  public void testBounded() throws Exception {
+    String[] directives = new String[] {
+      "extract-regex-groups :text '(.*a){6}(b)' true"
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("text", "aaaaaab"),
+      new Row("text", Strings.repeat("a", 80) + "!")
+    );
+
+    Pair<List<Row>, List<Row>> results = TestingRig.executeWithErrors(directives, rows);
+
+    Assert.assertEquals(1, results.getFirst().size());
+    Assert.assertEquals("b", results.getFirst().get(0).getValue("text_1_2"));
+    Assert.assertEquals(1, results.getSecond().size());
+  }
+
   private void testRegex(String regex, RegexInputOutput[] regexInputOutputs) throws Exception {
     final String column = "column";
 
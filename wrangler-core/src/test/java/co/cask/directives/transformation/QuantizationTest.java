@@ -24,6 +24,7 @@ import com.google.common.collect.TreeRangeMap;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -74,6 +75,35 @@ public class QuantizationTest {
     Assert.assertEquals(1, notfound);
   }
 
+  @Test
+  public void testQuantizationOfNumbers() throws Exception {
+    String[] directives = new String[] {
+      "quantize :age :range 0:10='child',10:19='teen',20:100='adult',15:25='young';",
+    };
+
+    List<Row> rows = Arrays.asList(
+      new Row("age", 5),
+      new Row("age", 10L),
+      new Row("age", new BigDecimal("14.99")),
+      new Row("age", 15.0f),
+      new Row("age", "25"),
+      new Row("age", 25.5d),
+      new Row("age", -1),
+      new Row("age", "100")
+    );
+
+    rows = TestingRig.execute(directives, rows);
+    Assert.assertEquals(8, rows.size());
+    Assert.assertEquals("child", rows.get(0).getValue("range"));
+    Assert.assertEquals("teen", rows.get(1).getValue("range"));
+    Assert.assertEquals("teen", rows.get(2).getValue("range"));
+    Assert.assertEquals("young", rows.get(3).getValue("range"));
+    Assert.assertEquals("young", rows.get(4).getValue("range"));
+    Assert.assertEquals("adult", rows.get(5).getValue("range"));
+    Assert.assertNull(rows.get(6).getValue("range"));
+    Assert.assertEquals("adult", rows.get(7).getValue("range"));
+  }
+
   @Test
   public void testQuantizationRangeAndPattern() throws Exception {
     RangeMap<Double, String> rangeMap = TreeRangeMap.create();
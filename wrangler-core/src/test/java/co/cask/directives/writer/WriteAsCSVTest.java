@@ -17,13 +17,17 @@
 package co.cask.directives.writer;
 
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
 import co.cask.wrangler.api.Row;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
 import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 import org.simmetrics.StringMetric;
 import org.simmetrics.metrics.StringMetrics;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -73,4 +77,26 @@ public class WriteAsCSVTest {
     Assert.assertEquals("1,\"this is, string\"", rows.get(0).getValue(2));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testQuotingSameAsCommonsCSV() throws Exception {
+    Object[] values = new Object[] {
+      "", " ", "plain", " leading", "trailing ", "tab\t", "#comment", "!bang", "a#b", "with,comma",
+      "with \"quote\"", "\"", "line\nbreak", "carriage\rreturn", "\u00fcmlaut", "~tilde", "-dash", "+plus",
+      null, 10, 1.5d, true
+    };
+
+    RecipePipeline pipeline = TestingRig.execute(new String[] { "write-as-csv body" });
+    for (Object first : values) {
+      for (Object second : values) {
+        StringWriter expected = new StringWriter();
+        CSVPrinter printer = new CSVPrinter(expected, CSVFormat.DEFAULT);
+        printer.print(first);
+        printer.print(second);
+        printer.flush();
+
+        List<Row> rows = pipeline.execute(Arrays.asList(new Row("first", first).add("second", second)));
+        Assert.assertEquals(expected.toString(), rows.get(0).getValue("body"));
+      }
+    }
+  }
+}
@@ -38,6 +38,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -53,6 +55,7 @@ public class SchemaRegistryClientTest {
   private static NettyHttpService httpService;
   private static String baseURL;
   private static SchemaRegistryClient client;
+  private static final AtomicInteger REQUESTS = new AtomicInteger();
 
   @Before
   public void startService() throws Exception {
@@ -111,6 +114,7 @@ public class SchemaRegistryClientTest {
     @GET
     @Path("schemas/foo/versions/1")
     public void get(HttpRequest request, HttpResponder responder) {
+      REQUESTS.incrementAndGet();
       JsonObject response = new JsonObject();
       JsonArray array = new JsonArray();
       JsonObject object = new JsonObject();
@@ -173,6 +177,20 @@ public class SchemaRegistryClientTest {
     Assert.assertNotNull(response);
   }
 
+  @Test
+  public void testSchemaCache() throws Exception {
+    SchemaCache cache = new SchemaCache(10, 1, TimeUnit.MINUTES);
+    int requests = REQUESTS.get();
+    byte[] bytes = cache.getBytes(client, "foo", 1);
+    Assert.assertEquals("{\"foo\" : \"test\"}", Bytes.toString(bytes));
+    Assert.assertSame(bytes, cache.getBytes(client, "foo", 1));
+    Assert.assertEquals(requests + 1, REQUESTS.get());
+
+    cache.invalidateAll();
+    cache.getBytes(client, "foo", 1);
+    Assert.assertEquals(requests + 2, REQUESTS.get());
+  }
+
   @Test (expected = RestClientException.class)
   public void testGetWrongSchemaIdVersions() throws Exception {
     client.getVersions("foo1");
@@ -19,12 +19,14 @@ package co.cask.wrangler.executor;
 import co.cask.cdap.api.data.format.StructuredRecord;
 import co.cask.cdap.api.data.schema.Schema;
 import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.ErrorRecord;
 import co.cask.wrangler.api.RecipePipeline;
 import co.cask.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Tests {@link RecipePipelineExecutor}.
@@ -96,4 +98,72 @@ public class RecipePipelineExecutorTest {
     Assert.assertEquals(1481666448L, record.<Long>get("timestamp").longValue());
     Assert.assertEquals(186.66f, record.get("weight"), 0.0001f);
   }
+
+  @Test
+  public void testDirectiveMetrics() throws Exception {
+    String[] commands = new String[] {
+      "parse-as-csv body , false",
+      "drop body",
+      "send-to-error exp:{ body_1 == 'bad' }"
+    };
+
+    RecipePipelineExecutor pipeline = (RecipePipelineExecutor) TestingRig.execute(commands);
+    Assert.assertTrue(pipeline.getDirectiveMetrics().isEmpty());
+    pipeline.enableInstrumentation(2);
+
+    List<Row> rows = Arrays.asList(
+      new Row("body", "good,1"),
+      new Row("body", "bad,2"),
+      new Row("body", "good,3")
+    );
+    List<Row> results = pipeline.execute(rows);
+    Assert.assertEquals(2, results.size());
+    Assert.assertEquals(1, pipeline.errors().size());
+
+    List<DirectiveMetrics> metrics = pipeline.getDirectiveMetrics();
+    Assert.assertEquals(3, metrics.size());
+    Assert.assertEquals("parse-as-csv", metrics.get(0).getName());
+    Assert.assertEquals("drop", metrics.get(1).getName());
+    Assert.assertEquals("send-to-error", metrics.get(2).getName());
+    for (DirectiveMetrics metric : metrics) {
+      Assert.assertEquals(3, metric.getInvocations());
+      Assert.assertEquals(3, metric.getRowsIn());
+      Assert.assertEquals(2, metric.getSamples());
+      Assert.assertTrue(metric.getNanos() > 0);
+    }
+    Assert.assertEquals(3, metrics.get(1).getRowsOut());
+    Assert.assertEquals(0, metrics.get(1).getErrors());
+    Assert.assertEquals(2, metrics.get(2).getRowsOut());
+    Assert.assertEquals(1, metrics.get(2).getErrors());
+
+    metrics.get(0).reset();
+    Assert.assertEquals(0, metrics.get(0).getInvocations());
+    Assert.assertEquals(0, metrics.get(0).getNanos());
+  }
+
+  @Test
+  public void testErrorMessages() throws Exception {
+    String[] commands = new String[] {
+      "parse-as-csv body , false",
+      "drop body",
+      "send-to-error-and-continue exp:{ body_2 == '0' } 'zero'",
+      "send-to-error exp:{ body_1 == 'bad' } 'bad'"
+    };
+
+    RecipePipeline pipeline = TestingRig.execute(commands);
+    List<Row> rows = Arrays.asList(
+      new Row("body", "good,1"),
+      new Row("body", "bad,0"),
+      new Row("body", "bad,2"),
+      new Row("body", "good,0")
+    );
+    List<Row> results = pipeline.execute(rows);
+    Assert.assertEquals(2, results.size());
+    List<ErrorRecord> errors = pipeline.errors();
+    Assert.assertEquals(2, errors.size());
+    Assert.assertEquals("1:zero,bad", errors.get(0).getMessage());
+    Assert.assertEquals("bad", errors.get(0).getRow().getValue("body_1"));
+    Assert.assertEquals("bad", errors.get(1).getMessage());
+    Assert.assertEquals("2", errors.get(1).getRow().getValue("body_2"));
+  }
 }
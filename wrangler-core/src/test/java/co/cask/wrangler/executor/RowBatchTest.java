@@ -0,0 +1,119 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.executor;
+
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.RecipePipeline;
+import co.cask.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link RowBatch} and the execution of {@link VectorizedDirective}.
+ */
+public class RowBatchTest {
+
+  private static List<Row> rows(int count) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < count; ++i) {
+      Row row = new Row("name", i % 7 == 0 ? null : "  Name " + i + "  ");
+      row.add("city", i % 5 == 0 ? "" : "city " + i);
+      row.add("age", i % 11 == 0 ? " " : Integer.toString(i % 90));
+      row.add("ssn", i % 13 == 0 ? null : "123-45-" + (1000 + i));
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  @Test
+  public void testVectorizedSameAsRowAtATime() throws Exception {
+    String[] recipe = new String[] {
+      "trim :name;",
+      "titlecase :name;",
+      "uppercase :city;",
+      "fill-null-or-empty :city 'UNKNOWN';",
+      "fill-null-or-empty :zip '00000';",
+      "set-type :age int;",
+      "mask-number :ssn 'xxx-xx-####';",
+      "lowercase :name;",
+      "set-column :next exp:{ age + 1 };"
+    };
+
+    List<Row> expected = new ArrayList<>();
+    RecipePipeline single = TestingRig.execute(recipe);
+    for (Row row : rows(2500)) {
+      expected.addAll(single.execute(Collections.singletonList(row)));
+    }
+
+    RecipePipeline batched = TestingRig.execute(recipe);
+    List<Row> actual = batched.execute(rows(2500));
+
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); ++i) {
+      Row row = expected.get(i);
+      Assert.assertEquals(row.getColumns(), actual.get(i).getColumns());
+      for (int j = 0; j < row.length(); ++j) {
+        Assert.assertEquals(row.getValue(j), actual.get(i).getValue(j));
+      }
+    }
+    Assert.assertEquals("name 1", actual.get(1).getValue("name"));
+    Assert.assertEquals("UNKNOWN", actual.get(5).getValue("city"));
+    Assert.assertEquals(2, actual.get(1).getValue("next"));
+  }
+
+  @Test
+  public void testRowsOfDifferentColumns() throws Exception {
+    List<Row> rows = Arrays.asList(
+      new Row("a", " x "),
+      new Row("a", " y ").add("b", 1)
+    );
+    Assert.assertNull(RowBatch.of(rows));
+
+    rows = TestingRig.execute(new String[] { "trim :a;", "fill-null-or-empty :b '0';" }, rows);
+    Assert.assertEquals("x", rows.get(0).getValue("a"));
+    Assert.assertEquals("0", rows.get(0).getValue("b"));
+    Assert.assertEquals("y", rows.get(1).getValue("a"));
+    Assert.assertEquals(1, rows.get(1).getValue("b"));
+  }
+
+  @Test
+  public void testNullBitmap() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 200; ++i) {
+      rows.add(new Row("a", i == 3 || i == 64 || i == 199 ? "v" : null));
+    }
+    RowBatch.Vector vector = RowBatch.of(rows).find("A");
+    Assert.assertEquals(String.class, vector.getType());
+    Assert.assertTrue(vector.isNull(0));
+    Assert.assertFalse(vector.isNull(64));
+    Assert.assertEquals(3, vector.nextNotNull(0));
+    Assert.assertEquals(64, vector.nextNotNull(4));
+    Assert.assertEquals(199, vector.nextNotNull(65));
+    Assert.assertEquals(200, vector.nextNotNull(200));
+
+    vector.set(100, 1);
+    Assert.assertNull(vector.getType());
+    Assert.assertEquals(100, vector.nextNotNull(65));
+    vector.set(3, null);
+    Assert.assertEquals(64, vector.nextNotNull(0));
+  }
+}
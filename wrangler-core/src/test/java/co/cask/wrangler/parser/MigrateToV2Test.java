@@ -16,10 +16,16 @@
 
 package co.cask.wrangler.parser;
 
+import co.cask.wrangler.TestingRig;
+import co.cask.wrangler.api.DirectiveParseException;
 import co.cask.wrangler.api.GrammarMigrator;
+import co.cask.wrangler.api.Row;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Tests {@link MigrateToV2}
  */
@@ -55,4 +61,62 @@ public class MigrateToV2Test {
     migrator.migrate();
     Assert.assertTrue(true); // no exception should be thrown.
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testMigratedAgainIsSame() throws Exception {
+    String[] recipe = new String[] {
+      "parse-as-csv body , true",
+      "// comment",
+      "drop body",
+      "rename :a :b;",
+      "set column c a + b"
+    };
+    String migrated = new MigrateToV2(recipe).migrate();
+    Assert.assertEquals("parse-as-csv :body ',' true;\ndrop :body;\nrename :a :b;\nset-column :c exp:{a + b};",
+                        migrated);
+    Assert.assertEquals(migrated, new MigrateToV2(recipe).migrate());
+
+    // Directives cached from the recipe above are reused in a different recipe.
+    String changed = new MigrateToV2(new String[] {
+      "drop body",
+      "uppercase name",
+      "set column c a + b"
+    }).migrate();
+    Assert.assertEquals("drop :body;\nuppercase :name;\nset-column :c exp:{a + b};", changed);
+
+    // Migrated recipe migrates to itself.
+    Assert.assertEquals(migrated, new MigrateToV2(migrated).migrate());
+  }
+
+  @Test
+  public void testFailedDirectiveIsNotCached() throws Exception {
+    new MigrateToV2("drop body").migrate();
+    for (int i = 0; i < 2; ++i) {
+      try {
+        new MigrateToV2("drop body\nrename body").migrate();
+        Assert.fail();
+      } catch (DirectiveParseException e) {
+        Assert.assertEquals("Missing field 'new' at line number 2 for directive <rename>.", e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testExtractRegexGroups() throws Exception {
+    String migrated = new MigrateToV2(new String[] {
+      "extract-regex-groups body ([a-z]+)",
+      "extract-regex-groups body ([a-z]+) true",
+      "extract-regex-groups body ([a-z]+) false",
+      // The text following a regex with a space is ignored, as it was in version 1.0.
+      "extract-regex-groups body ([a-z]+) ([0-9]+)"
+    }).migrate();
+    Assert.assertEquals("extract-regex-groups :body '([a-z]+)';\n" +
+                          "extract-regex-groups :body '([a-z]+)' true;\n" +
+                          "extract-regex-groups :body '([a-z]+)' false;\n" +
+                          "extract-regex-groups :body '([a-z]+)';", migrated);
+
+    String[] recipe = new String[] { "extract-regex-groups body ([a-z]+) ([0-9]+)" };
+    List<Row> rows = TestingRig.execute(recipe, Arrays.asList(new Row("body", "abc 123")));
+    Assert.assertEquals("abc", rows.get(0).getValue("body_1_1"));
+  }
+}
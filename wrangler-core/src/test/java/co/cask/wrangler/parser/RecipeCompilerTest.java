@@ -50,6 +50,34 @@ public class RecipeCompilerTest {
     }
   }
 
+  @Test
+  public void testCompiledRecipeIsCached() throws Exception {
+    String recipe = "parse-as-csv :body ',' true;\ndrop :body;\n";
+    CompileStatus first = compiler.compile(recipe);
+    CompileStatus second = compiler.compile(recipe);
+    Assert.assertTrue(first.isSuccess());
+    Assert.assertSame(first.getSymbols(), second.getSymbols());
+    Assert.assertNotSame(first.getSymbols(), compiler.compile(recipe + "drop :headers;").getSymbols());
+  }
+
+  @Test
+  public void testFailedRecipeIsNotCached() throws Exception {
+    String recipe = "#pragma load-directives test1,test2\n${directives}";
+    CompileStatus first = compiler.compile(recipe);
+    CompileStatus second = compiler.compile(recipe);
+    Assert.assertFalse(first.isSuccess());
+    Assert.assertFalse(second.isSuccess());
+    Assert.assertTrue(second.getErrors().hasNext());
+  }
+
+  @Test
+  public void testWarmupRecipe() throws Exception {
+    RecipeCompiler.warmup();
+    CompileStatus status = compiler.compile(RecipeCompiler.WARMUP_RECIPE);
+    Assert.assertTrue(status.isSuccess());
+    Assert.assertEquals(9, status.getSymbols().size());
+  }
+
   @Test
   public void testMacroSkippingDuringParsing() throws Exception {
     String[] recipe = new String[] {
@@ -0,0 +1,100 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.cdap.api.data.schema.Schema;
+import co.cask.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+/**
+ * Tests {@link CompiledRecordConvertor}
+ */
+public class CompiledRecordConvertorTest {
+  private static final Schema SCHEMA = Schema.recordOf(
+    "output",
+    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("age", Schema.nullableOf(Schema.of(Schema.Type.INT))),
+    Schema.Field.of("weight", Schema.of(Schema.Type.DOUBLE)),
+    Schema.Field.of("active", Schema.nullableOf(Schema.of(Schema.Type.BOOLEAN))),
+    Schema.Field.of("joined", Schema.nullableOf(Schema.of(Schema.LogicalType.DATE)))
+  );
+
+  @Test
+  public void testConversion() throws Exception {
+    CompiledRecordConvertor convertor = new CompiledRecordConvertor(SCHEMA);
+    LocalDate date = LocalDate.of(2017, 10, 1);
+
+    Row row = new Row("name", "joltie").add("age", "10").add("weight", 12.5).add("active", true).add("joined", date);
+    StructuredRecord record = convertor.convert(row);
+    Assert.assertEquals("joltie", record.get("name"));
+    Assert.assertEquals(10, record.<Integer>get("age").intValue());
+    Assert.assertEquals(12.5, record.<Double>get("weight"), 0.0001);
+    Assert.assertTrue(record.<Boolean>get("active"));
+    Assert.assertEquals(date, record.getDate("joined"));
+
+    // Same layout, values of the type of the field.
+    row = new Row(row).setValue(0, "root").setValue(1, 20).setValue(2, "1.5");
+    record = convertor.convert(row);
+    Assert.assertEquals("root", record.get("name"));
+    Assert.assertEquals(20, record.<Integer>get("age").intValue());
+    Assert.assertEquals(1.5, record.<Double>get("weight"), 0.0001);
+
+    // Different layout with missing and reordered columns.
+    row = new Row("weight", 2.0).add("NAME", "bunny");
+    record = convertor.convert(row);
+    Assert.assertEquals("bunny", record.get("name"));
+    Assert.assertNull(record.get("age"));
+    Assert.assertNull(record.get("active"));
+    Assert.assertEquals(2.0, record.<Double>get("weight"), 0.0001);
+  }
+
+  @Test
+  public void testSameAsRecordConvertor() throws Exception {
+    Row row = new Row("name", "joltie").add("age", "").add("weight", "8").add("active", "true").add("extra", 1);
+    StructuredRecord expected = new RecordConvertor().decodeRecord(row, SCHEMA);
+    StructuredRecord actual = new CompiledRecordConvertor(SCHEMA).convert(row);
+    for (Schema.Field field : SCHEMA.getFields()) {
+      Assert.assertEquals((Object) expected.get(field.getName()), actual.get(field.getName()));
+    }
+  }
+
+  @Test
+  public void testRecordCopied() throws Exception {
+    Schema input = Schema.recordOf("input",
+                                   Schema.Field.of("name", Schema.of(Schema.Type.STRING)),
+                                   Schema.Field.of("weight", Schema.of(Schema.Type.STRING)));
+    StructuredRecord cell = StructuredRecord.builder(input).set("name", "joltie").set("weight", "3.5").build();
+    StructuredRecord record = new CompiledRecordConvertor(SCHEMA).convert(new Row("input", cell));
+    Assert.assertEquals(SCHEMA, record.getSchema());
+    Assert.assertEquals("joltie", record.get("name"));
+    Assert.assertEquals(3.5, record.<Double>get("weight"), 0.0001);
+  }
+
+  @Test(expected = RecordConvertorException.class)
+  public void testMissingNonNullableField() throws Exception {
+    new CompiledRecordConvertor(SCHEMA).convert(new Row("name", "joltie"));
+  }
+
+  @Test(expected = RecordConvertorException.class)
+  public void testInvalidValue() throws Exception {
+    new CompiledRecordConvertor(SCHEMA).convert(new Row("weight", "heavy"));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.cdap.api.data.schema.Schema;
+import co.cask.wrangler.api.Row;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Tests {@link RecordRowAdapter}
+ */
+public class RecordRowAdapterTest {
+
+  @Test
+  public void testToRow() throws Exception {
+    Schema schema = Schema.recordOf(
+      "input",
+      Schema.Field.of("name", Schema.of(Schema.Type.STRING)),
+      Schema.Field.of("age", Schema.nullableOf(Schema.of(Schema.Type.INT))),
+      Schema.Field.of("born", Schema.nullableOf(Schema.of(Schema.LogicalType.DATE))),
+      Schema.Field.of("seen", Schema.of(Schema.LogicalType.TIMESTAMP_MILLIS))
+    );
+    LocalDate born = LocalDate.of(2000, 1, 2);
+    ZonedDateTime seen = ZonedDateTime.of(2017, 10, 1, 10, 20, 30, 0, ZoneId.of("UTC"));
+
+    RecordRowAdapter adapter = new RecordRowAdapter();
+    StructuredRecord first = StructuredRecord.builder(schema)
+      .set("name", "joltie").set("age", 10).setDate("born", born).setTimestamp("seen", seen).build();
+    StructuredRecord second = StructuredRecord.builder(schema)
+      .set("name", "root").setTimestamp("seen", seen).build();
+
+    Row row1 = adapter.toRow(first);
+    Row row2 = adapter.toRow(second);
+    Assert.assertEquals(4, row1.length());
+    Assert.assertEquals("name", row1.getColumn(0));
+    Assert.assertEquals("joltie", row1.getValue("name"));
+    Assert.assertEquals(10, row1.getValue("age"));
+    Assert.assertEquals(born, row1.getValue("born"));
+    Assert.assertEquals(seen, row1.getValue("seen"));
+
+    Assert.assertEquals("root", row2.getValue("name"));
+    Assert.assertNull(row2.getValue("age"));
+    Assert.assertNull(row2.getValue("born"));
+
+    // Rows created from the same schema are independent.
+    row2.add("extra", 1);
+    row2.setValue(0, "bunny");
+    Assert.assertEquals(4, row1.length());
+    Assert.assertEquals("joltie", row1.getValue("name"));
+
+    // A different schema gets its own columns.
+    Schema other = Schema.recordOf("other", Schema.Field.of("id", Schema.of(Schema.Type.LONG)));
+    Row row3 = adapter.toRow(StructuredRecord.builder(other).set("id", 5L).build());
+    Assert.assertEquals(1, row3.length());
+    Assert.assertEquals(5L, row3.getValue("id"));
+
+    Assert.assertEquals(born, RecordRowAdapter.getValue(first, "born"));
+    Assert.assertEquals("joltie", RecordRowAdapter.getValue(first, "name"));
+  }
+}
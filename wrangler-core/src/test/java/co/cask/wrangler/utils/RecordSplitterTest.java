@@ -0,0 +1,120 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests {@link RecordSplitter}.
+ */
+public class RecordSplitterTest {
+  private static final String[] TEXTS = new String[] {
+    "", "a", "a,b,c", ",a,,b,,", ",,,", "a\nb\r\nc\n\n", "a::b:::c::", "\u001Aa\u001Ab\u001A",
+    "one, two,three ,  four", "a|b||c", "ab", "aaa", "a\n;bx"
+  };
+  private static final String[] DELIMITERS = new String[] {
+    ",", "\n", "\r?\n", "::", "\u001A", ",\\s*", "\\s*,\\s*", "\\|", "", "a", "aa", "[,|]+", "a?", "x*",
+    "\\b", "(?=a)", ",*?"
+  };
+  // Delimiters of the randomized texts, including delimiters matching the empty string.
+  private static final String[] RANDOM_DELIMITERS = new String[] {
+    "a?", "x*", "a*", ",", "a|", "[ax]*", "(?=b)", "(?<=a)", "\\b", ";?\n?", "ab?", ""
+  };
+
+  @Test
+  public void testSameAsSplit() throws Exception {
+    for (String text : TEXTS) {
+      for (String delimiter : DELIMITERS) {
+        List<String> expected = Arrays.asList(text.split(delimiter));
+        String message = String.format("'%s' split by '%s'", text, delimiter);
+        Assert.assertEquals(message, expected, Lists.newArrayList(new RecordSplitter(text, delimiter)));
+        Assert.assertEquals(message, expected,
+                            Lists.newArrayList(new RecordSplitter(new TrickleReader(text), delimiter)));
+      }
+    }
+  }
+
+  @Test
+  public void testRandomSameAsSplit() throws Exception {
+    Random random = new Random(0);
+    String alphabet = "aabx;\n,";
+    for (int trial = 0; trial < 20000; ++trial) {
+      char[] chars = new char[random.nextInt(8)];
+      for (int i = 0; i < chars.length; ++i) {
+        chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+      }
+      String text = new String(chars);
+      String delimiter = RANDOM_DELIMITERS[random.nextInt(RANDOM_DELIMITERS.length)];
+      List<String> expected = Arrays.asList(text.split(delimiter));
+      String message = String.format("'%s' split by '%s'", text, delimiter);
+      Assert.assertEquals(message, expected, Lists.newArrayList(new RecordSplitter(text, delimiter)));
+      Assert.assertEquals(message, expected,
+                          Lists.newArrayList(new RecordSplitter(new TrickleReader(text), delimiter)));
+    }
+  }
+
+  @Test
+  public void testLargeText() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100000; ++i) {
+      builder.append("record ").append(i).append(i % 10 == 0 ? "\r\n" : "\n");
+    }
+    String text = builder.toString();
+    for (String delimiter : new String[] {"\n", "\r?\n"}) {
+      List<String> records = Lists.newArrayList(new RecordSplitter(new StringReader(text), delimiter));
+      Assert.assertEquals(Arrays.asList(text.split(delimiter)), records);
+    }
+    List<String> records = Lists.newArrayList(new RecordSplitter(new StringReader(text), "no such delimiter"));
+    Assert.assertEquals(Arrays.asList(text), records);
+  }
+
+  /**
+   * Reader returning at most two characters at a time.
+   */
+  private static final class TrickleReader extends Reader {
+    private final String text;
+    private int position;
+
+    TrickleReader(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public int read(char[] chars, int off, int len) {
+      if (position == text.length()) {
+        return -1;
+      }
+      int count = Math.min(Math.min(len, 2), text.length() - position);
+      text.getChars(position, position + count, chars, off);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public void close() {
+      // no-op
+    }
+  }
+}
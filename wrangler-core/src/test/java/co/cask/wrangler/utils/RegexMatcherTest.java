@@ -0,0 +1,97 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests {@link RegexMatcher}.
+ */
+public class RegexMatcherTest {
+  private static final String[] REGEXES = new String[] {
+    "", "abc", "a.c", "abc.*", "ab?c", "ab*c", "ab+c", "ab{2}c", "ab|cd", "^ab", "(?i)abc", "abc(?i)def",
+    "a(b)c", "(a)(b)?", "root@", ".*@joltie.io", "\\d+", "a\\.b", "x(?<=x)y", "[ab]c"
+  };
+  private static final String[] VALUES = new String[] {
+    "", "a", "abc", "ABC", "abcdef", "abcDEF", "ac", "abbc", "xabcx", "abab", "cdab", "a.b", "axb", "123",
+    "root@joltie.io", "xy", "bc", "ab"
+  };
+
+  @Test
+  public void testSameAsPattern() throws Exception {
+    for (boolean bounded : new boolean[] {false, true}) {
+      for (String regex : REGEXES) {
+        Pattern pattern = Pattern.compile(regex);
+        RegexMatcher matcher = new RegexMatcher(regex, bounded);
+        for (String value : VALUES) {
+          String message = String.format("'%s' matched by '%s'", value, regex);
+          Assert.assertEquals(message, pattern.matcher(value).matches(), matcher.matches(value));
+          Assert.assertEquals(message, pattern.matcher(value).matches(), matcher.matches(new StringBuilder(value)));
+          Assert.assertEquals(message, groups(pattern.matcher(value)), groups(matcher.find(value)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBounded() throws Exception {
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 80; ++i) {
+      value.append('a');
+    }
+    value.append('!');
+    RegexMatcher matcher = new RegexMatcher("(.*a){6}b", true);
+    try {
+      matcher.matches(value);
+      Assert.fail();
+    } catch (RegexMatcher.LimitExceededException e) {
+      // expected
+    }
+    try {
+      Matcher m = matcher.find(value);
+      while (m.find()) {
+        // no-op
+      }
+      Assert.fail();
+    } catch (RegexMatcher.LimitExceededException e) {
+      // expected
+    }
+
+    // Matcher is reusable after a value exceeded the limit.
+    Assert.assertTrue(matcher.matches("aaaaaab"));
+    Assert.assertFalse(matcher.matches("aaa"));
+  }
+
+  private static List<String> groups(Matcher matcher) {
+    List<String> groups = new ArrayList<>();
+    if (matcher == null) {
+      return groups;
+    }
+    while (matcher.find()) {
+      for (int i = 0; i <= matcher.groupCount(); ++i) {
+        groups.add(matcher.start(i) + ":" + matcher.group(i));
+      }
+    }
+    return groups;
+  }
+}
@@ -64,4 +64,12 @@ public final class PropertyIds {
   public static final String VALUE_DESERIALIZER = "value.deserializer";
 
   public static final String PLUGIN_SPECIFICATION = "plugin.specification";
+
+  // Statistics of the data of the workspace: its size, compressed size, compression ratio,
+  // number of chunks and the latency of its last read in milliseconds.
+  public static final String DATA_SIZE = "data.size";
+  public static final String DATA_COMPRESSED_SIZE = "data.compressed.size";
+  public static final String DATA_COMPRESSION_RATIO = "data.compression.ratio";
+  public static final String DATA_CHUNKS = "data.chunks";
+  public static final String DATA_READ_LATENCY = "data.read.latency.ms";
 }
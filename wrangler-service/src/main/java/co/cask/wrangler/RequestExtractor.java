@@ -22,6 +22,9 @@ import co.cask.wrangler.service.directive.RequestDeserializer;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
@@ -74,6 +77,48 @@ public final class RequestExtractor {
     return null;
   }
 
+  /**
+   * @return true if the request has content.
+   */
+  public boolean hasContent() {
+    ByteBuffer content = request.getContent();
+    return content != null && content.hasRemaining();
+  }
+
+  /**
+   * Returns a reader of the content decoding it from the provided charset as it's read, so the
+   * content is neither copied nor decoded at once.
+   *
+   * @param charset of the content.
+   * @return reader of the content, else null.
+   */
+  public Reader getContentReader(String charset) {
+    final ByteBuffer content = request.getContent();
+    if (content == null || !content.hasRemaining()) {
+      return null;
+    }
+    InputStream in = new InputStream() {
+      @Override
+      public int read() {
+        return content.hasRemaining() ? content.get() & 0xff : -1;
+      }
+
+      @Override
+      public int read(byte[] bytes, int off, int len) {
+        if (len == 0) {
+          return 0;
+        }
+        if (!content.hasRemaining()) {
+          return -1;
+        }
+        len = Math.min(len, content.remaining());
+        content.get(bytes, off, len);
+        return len;
+      }
+    };
+    return new InputStreamReader(in, Charset.forName(charset));
+  }
+
   /**
    * Returns the content by converting it to UNICODE from the provided charset.
    *
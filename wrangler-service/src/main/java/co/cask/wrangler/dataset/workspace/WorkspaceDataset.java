@@ -31,21 +31,44 @@ import co.cask.cdap.internal.io.SchemaTypeAdapter;
 import co.cask.wrangler.api.DirectiveConfig;
 import co.cask.wrangler.api.Pair;
 import co.cask.wrangler.api.Row;
-import co.cask.wrangler.utils.ObjectSerDe;
+import co.cask.wrangler.PropertyIds;
 import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
+ * This class {@link WorkspaceDataset} stores the workspaces, a row per workspace keyed by its id.
  *
+ * <p>Workspaces are indexed by scope, with an index row per workspace keyed by the scope and the id
+ * of the workspace and holding its name. Workspaces of a scope are listed by scanning their index
+ * rows only, without reading the rows of the workspaces and the data they hold. Tables created before
+ * the index was introduced are indexed once with {@link #indexScopes()}, when the service starts.</p>
+ *
+ * <p>Payloads written with {@link #writeToWorkspace(String, byte[], DataType, byte[])} are split into
+ * LZ4 compressed chunks of {@link #CHUNK_SIZE} bytes, each in a row of its own, and the workspace row
+ * holds a manifest of the chunks. Payloads are read chunk by chunk, so a payload is never held in a
+ * single cell, and a stream opened with {@link #getDataStream(String, byte[])} only fetches the chunks
+ * read from it. Payloads written before chunking was introduced, or with
+ * {@link #updateWorkspace(String, byte[], byte[])}, are read from the workspace row as they were.</p>
  */
 public class WorkspaceDataset extends AbstractDataset {
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceDataset.class);
@@ -64,6 +87,22 @@ public class WorkspaceDataset extends AbstractDataset {
   public static final byte[] PROPERTIES_COL = Bytes.toBytes("properties");
   public static final byte[] REQUEST_COL    = Bytes.toBytes("request");
 
+  // Prefix of the keys of the scope index rows, and the version of the index recorded in the config row.
+  private static final byte[] SCOPE_INDEX_PREFIX  = Bytes.toBytes("__scope__\0");
+  private static final byte[] SCOPE_INDEX_COL     = Bytes.toBytes("__scope_index__");
+  private static final int SCOPE_INDEX_VERSION    = 1;
+
+  // Size of the chunks payloads are split into, before compression.
+  public static final int CHUNK_SIZE = 1024 * 1024;
+
+  // Prefix of the keys of the chunk rows, suffix of the manifest column of a payload and column of a chunk.
+  private static final byte[] CHUNK_PREFIX    = Bytes.toBytes("__chunk__\0");
+  private static final byte[] MANIFEST_SUFFIX = Bytes.toBytes(".manifest");
+  private static final byte[] CHUNK_COL       = Bytes.toBytes("c");
+
+  // Latency of the last read of the data of the workspaces, as seen by this process.
+  private static final Cache<String, Long> READ_LATENCIES = CacheBuilder.newBuilder().maximumSize(1000).build();
+
   public WorkspaceDataset(DatasetSpecification specification,
                           @EmbeddedDataset("workspace") Table table){
     super(specification.getName(), table);
@@ -78,7 +117,7 @@ public class WorkspaceDataset extends AbstractDataset {
    * @param name of the workspace to display.
    * @throws WorkspaceException thrown when there is issue creating workspace.
    */
-  @WriteOnly
+  @ReadWrite
   public void createWorkspaceMeta(String id, String name) throws WorkspaceException {
     createWorkspaceMeta(id, DEFAULT_SCOPE, name, DataType.BINARY);
   }
@@ -90,7 +129,7 @@ public class WorkspaceDataset extends AbstractDataset {
    * @param name of the workspace to display.
    * @throws WorkspaceException thrown when there is issue creating workspace.
    */
-  @WriteOnly
+  @ReadWrite
   public void createWorkspaceMeta(String id, String scope, String name) throws WorkspaceException {
     createWorkspaceMeta(id, scope, name, DataType.BINARY);
   }
@@ -103,7 +142,7 @@ public class WorkspaceDataset extends AbstractDataset {
    * @param type of data in workspace.
    * @throws WorkspaceException thrown when issue creating workspace meta entry.
    */
-  @WriteOnly
+  @ReadWrite
   public void createWorkspaceMeta(String id, String scope, String name,  DataType type) throws WorkspaceException {
     createWorkspaceMeta(id, scope, name, type, new HashMap<>());
   }
@@ -117,7 +156,7 @@ public class WorkspaceDataset extends AbstractDataset {
    * @param properties associated with workspace.
    * @throws WorkspaceException thrown when issue creating workspace meta entry.
    */
-  @WriteOnly
+  @ReadWrite
   public void createWorkspaceMeta(String id, String scope, String name, DataType type,
                      Map<String, String> properties) throws WorkspaceException {
     if (id == null || id.isEmpty()) {
@@ -137,7 +176,13 @@ public class WorkspaceDataset extends AbstractDataset {
     };
 
     try {
-      table.put(toKey(id), columns, data);
+      byte[] key = toKey(id);
+      byte[] previous = table.get(key, SCOPE_COL);
+      if (previous != null) {
+        table.delete(toIndexKey(Bytes.toString(previous), id));
+      }
+      table.put(key, columns, data);
+      table.put(toIndexKey(scope, id), NAME_COL, Bytes.toBytes(name));
     } catch (DataSetException e) {
       throw new WorkspaceException(
         String.format("Unable to create workspace '%s'", e.getMessage())
@@ -187,35 +232,56 @@ public class WorkspaceDataset extends AbstractDataset {
   @ReadOnly
   public List<Pair<String, String>> getWorkspaces(String scope) throws WorkspaceException {
     List<Pair<String, String>> values = new ArrayList<>();
-    co.cask.cdap.api.dataset.table.Row row;
-    try (Scanner scanner = table.scan(null, null)) {
-      while((row = scanner.next()) != null) {
-        byte[] key = row.getRow();
-        String id = Bytes.toString(key);
-        if (excludedKey(id)) {
-          continue;
-        }
-        byte[] scopeBytes = row.get(SCOPE_COL);
-        String scopeStr = Bytes.toString(scopeBytes);
-        if (!scopeStr.equalsIgnoreCase(scope)) {
-          continue;
+    try {
+      byte[] prefix = toIndexKey(scope, "");
+      co.cask.cdap.api.dataset.table.Row row;
+      try (Scanner scanner = table.scan(prefix, Bytes.stopKeyForPrefix(prefix))) {
+        while((row = scanner.next()) != null) {
+          String id = Bytes.toString(row.getRow(), prefix.length, row.getRow().length - prefix.length);
+          values.add(new Pair<>(id, Bytes.toString(row.get(NAME_COL))));
         }
-        byte[] name = row.get(NAME_COL);
-        values.add(new Pair<>(id, Bytes.toString(name)));
       }
     } catch (DataSetException e) {
       throw new WorkspaceException(
-        String.format("Unable to list workspace. ", e.getMessage())
+        String.format("Unable to list workspace. %s", e.getMessage())
       );
     }
     return values;
   }
 
-  private boolean excludedKey(String id) {
-    if (id.equalsIgnoreCase(Bytes.toString(CONFIG_KEY))) {
-      return true;
+  /**
+   * Builds the scope index of the workspaces, if not already built. The index is built scanning
+   * all the workspaces once, for the tables written before the index was introduced.
+   *
+   * @return number of workspaces indexed, 0 if the index was already built.
+   */
+  @ReadWrite
+  public int indexScopes() {
+    byte[] version = table.get(CONFIG_KEY, SCOPE_INDEX_COL);
+    if (version != null && Bytes.toInt(version) >= SCOPE_INDEX_VERSION) {
+      return 0;
+    }
+
+    int count = 0;
+    co.cask.cdap.api.dataset.table.Row row;
+    try (Scanner scanner = table.scan(null, null)) {
+      while((row = scanner.next()) != null) {
+        byte[] key = row.getRow();
+        if (Bytes.equals(key, CONFIG_KEY) || Bytes.startsWith(key, SCOPE_INDEX_PREFIX)) {
+          continue;
+        }
+        byte[] scope = row.get(SCOPE_COL);
+        byte[] name = row.get(NAME_COL);
+        if (scope == null || name == null) {
+          continue;
+        }
+        table.put(toIndexKey(Bytes.toString(scope), Bytes.toString(key)), NAME_COL, name);
+        count = count + 1;
+      }
     }
-    return false;
+    table.put(CONFIG_KEY, SCOPE_INDEX_COL, Bytes.toBytes(SCOPE_INDEX_VERSION));
+    LOG.info("Indexed {} workspace(s) by scope.", count);
+    return count;
   }
 
   /**
@@ -224,10 +290,23 @@ public class WorkspaceDataset extends AbstractDataset {
    * @param id to be deleted.
    * @throws WorkspaceException thrown if there is issue deleting workspace.
    */
-  @WriteOnly
+  @ReadWrite
   public void deleteWorkspace(String id) throws WorkspaceException {
     try {
-      table.delete(toKey(id));
+      byte[] key = toKey(id);
+      byte[] scope = table.get(key, SCOPE_COL);
+      if (scope != null) {
+        table.delete(toIndexKey(Bytes.toString(scope), id));
+      }
+      table.delete(key);
+
+      byte[] prefix = Bytes.add(CHUNK_PREFIX, key, new byte[] { 0 });
+      co.cask.cdap.api.dataset.table.Row row;
+      try (Scanner scanner = table.scan(prefix, Bytes.stopKeyForPrefix(prefix))) {
+        while((row = scanner.next()) != null) {
+          table.delete(row.getRow());
+        }
+      }
     } catch (DataSetException e){
       throw new WorkspaceException(
         String.format("Failed to delete workspace '%s'. %s", id, e.getMessage())
@@ -236,53 +315,57 @@ public class WorkspaceDataset extends AbstractDataset {
   }
 
   /**
-   * Deletes a group of workspaces.
+   * Deletes a group of workspaces, which are the workspaces of a scope.
    *
    * @param group to be deleted.
    * @return number of workspaces deleted within a group.
    * @throws WorkspaceException thrown if there are issues with deleting workspace within group.
    */
-  @WriteOnly
+  @ReadWrite
   public int deleteGroup(String group) throws WorkspaceException {
     int count = 0;
-    co.cask.cdap.api.dataset.table.Row row;
-    try (Scanner scanner = table.scan(null, null)) {
-      while((row = scanner.next()) != null) {
-        byte[] key = row.getRow();
-        String id = Bytes.toString(key);
-        if (excludedKey(id)) {
-          continue;
-        }
-        byte[] groupBytes = row.get(SCOPE_COL);
-        String groupStr = Bytes.toString(groupBytes);
-        if (!groupStr.equalsIgnoreCase(group)) {
-          deleteWorkspace(id);
-          count = count + 1;
-        }
-      }
-    } catch (DataSetException e) {
-      throw new WorkspaceException(
-        String.format("Unable to delete workspace. ", e.getMessage())
-      );
+    for (Pair<String, String> workspace : getWorkspaces(group)) {
+      deleteWorkspace(workspace.getFirst());
+      count = count + 1;
     }
     return count;
   }
 
-  @WriteOnly
+  /**
+   * Writes a payload into the workspace, split into compressed chunks.
+   *
+   * @param id of the workspace.
+   * @param key the payload is written to.
+   * @param type of the data in the payload.
+   * @param data of the payload.
+   * @throws WorkspaceException thrown when there is issue writing the payload.
+   */
+  @ReadWrite
   public void writeToWorkspace(String id, byte[] key, DataType type, byte[] data)
     throws WorkspaceException {
-    byte[][] columns = new byte[][] {
-      UPDATED_COL, TYPE_COL, key
-    };
-
-    byte[][] bytes = new byte[][] {
-      Bytes.toBytes(System.currentTimeMillis() / 1000),
-      Bytes.toBytes(type.getType()),
-      data
-    };
-
     try {
-      table.put(toKey(id), columns, bytes);
+      byte[] row = toKey(id);
+      Manifest previous = Manifest.fromBytes(table.get(row, manifestColumn(key)));
+
+      LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+      int chunks = (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+      long compressed = 0;
+      for (int i = 0; i < chunks; ++i) {
+        int offset = i * CHUNK_SIZE;
+        byte[] chunk = compressor.compress(data, offset, Math.min(CHUNK_SIZE, data.length - offset));
+        table.put(toChunkKey(row, key, i), CHUNK_COL, chunk);
+        compressed += chunk.length;
+      }
+      deleteChunks(row, key, previous, chunks);
+
+      Manifest manifest = new Manifest(data.length, compressed, chunks, CHUNK_SIZE);
+      table.put(row, new byte[][] { UPDATED_COL, TYPE_COL, manifestColumn(key) }, new byte[][] {
+        Bytes.toBytes(System.currentTimeMillis() / 1000),
+        Bytes.toBytes(type.getType()),
+        manifest.toBytes()
+      });
+      // Drops the payload written in a single cell, prior to chunking.
+      table.delete(row, key);
     } catch (DataSetException e) {
       throw new WorkspaceException(
         String.format("Unable to create workspace '%s'",
@@ -291,7 +374,7 @@ public class WorkspaceDataset extends AbstractDataset {
     }
   }
 
-  @WriteOnly
+  @ReadWrite
   public void updateWorkspace(String id, byte[] key, byte[] data)
     throws WorkspaceException {
     byte[][] columns = new byte[][] {
@@ -304,7 +387,14 @@ public class WorkspaceDataset extends AbstractDataset {
     };
 
     try {
-      table.put(toKey(id), columns, bytes);
+      byte[] row = toKey(id);
+      table.put(row, columns, bytes);
+      // A chunked payload previously written is superseded by the single cell.
+      Manifest previous = Manifest.fromBytes(table.get(row, manifestColumn(key)));
+      if (previous != null) {
+        deleteChunks(row, key, previous, 0);
+        table.delete(row, manifestColumn(key));
+      }
     } catch (DataSetException e) {
       throw new WorkspaceException(
         String.format("Unable to create workspace '%s'",
@@ -313,17 +403,34 @@ public class WorkspaceDataset extends AbstractDataset {
     }
   }
 
-  @WriteOnly
+  @ReadWrite
   public void updateWorkspace(String id, byte[] key, String data) throws WorkspaceException {
     updateWorkspace(id, key, data.getBytes(Charsets.UTF_8));
   }
 
-  @WriteOnly
+  @ReadWrite
   public void writeProperties(String id, Map<String, String> properties) throws WorkspaceException {
     byte[] bytes = toJsonBytes(properties);
     updateWorkspace(id, PROPERTIES_COL, bytes);
   }
 
+  /**
+   * Deletes the chunks of a payload from the given chunk on.
+   *
+   * @param row of the workspace.
+   * @param key of the payload.
+   * @param manifest of the payload, null if the payload is not chunked.
+   * @param from first chunk to be deleted.
+   */
+  private void deleteChunks(byte[] row, byte[] key, @Nullable Manifest manifest, int from) {
+    if (manifest == null) {
+      return;
+    }
+    for (int i = from; i < manifest.chunks; ++i) {
+      table.delete(toChunkKey(row, key, i));
+    }
+  }
+
   @WriteOnly
   public void updateConfig(DirectiveConfig config) {
     byte[] bytes = Bytes.toBytes(gson.toJson(config));
@@ -351,10 +458,36 @@ public class WorkspaceDataset extends AbstractDataset {
     return Bytes.toString(bytes);
   }
 
+  /**
+   * Returns the properties of the workspace, along with the statistics of its data: the size of the
+   * data, its size once compressed, the compression ratio, the number of chunks and the latency of
+   * the last read of the data.
+   *
+   * @param id of the workspace.
+   * @return properties of the workspace.
+   */
   @ReadOnly
   public Map<String, String> getProperties(String id) throws WorkspaceException {
-    byte[] bytes = table.get(toKey(id), PROPERTIES_COL);
-    return fromJsonBytes(bytes);
+    co.cask.cdap.api.dataset.table.Row row =
+      table.get(toKey(id), new byte[][] { PROPERTIES_COL, manifestColumn(DATA_COL) });
+    Map<String, String> properties = fromJsonBytes(row.get(PROPERTIES_COL));
+    Manifest manifest = Manifest.fromBytes(row.get(manifestColumn(DATA_COL)));
+    if (manifest == null) {
+      return properties;
+    }
+    if (properties == null) {
+      properties = new HashMap<>();
+    }
+    properties.put(PropertyIds.DATA_SIZE, String.valueOf(manifest.size));
+    properties.put(PropertyIds.DATA_COMPRESSED_SIZE, String.valueOf(manifest.compressed));
+    properties.put(PropertyIds.DATA_COMPRESSION_RATIO,
+                   String.format("%.2f", manifest.compressed == 0 ? 1.0 : (double) manifest.size / manifest.compressed));
+    properties.put(PropertyIds.DATA_CHUNKS, String.valueOf(manifest.chunks));
+    Long latency = READ_LATENCIES.getIfPresent(id);
+    if (latency != null) {
+      properties.put(PropertyIds.DATA_READ_LATENCY, String.valueOf(latency));
+    }
+    return properties;
   }
 
   /**
@@ -366,25 +499,63 @@ public class WorkspaceDataset extends AbstractDataset {
    */
   @ReadOnly
   public byte[] getData(String id, byte[] key) throws WorkspaceException {
-    byte[] bytes = table.get(toKey(id), key);
+    long start = System.currentTimeMillis();
+    byte[] row = toKey(id);
+    co.cask.cdap.api.dataset.table.Row values = table.get(row, new byte[][] { key, manifestColumn(key) });
+    Manifest manifest = Manifest.fromBytes(values.get(manifestColumn(key)));
+    if (manifest == null) {
+      return values.get(key);
+    }
+
+    byte[] bytes = new byte[(int) manifest.size];
+    try (InputStream in = new ChunkInputStream(row, key, manifest)) {
+      ByteStreams.readFully(in, bytes);
+    } catch (IOException e) {
+      throw new WorkspaceException(
+        String.format("Unable to read data of workspace '%s'. %s", id, e.getMessage())
+      );
+    }
+    recordReadLatency(id, key, start);
     return bytes;
   }
 
+  /**
+   * Opens a stream over the data of the workspace provided the key. The data is read chunk by chunk
+   * as the stream is read, hence the stream is to be read within the transaction it's opened in.
+   *
+   * @param id id of the workspace.
+   * @param key the key to be retrieved.
+   * @return stream of the data if the key is found, null otherwise.
+   */
   @ReadOnly
-  public <T> T getData(String id, byte[] key, DataType type) throws WorkspaceException {
-    byte[] bytes = table.get(toKey(id), key);
-    if(bytes == null) {
-      return null;
+  public InputStream getDataStream(String id, byte[] key) {
+    byte[] row = toKey(id);
+    co.cask.cdap.api.dataset.table.Row values = table.get(row, new byte[][] { key, manifestColumn(key) });
+    Manifest manifest = Manifest.fromBytes(values.get(manifestColumn(key)));
+    if (manifest != null) {
+      return new ChunkInputStream(row, key, manifest);
     }
+    byte[] bytes = values.get(key);
+    return bytes == null ? null : new ByteArrayInputStream(bytes);
+  }
+
+  @ReadOnly
+  public <T> T getData(String id, byte[] key, DataType type) throws WorkspaceException {
     if (type == DataType.BINARY){
-      return (T) bytes;
+      return (T) getData(id, key);
     } else if (type == DataType.TEXT) {
-      String value = Bytes.toString(bytes);
-      return (T) value;
+      byte[] bytes = getData(id, key);
+      return bytes == null ? null : (T) Bytes.toString(bytes);
     } else if (type == DataType.RECORDS){
-      ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
-      try {
-        List<Row> rows = serDe.toObject(bytes);
+      // Records are deserialized as the chunks are read, without assembling the payload.
+      long start = System.currentTimeMillis();
+      InputStream in = getDataStream(id, key);
+      if (in == null) {
+        return null;
+      }
+      try (ObjectInputStream objects = new ObjectInputStream(new BufferedInputStream(in))) {
+        List<Row> rows = (List<Row>) objects.readObject();
+        recordReadLatency(id, key, start);
         return (T) rows;
       } catch (IOException | ClassNotFoundException e) {
         throw new WorkspaceException(e.getMessage());
@@ -394,6 +565,12 @@ public class WorkspaceDataset extends AbstractDataset {
     }
   }
 
+  private void recordReadLatency(String id, byte[] key, long start) {
+    if (Bytes.equals(key, DATA_COL)) {
+      READ_LATENCIES.put(id, System.currentTimeMillis() - start);
+    }
+  }
+
   /**
    * Returns the type of content stored within the workspace.
    *
@@ -415,6 +592,21 @@ public class WorkspaceDataset extends AbstractDataset {
     return Bytes.toBytes(value);
   }
 
+  /**
+   * Returns the key of the index row of a workspace within a scope. Scopes are matched ignoring case.
+   */
+  private byte[] toIndexKey(String scope, String id) {
+    return Bytes.add(SCOPE_INDEX_PREFIX, Bytes.toBytes(scope.toLowerCase() + "\0"), Bytes.toBytes(id));
+  }
+
+  private static byte[] manifestColumn(byte[] key) {
+    return Bytes.add(key, MANIFEST_SUFFIX);
+  }
+
+  private static byte[] toChunkKey(byte[] row, byte[] key, int chunk) {
+    return Bytes.concat(CHUNK_PREFIX, row, new byte[] { 0 }, key, new byte[] { 0 }, Bytes.toBytes(chunk));
+  }
+
   private byte[] toJsonBytes(Map<String, String> properties) {
     String value = gson.toJson(properties);
     return Bytes.toBytes(value);
@@ -425,4 +617,109 @@ public class WorkspaceDataset extends AbstractDataset {
     return gson.fromJson(value, Map.class);
   }
 
+  /**
+   * Manifest of a payload split into chunks.
+   */
+  private static final class Manifest {
+    private final long size;
+    private final long compressed;
+    private final int chunks;
+    private final int chunkSize;
+
+    Manifest(long size, long compressed, int chunks, int chunkSize) {
+      this.size = size;
+      this.compressed = compressed;
+      this.chunks = chunks;
+      this.chunkSize = chunkSize;
+    }
+
+    byte[] toBytes() {
+      return Bytes.concat(Bytes.toBytes(size), Bytes.toBytes(compressed), Bytes.toBytes(chunks),
+                          Bytes.toBytes(chunkSize));
+    }
+
+    /**
+     * @return manifest, null if there is no manifest.
+     */
+    static Manifest fromBytes(byte[] bytes) {
+      if (bytes == null || bytes.length == 0) {
+        return null;
+      }
+      return new Manifest(Bytes.toLong(bytes, 0), Bytes.toLong(bytes, 8), Bytes.toInt(bytes, 16),
+                          Bytes.toInt(bytes, 20));
+    }
+  }
+
+  /**
+   * Stream over a chunked payload, reading and decompressing a chunk at a time.
+   */
+  private final class ChunkInputStream extends InputStream {
+    private final byte[] row;
+    private final byte[] key;
+    private final Manifest manifest;
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+    private byte[] buffer = new byte[0];
+    private int position;
+    private int limit;
+    private int next;
+
+    ChunkInputStream(byte[] row, byte[] key, Manifest manifest) {
+      this.row = row;
+      this.key = key;
+      this.manifest = manifest;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!fill()) {
+        return -1;
+      }
+      return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+      int read = Math.min(length, limit - position);
+      System.arraycopy(buffer, position, bytes, offset, read);
+      position += read;
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return limit - position;
+    }
+
+    /**
+     * Reads the next chunk once the current one is consumed.
+     *
+     * @return false if all the chunks have been read.
+     */
+    private boolean fill() throws IOException {
+      if (position < limit) {
+        return true;
+      }
+      if (next >= manifest.chunks) {
+        return false;
+      }
+      byte[] chunk = table.get(toChunkKey(row, key, next), CHUNK_COL);
+      if (chunk == null) {
+        throw new IOException(String.format("Chunk %d of '%s' is missing.", next, Bytes.toString(key)));
+      }
+      limit = (int) Math.min(manifest.chunkSize, manifest.size - (long) next * manifest.chunkSize);
+      if (buffer.length < limit) {
+        buffer = new byte[limit];
+      }
+      decompressor.decompress(chunk, 0, buffer, 0, limit);
+      position = 0;
+      next++;
+      return true;
+    }
+  }
 }
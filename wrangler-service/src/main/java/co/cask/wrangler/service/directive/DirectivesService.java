@@ -16,9 +16,13 @@
 
 package co.cask.wrangler.service.directive;
 
+import co.cask.cdap.api.TxRunnable;
+import co.cask.cdap.api.annotation.TransactionControl;
+import co.cask.cdap.api.annotation.TransactionPolicy;
 import co.cask.cdap.api.annotation.UseDataSet;
 import co.cask.cdap.api.artifact.ArtifactInfo;
 import co.cask.cdap.api.common.Bytes;
+import co.cask.cdap.api.data.DatasetContext;
 import co.cask.cdap.api.data.schema.Schema;
 import co.cask.cdap.api.dataset.DataSetException;
 import co.cask.cdap.api.plugin.PluginClass;
@@ -54,6 +58,7 @@ import co.cask.wrangler.api.parser.TokenType;
 import co.cask.wrangler.dataset.workspace.DataType;
 import co.cask.wrangler.dataset.workspace.WorkspaceDataset;
 import co.cask.wrangler.dataset.workspace.WorkspaceException;
+import co.cask.wrangler.executor.DirectiveMetrics;
 import co.cask.wrangler.executor.RecipePipelineExecutor;
 import co.cask.wrangler.parser.ConfigDirectiveContext;
 import co.cask.wrangler.parser.GrammarBasedParser;
@@ -69,6 +74,7 @@ import co.cask.wrangler.statistics.Statistics;
 import co.cask.wrangler.utils.Json2Schema;
 import co.cask.wrangler.utils.ObjectSerDe;
 import co.cask.wrangler.utils.RecordConvertorException;
+import co.cask.wrangler.utils.RecordSplitter;
 import co.cask.wrangler.validator.ColumnNameValidator;
 import co.cask.wrangler.validator.Validator;
 import co.cask.wrangler.validator.ValidatorException;
@@ -84,14 +90,16 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.tephra.TransactionFailureException;
 import org.json.JSONException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
-import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -137,18 +145,32 @@ public class DirectivesService extends AbstractHttpServiceHandler {
 
   /**
    * An implementation of HttpService. Stores the context
-   * so that it can be used later.
+   * so that it can be used later, and indexes the workspaces by scope
+   * if they were written before the index was introduced.
    *
    * @param context the HTTP service runtime context
    * @throws Exception
    */
   @Override
+  @TransactionPolicy(value = TransactionControl.EXPLICIT)
   public void initialize(HttpServiceContext context) throws Exception {
     super.initialize(context);
     composite = new CompositeDirectiveRegistry(
       new SystemDirectiveRegistry(),
       new UserDirectiveRegistry(context)
     );
+    RecipeCompiler.warmup();
+    try {
+      context.execute(new TxRunnable() {
+        @Override
+        public void run(DatasetContext datasetContext) throws Exception {
+          table.indexScopes();
+        }
+      });
+    } catch (TransactionFailureException e) {
+      // Another instance of the handler indexing the workspaces at the same time conflicts with this one.
+      LOG.warn("Unable to index the workspaces by scope. {}", e.getMessage());
+    }
   }
 
   /**
@@ -195,7 +217,7 @@ public class DirectivesService extends AbstractHttpServiceHandler {
         scope = "default";
       }
 
-      table.createWorkspaceMeta(id, name, scope);
+      table.createWorkspaceMeta(id, scope, name);
       Map<String, String> properties = new HashMap<>();
       properties.put(PropertyIds.ID, id);
       properties.put(PropertyIds.NAME, name);
@@ -236,7 +258,7 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       }
 
       JsonObject response = new JsonObject();
-      List<Pair<String,String>> workspaces = table.getWorkspaces();
+      List<Pair<String,String>> workspaces = table.getWorkspaces(scope);
       JsonArray array = new JsonArray();
       for (Pair<String, String> workspace : workspaces) {
         JsonObject object = new JsonObject();
@@ -425,9 +447,8 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       // Get content type - application/data-prep, application/octet-stream or text/plain.
       String contentType = handler.getHeader(RequestExtractor.CONTENT_TYPE_HEADER, "application/data-prep");
 
-      // Extract content.
-      byte[] content = handler.getContent();
-      if (content == null) {
+      // Content is extracted by type, records are split from the content as it's read.
+      if (!handler.hasContent()) {
         error(responder, "Body not present, please post the file containing the records to be wrangled.");
         return;
       }
@@ -437,18 +458,14 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       switch(type) {
         case TEXT: {
           // Convert the type into unicode.
-          String body = Charset.forName(charset).decode(ByteBuffer.wrap(content)).toString();
+          String body = handler.getContent(charset);
           table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.TEXT, Bytes.toBytes(body));
           break;
         }
 
         case RECORDS: {
           delimiter = StringEscapeUtils.unescapeJava(delimiter);
-          String body = Charset.forName(charset).decode(ByteBuffer.wrap(content)).toString();
-          List<Row> rows = new ArrayList<>();
-          for (String line : body.split(delimiter)) {
-            rows.add(new Row(COLUMN_NAME, line));
-          }
+          List<Row> rows = split(handler, charset, delimiter, COLUMN_NAME);
           ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
           byte[] bytes = serDe.toByteArray(rows);
           table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.RECORDS, bytes);
@@ -456,7 +473,7 @@ public class DirectivesService extends AbstractHttpServiceHandler {
         }
 
         case BINARY: {
-          table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.BINARY, content);
+          table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.BINARY, handler.getContent());
           break;
         }
 
@@ -518,9 +535,8 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       // Get content type - application/data-prep, application/octet-stream or text/plain.
       String contentType = handler.getHeader(RequestExtractor.CONTENT_TYPE_HEADER, "application/data-prep");
 
-      // Extract content.
-      byte[] content = handler.getContent();
-      if (content == null) {
+      // Content is extracted by type, records are split from the content as it's read.
+      if (!handler.hasContent()) {
         error(responder, "Body not present, please post the file containing the records to be wrangle.");
         return;
       }
@@ -530,18 +546,14 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       switch(type) {
         case TEXT: {
           // Convert the type into unicode.
-          String body = Charset.forName(charset).decode(ByteBuffer.wrap(content)).toString();
+          String body = handler.getContent(charset);
           table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.TEXT, Bytes.toBytes(body));
           break;
         }
 
         case RECORDS: {
           delimiter = StringEscapeUtils.unescapeJava(delimiter);
-          String body = Charset.forName(charset).decode(ByteBuffer.wrap(content)).toString();
-          List<Row> rows = new ArrayList<>();
-          for (String line : body.split(delimiter)) {
-            rows.add(new Row(id, line));
-          }
+          List<Row> rows = split(handler, charset, delimiter, id);
           ObjectSerDe<List<Row>> serDe = new ObjectSerDe<>();
           byte[] bytes = serDe.toByteArray(rows);
           table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.RECORDS, bytes);
@@ -549,7 +561,7 @@ public class DirectivesService extends AbstractHttpServiceHandler {
         }
 
         case BINARY: {
-          table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.BINARY, content);
+          table.writeToWorkspace(id, WorkspaceDataset.DATA_COL, DataType.BINARY, handler.getContent());
           break;
         }
 
@@ -574,6 +586,30 @@ public class DirectivesService extends AbstractHttpServiceHandler {
     }
   }
 
+  /**
+   * Splits the content of a request into rows with a single column. The content is decoded and
+   * split as it's read, so it's never held as a single string.
+   *
+   * @param handler of the request.
+   * @param charset of the content.
+   * @param delimiter of the records.
+   * @param column of the rows.
+   * @return rows of the records.
+   */
+  private static List<Row> split(RequestExtractor handler, String charset, String delimiter, String column)
+    throws IOException {
+    List<Row> rows = new ArrayList<>();
+    try (Reader reader = handler.getContentReader(charset)) {
+      Iterator<String> records = new RecordSplitter(reader, delimiter);
+      while (records.hasNext()) {
+        rows.add(new Row(column, records.next()));
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return rows;
+  }
+
   /**
    * Executes the directives on the record stored in the workspace.
    *
@@ -586,23 +622,30 @@ public class DirectivesService extends AbstractHttpServiceHandler {
    *   "value" : [
    *     { record 1},
    *     { record 2}
+   *   ],
+   *   "metrics" : [
+   *     { "index" : 0, "directive" : "parse-as-csv", "invocations" : 2, "rows-in" : 2, "rows-out" : 2, ... }
    *   ]
    * }
    *
+   * The "metrics" are only returned when the directives are instrumented.
+   *
    * @param request to gather information of the request.
    * @param responder to respond to the service request.
    * @param id workspace in which the directives are executed.
+   * @param instrument true to collect and return the statistics of each directive, false by default.
    */
   @POST
   @Path("workspaces/{id}/execute")
   public void execute(HttpServiceRequest request, HttpServiceResponder responder,
-                        @PathParam("id") String id) {
+                        @PathParam("id") String id, @QueryParam("instrument") boolean instrument) {
     try {
       RequestExtractor handler = new RequestExtractor(request);
       Request user = handler.getContent("UTF-8", Request.class);
       user.getRecipe().setPragma(addLoadablePragmaDirectives(user));
 
       final int limit = user.getSampling().getLimit();
+      List<DirectiveMetrics> metrics = instrument ? new ArrayList<DirectiveMetrics>() : null;
       List<Row> rows = executeDirectives(id, user, new Function<List<Row>, List<Row>>() {
         @Nullable
         @Override
@@ -610,7 +653,7 @@ public class DirectivesService extends AbstractHttpServiceHandler {
           int min = Math.min(records.size(), limit);
           return records.subList(0, min);
         }
-      });
+      }, metrics);
 
       JsonArray values = new JsonArray();
       JsonArray headers = new JsonArray();
@@ -660,6 +703,9 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       response.add("types", types);
       response.add("directives", gson.toJsonTree(user.getRecipe().getDirectives()));
       response.add("values", values);
+      if (metrics != null) {
+        response.add("metrics", toJson(metrics));
+      }
       sendJson(responder, HttpURLConnection.HTTP_OK, response.toString());
     } catch (JsonParseException e) {
       LOG.warn(e.getMessage(), e);
@@ -673,6 +719,26 @@ public class DirectivesService extends AbstractHttpServiceHandler {
     }
   }
 
+  /**
+   * Converts the statistics of the directives executed into a JSON array.
+   */
+  private static JsonArray toJson(List<DirectiveMetrics> metrics) {
+    JsonArray array = new JsonArray();
+    for (DirectiveMetrics metric : metrics) {
+      JsonObject object = new JsonObject();
+      object.addProperty("index", metric.getIndex());
+      object.addProperty("directive", metric.getName());
+      object.addProperty("invocations", metric.getInvocations());
+      object.addProperty("rows-in", metric.getRowsIn());
+      object.addProperty("rows-out", metric.getRowsOut());
+      object.addProperty("errors", metric.getErrors());
+      object.addProperty("time-ns", metric.getNanos());
+      object.addProperty("allocated-bytes", metric.getAllocatedBytes());
+      array.add(object);
+    }
+    return array;
+  }
+
   /**
    * Automatically adds a load-directives pragma to the list of directives.
    */
@@ -1211,6 +1277,17 @@ public class DirectivesService extends AbstractHttpServiceHandler {
   private List<Row> executeDirectives(String id, @Nullable Request user,
                                       Function<List<Row>, List<Row>> sample)
     throws Exception {
+    return executeDirectives(id, user, sample, null);
+  }
+
+  /**
+   * Executes directives by extracting them from request, collecting the statistics of
+   * each directive into <code>metrics</code> when it's not null.
+   */
+  private List<Row> executeDirectives(String id, @Nullable Request user,
+                                      Function<List<Row>, List<Row>> sample,
+                                      @Nullable List<DirectiveMetrics> metrics)
+    throws Exception {
     if (user == null) {
       throw new Exception("Request is empty. Please check if the request is sent as HTTP POST body.");
     }
@@ -1229,7 +1306,13 @@ public class DirectivesService extends AbstractHttpServiceHandler {
       RecipeParser recipe = new GrammarBasedParser(migrate, composite);
       recipe.initialize(new ConfigDirectiveContext(table.getConfigString()));
       executor.initialize(recipe, context);
+      if (metrics != null) {
+        executor.enableInstrumentation(RecipePipelineExecutor.DEFAULT_SAMPLE_INTERVAL);
+      }
       rows = executor.execute(sample.apply(rows));
+      if (metrics != null) {
+        metrics.addAll(executor.getDirectiveMetrics());
+      }
       executor.destroy();
     }
     return rows;
@@ -0,0 +1,169 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.dataset.workspace;
+
+import co.cask.cdap.api.common.Bytes;
+import co.cask.cdap.api.dataset.table.Result;
+import co.cask.cdap.api.dataset.table.Row;
+import co.cask.cdap.api.dataset.table.Scanner;
+import co.cask.cdap.api.dataset.table.Table;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Non transactional {@link Table} held in memory, implementing the operations used by the datasets,
+ * with the rows it holds available to the tests.
+ */
+final class MemoryTable implements InvocationHandler {
+  private final NavigableMap<byte[], NavigableMap<byte[], byte[]>> rows = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+  private int scanned;
+
+  /**
+   * @return table backed by the rows of this instance.
+   */
+  Table table() {
+    return (Table) Proxy.newProxyInstance(Table.class.getClassLoader(), new Class<?>[] { Table.class }, this);
+  }
+
+  /**
+   * @return rows of the table, by key.
+   */
+  NavigableMap<byte[], NavigableMap<byte[], byte[]>> rows() {
+    return rows;
+  }
+
+  /**
+   * @return number of rows read by the scans of the table.
+   */
+  int scanned() {
+    return scanned;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    String name = method.getName();
+    Class<?>[] types = method.getParameterTypes();
+    if (name.equals("get") && types.length == 1 && types[0] == byte[].class) {
+      return row((byte[]) args[0], null);
+    } else if (name.equals("get") && types.length == 2 && types[1] == byte[].class) {
+      NavigableMap<byte[], byte[]> columns = rows.get((byte[]) args[0]);
+      return columns == null ? null : columns.get((byte[]) args[1]);
+    } else if (name.equals("get") && types.length == 2 && types[1] == byte[][].class) {
+      return row((byte[]) args[0], (byte[][]) args[1]);
+    } else if (name.equals("put") && types.length == 3 && types[1] == byte[].class) {
+      put((byte[]) args[0], new byte[][] { (byte[]) args[1] }, new byte[][] { (byte[]) args[2] });
+      return null;
+    } else if (name.equals("put") && types.length == 3) {
+      put((byte[]) args[0], (byte[][]) args[1], (byte[][]) args[2]);
+      return null;
+    } else if (name.equals("delete") && types.length == 1 && types[0] == byte[].class) {
+      rows.remove((byte[]) args[0]);
+      return null;
+    } else if (name.equals("delete") && types.length == 2 && types[1] == byte[].class) {
+      delete((byte[]) args[0], new byte[][] { (byte[]) args[1] });
+      return null;
+    } else if (name.equals("delete") && types.length == 2) {
+      delete((byte[]) args[0], (byte[][]) args[1]);
+      return null;
+    } else if (name.equals("scan") && types.length == 2) {
+      return scan((byte[]) args[0], (byte[]) args[1]);
+    } else if (name.equals("toString")) {
+      return "MemoryTable" + rows.keySet();
+    }
+    throw new UnsupportedOperationException(method.toString());
+  }
+
+  private Row row(byte[] key, byte[][] columns) {
+    NavigableMap<byte[], byte[]> values = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+    NavigableMap<byte[], byte[]> row = rows.get(key);
+    if (row != null) {
+      if (columns == null) {
+        values.putAll(row);
+      } else {
+        for (byte[] column : columns) {
+          if (row.containsKey(column)) {
+            values.put(column, row.get(column));
+          }
+        }
+      }
+    }
+    return new Result(key, values);
+  }
+
+  private void put(byte[] key, byte[][] columns, byte[][] values) {
+    NavigableMap<byte[], byte[]> row = rows.get(key);
+    if (row == null) {
+      row = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+      rows.put(key, row);
+    }
+    for (int i = 0; i < columns.length; ++i) {
+      row.put(columns[i], values[i]);
+    }
+  }
+
+  private void delete(byte[] key, byte[][] columns) {
+    NavigableMap<byte[], byte[]> row = rows.get(key);
+    if (row == null) {
+      return;
+    }
+    for (byte[] column : columns) {
+      row.remove(column);
+    }
+    if (row.isEmpty()) {
+      rows.remove(key);
+    }
+  }
+
+  private Scanner scan(byte[] start, byte[] stop) {
+    NavigableMap<byte[], NavigableMap<byte[], byte[]>> range = rows;
+    if (start != null) {
+      range = range.tailMap(start, true);
+    }
+    if (stop != null) {
+      range = range.headMap(stop, false);
+    }
+    // Copied, as rows may be deleted while scanning.
+    List<Row> results = new ArrayList<>();
+    for (Map.Entry<byte[], NavigableMap<byte[], byte[]>> entry : range.entrySet()) {
+      results.add(new Result(entry.getKey(), new TreeMap<>(entry.getValue())));
+    }
+    final Iterator<Row> iterator = results.iterator();
+    return new Scanner() {
+      @Override
+      public Row next() {
+        if (!iterator.hasNext()) {
+          return null;
+        }
+        scanned++;
+        return iterator.next();
+      }
+
+      @Override
+      public void close() {
+        // no-op
+      }
+    };
+  }
+}
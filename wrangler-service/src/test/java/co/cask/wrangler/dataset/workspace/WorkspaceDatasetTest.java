@@ -0,0 +1,259 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler.dataset.workspace;
+
+import co.cask.cdap.api.common.Bytes;
+import co.cask.cdap.api.dataset.DatasetSpecification;
+import co.cask.wrangler.PropertyIds;
+import co.cask.wrangler.api.DirectiveConfig;
+import co.cask.wrangler.api.Pair;
+import co.cask.wrangler.api.Row;
+import co.cask.wrangler.utils.ObjectSerDe;
+import com.google.common.io.ByteStreams;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests {@link WorkspaceDataset} over a table held in memory.
+ */
+public class WorkspaceDatasetTest {
+  private MemoryTable memory;
+  private WorkspaceDataset dataset;
+
+  @Before
+  public void setUp() {
+    memory = new MemoryTable();
+    dataset = new WorkspaceDataset(DatasetSpecification.builder("workspace", "table").build(), memory.table());
+  }
+
+  @Test
+  public void testListByScope() throws Exception {
+    dataset.createWorkspaceMeta("ws1", "first", "ws1-name");
+    dataset.createWorkspaceMeta("ws2", "First", "ws2-name");
+    dataset.createWorkspaceMeta("ws3", "second", "ws3-name");
+    dataset.createWorkspaceMeta("ws4", "ws4-name");
+    dataset.writeToWorkspace("ws1", WorkspaceDataset.DATA_COL, DataType.BINARY, new byte[1000]);
+
+    int scanned = memory.scanned();
+    Assert.assertEquals(Arrays.asList("ws1=ws1-name", "ws2=ws2-name"), list("FIRST"));
+    // Only the index rows of the scope are read.
+    Assert.assertEquals(scanned + 2, memory.scanned());
+    Assert.assertEquals(Collections.singletonList("ws3=ws3-name"), list("second"));
+    Assert.assertEquals(Collections.singletonList("ws4=ws4-name"), list(WorkspaceDataset.DEFAULT_SCOPE));
+    Assert.assertEquals(Collections.<String>emptyList(), list("third"));
+
+    dataset.deleteWorkspace("ws1");
+    Assert.assertFalse(dataset.hasWorkspace("ws1"));
+    Assert.assertEquals(Collections.singletonList("ws2=ws2-name"), list("first"));
+  }
+
+  @Test
+  public void testMoveBetweenScopes() throws Exception {
+    dataset.createWorkspaceMeta("ws1", "first", "ws1-name");
+    dataset.createWorkspaceMeta("ws1", "second", "ws1-renamed");
+
+    Assert.assertEquals(Collections.<String>emptyList(), list("first"));
+    Assert.assertEquals(Collections.singletonList("ws1=ws1-renamed"), list("second"));
+  }
+
+  @Test
+  public void testDeleteGroup() throws Exception {
+    dataset.createWorkspaceMeta("ws1", "first", "ws1-name");
+    dataset.createWorkspaceMeta("ws2", "First", "ws2-name");
+    dataset.createWorkspaceMeta("ws3", "second", "ws3-name");
+    dataset.writeToWorkspace("ws1", WorkspaceDataset.DATA_COL, DataType.BINARY, new byte[1000]);
+
+    Assert.assertEquals(2, dataset.deleteGroup("first"));
+    Assert.assertFalse(dataset.hasWorkspace("ws1"));
+    Assert.assertFalse(dataset.hasWorkspace("ws2"));
+    Assert.assertTrue(dataset.hasWorkspace("ws3"));
+    Assert.assertEquals(Collections.<String>emptyList(), list("first"));
+    Assert.assertEquals(Collections.singletonList("ws3=ws3-name"), list("second"));
+    Assert.assertEquals(0, dataset.deleteGroup("first"));
+  }
+
+  @Test
+  public void testIndexTableWithoutIndex() throws Exception {
+    // Workspaces written before the index was introduced.
+    for (String id : new String[] { "ws1", "ws2", "ws3" }) {
+      memory.table().put(Bytes.toBytes(id), new byte[][] {
+        WorkspaceDataset.NAME_COL, WorkspaceDataset.SCOPE_COL, WorkspaceDataset.DATA_COL
+      }, new byte[][] {
+        Bytes.toBytes(id + "-name"), Bytes.toBytes(id.equals("ws3") ? "second" : "first"), new byte[100]
+      });
+    }
+    // The config row is not a workspace.
+    dataset.updateConfig(new DirectiveConfig());
+    Assert.assertEquals(Collections.<String>emptyList(), list("first"));
+
+    Assert.assertEquals(3, dataset.indexScopes());
+    Assert.assertEquals(Arrays.asList("ws1=ws1-name", "ws2=ws2-name"), list("first"));
+    Assert.assertEquals(Collections.singletonList("ws3=ws3-name"), list("second"));
+
+    // The index is built once.
+    int scanned = memory.scanned();
+    Assert.assertEquals(0, dataset.indexScopes());
+    Assert.assertEquals(scanned, memory.scanned());
+  }
+
+  @Test
+  public void testChunkBoundaries() throws Exception {
+    dataset.createWorkspaceMeta("ws", "ws-name");
+    for (int size : new int[] { 0, 1, WorkspaceDataset.CHUNK_SIZE, WorkspaceDataset.CHUNK_SIZE + 1 }) {
+      byte[] data = data(size);
+      dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.BINARY, data);
+      Assert.assertArrayEquals(data, dataset.getData("ws", WorkspaceDataset.DATA_COL));
+      Assert.assertArrayEquals(data, ByteStreams.toByteArray(dataset.getDataStream("ws", WorkspaceDataset.DATA_COL)));
+      Assert.assertEquals((size + WorkspaceDataset.CHUNK_SIZE - 1) / WorkspaceDataset.CHUNK_SIZE, chunks());
+
+      Map<String, String> properties = dataset.getProperties("ws");
+      Assert.assertEquals(String.valueOf(size), properties.get(PropertyIds.DATA_SIZE));
+      Assert.assertEquals(String.valueOf(chunks()), properties.get(PropertyIds.DATA_CHUNKS));
+    }
+  }
+
+  @Test
+  public void testRecords() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 50000; ++i) {
+      rows.add(new Row("body", "line " + i).add("count", i));
+    }
+    dataset.createWorkspaceMeta("ws", "ws-name");
+    dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.RECORDS,
+                             new ObjectSerDe<List<Row>>().toByteArray(rows));
+    Assert.assertTrue(chunks() > 1);
+
+    List<Row> read = dataset.getData("ws", WorkspaceDataset.DATA_COL, DataType.RECORDS);
+    Assert.assertEquals(rows.size(), read.size());
+    Assert.assertEquals("line 49999", read.get(49999).getValue("body"));
+    Assert.assertEquals(49999, read.get(49999).getValue("count"));
+  }
+
+  @Test
+  public void testReadSingleCellPayload() throws Exception {
+    // Payload written in a single cell, before chunking was introduced.
+    dataset.createWorkspaceMeta("ws", "ws-name");
+    dataset.updateWorkspace("ws", WorkspaceDataset.DATA_COL, "a,b,c");
+    Assert.assertEquals(0, chunks());
+    Assert.assertEquals("a,b,c", dataset.getData("ws", WorkspaceDataset.DATA_COL, DataType.TEXT));
+    Assert.assertEquals("a,b,c", Bytes.toString(ByteStreams.toByteArray(
+      dataset.getDataStream("ws", WorkspaceDataset.DATA_COL))));
+    Assert.assertNull(dataset.getProperties("ws").get(PropertyIds.DATA_SIZE));
+
+    // Rewriting it chunks it, and drops the single cell.
+    byte[] data = data(WorkspaceDataset.CHUNK_SIZE + 1);
+    dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.BINARY, data);
+    Assert.assertEquals(2, chunks());
+    Assert.assertArrayEquals(data, dataset.getData("ws", WorkspaceDataset.DATA_COL));
+    Assert.assertFalse(memory.rows().get(Bytes.toBytes("ws")).containsKey(WorkspaceDataset.DATA_COL));
+  }
+
+  @Test
+  public void testShrinkPayload() throws Exception {
+    dataset.createWorkspaceMeta("ws", "ws-name");
+    dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.BINARY,
+                             data(3 * WorkspaceDataset.CHUNK_SIZE));
+    Assert.assertEquals(3, chunks());
+
+    byte[] data = data(10);
+    dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.BINARY, data);
+    Assert.assertEquals(1, chunks());
+    Assert.assertArrayEquals(data, dataset.getData("ws", WorkspaceDataset.DATA_COL));
+  }
+
+  @Test
+  public void testUpdateChunkedPayload() throws Exception {
+    dataset.createWorkspaceMeta("ws", "ws-name");
+    dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.BINARY, data(WorkspaceDataset.CHUNK_SIZE + 1));
+    Assert.assertEquals(2, chunks());
+
+    dataset.updateWorkspace("ws", WorkspaceDataset.DATA_COL, "a,b,c");
+    Assert.assertEquals(0, chunks());
+    Assert.assertEquals("a,b,c", dataset.getData("ws", WorkspaceDataset.DATA_COL, DataType.TEXT));
+    Assert.assertNull(dataset.getProperties("ws").get(PropertyIds.DATA_CHUNKS));
+  }
+
+  @Test
+  public void testDeleteChunks() throws Exception {
+    dataset.createWorkspaceMeta("ws1", "ws1-name");
+    dataset.createWorkspaceMeta("ws10", "ws10-name");
+    dataset.writeToWorkspace("ws1", WorkspaceDataset.DATA_COL, DataType.BINARY, data(WorkspaceDataset.CHUNK_SIZE + 1));
+    dataset.writeToWorkspace("ws10", WorkspaceDataset.DATA_COL, DataType.BINARY, data(10));
+    Assert.assertEquals(3, chunks());
+
+    dataset.deleteWorkspace("ws1");
+    Assert.assertEquals(1, chunks());
+    Assert.assertNull(dataset.getData("ws1", WorkspaceDataset.DATA_COL));
+    Assert.assertArrayEquals(data(10), dataset.getData("ws10", WorkspaceDataset.DATA_COL));
+  }
+
+  @Test
+  public void testMissingChunk() throws Exception {
+    dataset.createWorkspaceMeta("ws", "ws-name");
+    dataset.writeToWorkspace("ws", WorkspaceDataset.DATA_COL, DataType.BINARY, data(WorkspaceDataset.CHUNK_SIZE + 1));
+    // Drops the last of the two chunks.
+    byte[] prefix = Bytes.toBytes("__chunk__");
+    memory.rows().remove(memory.rows().lowerKey(Bytes.stopKeyForPrefix(prefix)));
+    Assert.assertEquals(1, chunks());
+
+    try {
+      dataset.getData("ws", WorkspaceDataset.DATA_COL);
+      Assert.fail();
+    } catch (WorkspaceException e) {
+      Assert.assertTrue(e.getMessage().contains("Chunk 1"));
+    }
+  }
+
+  /**
+   * @return data of the given size, compressible as data usually is.
+   */
+  private static byte[] data(int size) {
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; ++i) {
+      data[i] = (byte) ((i / 7) % 61 + 'A');
+    }
+    return data;
+  }
+
+  /**
+   * @return number of chunk rows in the table.
+   */
+  private int chunks() {
+    int chunks = 0;
+    for (byte[] key : memory.rows().keySet()) {
+      if (Bytes.toString(key).startsWith("__chunk__")) {
+        chunks++;
+      }
+    }
+    return chunks;
+  }
+
+  private List<String> list(String scope) throws WorkspaceException {
+    List<String> workspaces = new ArrayList<>();
+    for (Pair<String, String> workspace : dataset.getWorkspaces(scope)) {
+      workspaces.add(workspace.getFirst() + "=" + workspace.getSecond());
+    }
+    return workspaces;
+  }
+}
@@ -17,57 +17,100 @@
 package co.cask.wrangler;
 
 import co.cask.wrangler.api.Row;
-import org.apache.commons.jexl3.scripting.JexlScriptEngine;
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.jexl3.MapContext;
 
-import javax.script.Bindings;
-import javax.script.CompiledScript;
-import javax.script.ScriptException;
-import javax.script.SimpleBindings;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * A precondition expression that filters data into the directives.
+ *
+ * <p>The condition is compiled once with JEXL, configured the same way as the JSR-223 JEXL script
+ * engine, and the variables it uses are extracted, so it can be evaluated against a {@link Row}
+ * holding just those variables, or against a {@link JexlContext} reading them from the input
+ * directly.</p>
  */
 public class Precondition {
+  private static final JexlEngine ENGINE = new JexlBuilder().cache(512).create();
+
   private final String condition;
-  private final CompiledScript script;
+  private final JexlScript script;
+  // Names of the variables used by the condition.
+  private final Set<String> variables = new HashSet<>();
 
   public Precondition(String condition) throws PreconditionException {
     this.condition = condition;
-    JexlScriptEngine engine = new JexlScriptEngine();
     try {
-      script = engine.compile(condition);
-    } catch (ScriptException e) {
-      if (e.getCause() != null) {
-        throw new PreconditionException(e.getCause().getMessage());
-      } else {
-        throw new PreconditionException(e.getMessage());
-      }
+      script = ENGINE.createScript(condition);
+    } catch (JexlException e) {
+      throw exception(e);
+    }
+    for (List<String> variable : script.getVariables()) {
+      // Dotted names are resolved either as a whole or from their first part.
+      variables.add(variable.get(0));
+      variables.add(String.join(".", variable));
     }
   }
 
+  /**
+   * @return names of the variables used by the condition.
+   */
+  public Set<String> getVariables() {
+    return Collections.unmodifiableSet(variables);
+  }
+
+  /**
+   * Evaluates the condition with the columns of the row as variables.
+   *
+   * @param row to evaluate the condition on.
+   * @return result of the condition.
+   */
   public boolean apply(Row row) throws PreconditionException {
-    Bindings ctx = new SimpleBindings();
+    MapContext ctx = new MapContext();
     for (int i = 0; i < row.length(); ++i) {
-      ctx.put(row.getColumn(i), row.getValue(i));
+      String column = row.getColumn(i);
+      if (variables.contains(column)) {
+        ctx.set(column, row.getValue(i));
+      }
     }
+    return apply(ctx);
+  }
 
+  /**
+   * Evaluates the condition with the variables of a context.
+   *
+   * @param ctx holding the variables.
+   * @return result of the condition.
+   */
+  public boolean apply(JexlContext ctx) throws PreconditionException {
+    Object result;
     try {
-      Object result = script.eval(ctx);
-      if (!(result instanceof Boolean)) {
-        throw new PreconditionException(
-          String.format("Precondition '%s' does not result in true or false.", condition)
-        );
-      }
-      return (Boolean) result;
-    } catch (ScriptException e) {
-      // Generally JexlException wraps the original exception, so it's good idea
-      // to check if there is a inner exception, if there is wrap it in 'DirectiveExecutionException'
-      // else just print the error message.
-      if (e.getCause() != null) {
-        throw new PreconditionException(e.getCause().getMessage());
-      } else {
-        throw new PreconditionException(e.getMessage());
-      }
+      result = script.execute(ctx);
+    } catch (RuntimeException e) {
+      throw exception(e);
+    }
+    if (!(result instanceof Boolean)) {
+      throw new PreconditionException(
+        String.format("Precondition '%s' does not result in true or false.", condition)
+      );
+    }
+    return (Boolean) result;
+  }
+
+  // Generally JexlException wraps the original exception, so it's good idea
+  // to check if there is a inner exception, if there is wrap it in 'PreconditionException'
+  // else just print the error message.
+  private static PreconditionException exception(RuntimeException e) {
+    if (e.getCause() != null) {
+      return new PreconditionException(e.getCause().getMessage());
     }
+    return new PreconditionException(e.getMessage());
   }
 }
@@ -0,0 +1,98 @@
+/*
+ *  Copyright © 2017 Cask Data, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ *  use this file except in compliance with the License. You may obtain a copy of
+ *  the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations under
+ *  the License.
+ */
+
+package co.cask.wrangler;
+
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.wrangler.utils.RecordRowAdapter;
+import org.apache.commons.jexl3.JexlContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class {@link RecordContext} exposes an input {@link StructuredRecord} as the variables of a
+ * {@link JexlContext}, the same variables as the columns of the row the transform creates for the
+ * record, without creating the row.
+ *
+ * <ul>
+ *   <li>With the field '*', each field of the record is a variable.</li>
+ *   <li>With the field '#', the record is a variable named after the record.</li>
+ *   <li>Otherwise the field of the record is the only variable.</li>
+ * </ul>
+ *
+ * <p>An instance is not thread safe, it's reset for every record.</p>
+ */
+final class RecordContext implements JexlContext {
+  private final String field;
+  private StructuredRecord record;
+  // Variables set by the expression, created when the first variable is set.
+  private Map<String, Object> assigned;
+
+  RecordContext(String field) {
+    this.field = field;
+  }
+
+  /**
+   * Resets the context to hold the variables of a record.
+   *
+   * @param record input record.
+   * @return this context.
+   */
+  RecordContext reset(StructuredRecord record) {
+    this.record = record;
+    if (assigned != null) {
+      assigned.clear();
+    }
+    return this;
+  }
+
+  @Override
+  public Object get(String name) {
+    if (assigned != null && assigned.containsKey(name)) {
+      return assigned.get(name);
+    }
+    if (!has(name)) {
+      return null;
+    }
+    if ("#".equals(field)) {
+      return record;
+    }
+    return RecordRowAdapter.getValue(record, name);
+  }
+
+  @Override
+  public void set(String name, Object value) {
+    if (assigned == null) {
+      assigned = new HashMap<>();
+    }
+    assigned.put(name, value);
+  }
+
+  @Override
+  public boolean has(String name) {
+    if (assigned != null && assigned.containsKey(name)) {
+      return true;
+    }
+    if ("*".equals(field)) {
+      return record.getSchema().getField(name) != null;
+    }
+    if ("#".equals(field)) {
+      return name.equals(record.getSchema().getRecordName());
+    }
+    return name.equals(field);
+  }
+}
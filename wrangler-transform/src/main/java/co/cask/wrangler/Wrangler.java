@@ -21,13 +21,13 @@ import co.cask.cdap.api.annotation.Macro;
 import co.cask.cdap.api.annotation.Name;
 import co.cask.cdap.api.annotation.Plugin;
 import co.cask.cdap.api.data.format.StructuredRecord;
-import co.cask.cdap.api.data.format.UnexpectedFormatException;
 import co.cask.cdap.api.data.schema.Schema;
 import co.cask.cdap.api.plugin.PluginConfig;
 import co.cask.cdap.api.plugin.PluginProperties;
 import co.cask.cdap.etl.api.Emitter;
 import co.cask.cdap.etl.api.InvalidEntry;
 import co.cask.cdap.etl.api.PipelineConfigurer;
+import co.cask.cdap.etl.api.StageMetrics;
 import co.cask.cdap.etl.api.StageSubmitterContext;
 import co.cask.cdap.etl.api.Transform;
 import co.cask.cdap.etl.api.TransformContext;
@@ -44,6 +44,7 @@ import co.cask.wrangler.api.DirectiveParseException;
 import co.cask.wrangler.api.DirectiveRegistry;
 import co.cask.wrangler.api.ErrorRecord;
 import co.cask.wrangler.api.ExecutorContext;
+import co.cask.wrangler.api.RecipeException;
 import co.cask.wrangler.api.RecipeParser;
 import co.cask.wrangler.api.RecipePipeline;
 import co.cask.wrangler.api.RecipeSymbol;
@@ -51,6 +52,7 @@ import co.cask.wrangler.api.Row;
 import co.cask.wrangler.api.TokenGroup;
 import co.cask.wrangler.api.TransientStore;
 import co.cask.wrangler.api.TransientVariableScope;
+import co.cask.wrangler.executor.DirectiveMetrics;
 import co.cask.wrangler.executor.RecipePipelineExecutor;
 import co.cask.wrangler.parser.ConfigDirectiveContext;
 import co.cask.wrangler.parser.GrammarBasedParser;
@@ -59,6 +61,9 @@ import co.cask.wrangler.parser.RecipeCompiler;
 import co.cask.wrangler.registry.CompositeDirectiveRegistry;
 import co.cask.wrangler.registry.SystemDirectiveRegistry;
 import co.cask.wrangler.registry.UserDirectiveRegistry;
+import co.cask.wrangler.utils.CompiledRecordConvertor;
+import co.cask.wrangler.utils.RecordConvertorException;
+import co.cask.wrangler.utils.RecordRowAdapter;
 import com.google.common.collect.ImmutableMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,18 +109,39 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
   // Output Schema associated with transform output.
   private Schema oSchema = null;
 
+  // Converts the rows wrangled into records of the output schema.
+  private CompiledRecordConvertor outputConvertor;
+
+  // Converts the input records into rows when all the fields are wrangled.
+  private RecordRowAdapter inputAdapter;
+
   // Error counter.
   private long errorCounter;
 
   // Precondition application
   private Precondition condition = null;
 
+  // Variables of the input record the precondition is evaluated on.
+  private RecordContext conditionContext;
+
   // Transient Store
   private TransientStore store;
 
   // Directive registry.
   private DirectiveRegistry registry;
 
+  // Number of records after which the directive statistics are reported.
+  private static final int METRICS_REPORT_INTERVAL = 1000;
+
+  // Statistics of the directives, empty unless instrumentation is enabled.
+  private List<DirectiveMetrics> directiveMetrics = Collections.emptyList();
+
+  // Metric name prefix for each directive.
+  private String[] metricPrefixes;
+
+  // Records processed since the directive statistics were last reported.
+  private int unreported;
+
   // This is used only for tests, otherwise this is being injected by the ingestion framework.
   public Wrangler(Config config) {
     this.config = config;
@@ -301,6 +327,7 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
 
     // Parse DSL and initialize the wrangle pipeline.
     store = new DefaultTransientStore();
+    inputAdapter = new RecordRowAdapter();
     registry = new CompositeDirectiveRegistry(
       new SystemDirectiveRegistry(),
       new UserDirectiveRegistry(context)
@@ -317,6 +344,7 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
     // Based on the configuration create output schema.
     try {
       oSchema = Schema.parseJson(config.schema);
+      outputConvertor = new CompiledRecordConvertor(oSchema);
     } catch (IOException e) {
       throw new IllegalArgumentException(
         String.format("Stage:%s - Format of output schema specified is invalid. Please check the format.",
@@ -328,6 +356,7 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
     if (config.precondition != null && !config.precondition.trim().isEmpty()) {
       try {
         condition = new Precondition(config.precondition);
+        conditionContext = new RecordContext(config.field);
       } catch (PreconditionException e) {
         throw new IllegalArgumentException(e.getMessage());
       }
@@ -358,8 +387,17 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
 
     try {
       // Create the pipeline executor with context being set.
-      pipeline = new RecipePipelineExecutor();
-      pipeline.initialize(recipe, ctx);
+      RecipePipelineExecutor executor = new RecipePipelineExecutor();
+      executor.initialize(recipe, ctx);
+      if (config.instrumentation != null && config.instrumentation > 0) {
+        executor.enableInstrumentation(config.instrumentation);
+        directiveMetrics = executor.getDirectiveMetrics();
+        metricPrefixes = new String[directiveMetrics.size()];
+        for (DirectiveMetrics metric : directiveMetrics) {
+          metricPrefixes[metric.getIndex()] = String.format("directive.%d.%s.", metric.getIndex(), metric.getName());
+        }
+      }
+      pipeline = executor;
     } catch (Exception e) {
       throw new Exception(
         String.format("Stage:%s - %s", getContext().getStageName(), e.getMessage())
@@ -374,6 +412,7 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
   @Override
   public void destroy() {
     super.destroy();
+    reportDirectiveMetrics();
     pipeline.destroy();
     try {
       registry.close();
@@ -395,33 +434,39 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
     long start = 0;
     List<StructuredRecord> records;
     try {
-      // Creates a row as starting point for input to the pipeline.
-      Row row = new Row();
-      if ("*".equalsIgnoreCase(config.field)) {
-        for (Schema.Field field : input.getSchema().getFields()) {
-          row.add(field.getName(), getValue(input, field.getName()));
-        }
-      } else if ("#".equalsIgnoreCase(config.field)) {
-        row.add(input.getSchema().getRecordName(), input);
-      } else {
-        row.add(config.field, getValue(input, config.field));
-      }
-
-      // If pre-condition is set, then evaluate the precondition
+      // If pre-condition is set, then evaluate the precondition on the input record, before a row is created.
       if (condition != null) {
-        boolean skip = condition.apply(row);
+        boolean skip = condition.apply(conditionContext.reset(input));
         if (skip) {
           getContext().getMetrics().count("precondition.filtered", 1);
           return; // Expression evaluated to true, so we skip the record.
         }
       }
 
+      // Creates a row as starting point for input to the pipeline.
+      Row row;
+      if ("*".equalsIgnoreCase(config.field)) {
+        row = inputAdapter.toRow(input);
+      } else if ("#".equalsIgnoreCase(config.field)) {
+        row = new Row(input.getSchema().getRecordName(), input);
+      } else {
+        row = new Row(config.field, RecordRowAdapter.getValue(input, config.field));
+      }
+
       // Reset record aggregation store.
       store.reset(TransientVariableScope.GLOBAL);
       store.reset(TransientVariableScope.LOCAL);
 
       start = System.nanoTime();
-      records = pipeline.execute(Arrays.asList(row), oSchema);
+      List<Row> rows = pipeline.execute(Arrays.asList(row));
+      records = new ArrayList<>(rows.size());
+      try {
+        for (Row result : rows) {
+          records.add(outputConvertor.convert(result));
+        }
+      } catch (RecordConvertorException e) {
+        throw new RecipeException("Problem converting into output record. Reason : " + e.getMessage());
+      }
       // We now extract errors from the execution and pass it on to the error emitter.
       List<ErrorRecord> errors = pipeline.errors();
       if (errors.size() > 0) {
@@ -460,53 +505,36 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
       return;
     } finally {
       getContext().getMetrics().gauge("process.time", System.nanoTime() - start);
+      if (!directiveMetrics.isEmpty() && ++unreported >= METRICS_REPORT_INTERVAL) {
+        reportDirectiveMetrics();
+      }
     }
 
     for (StructuredRecord record : records) {
-      StructuredRecord.Builder builder = StructuredRecord.builder(oSchema);
-      // Iterate through output schema, if the 'record' doesn't have it, then
-      // attempt to take if from 'input'.
-      for (Schema.Field field : oSchema.getFields()) {
-        Object wObject = record.get(field.getName()); // wrangled records
-        if (wObject == null) {
-          builder.set(field.getName(), null);
-        } else {
-          if (wObject instanceof String) {
-            builder.convertAndSet(field.getName(), (String) wObject);
-          } else {
-            // No need to use specific methods for fields of logical type - timestamp, date and time. This is because
-            // the wObject should already have correct values for corresponding primitive types.
-            builder.set(field.getName(), wObject);
-          }
-        }
-      }
-      emitter.emit(builder.build());
+      emitter.emit(record);
     }
   }
 
-  private Object getValue(StructuredRecord input, String fieldName) {
-    Schema fieldSchema = input.getSchema().getField(fieldName).getSchema();
-    fieldSchema = fieldSchema.isNullable() ? fieldSchema.getNonNullable() : fieldSchema;
-    Schema.LogicalType logicalType = fieldSchema.getLogicalType();
-
-    if (logicalType != null) {
-      switch (logicalType) {
-        case DATE:
-          return input.getDate(fieldName);
-        case TIME_MILLIS:
-        case TIME_MICROS:
-          return input.getTime(fieldName);
-        case TIMESTAMP_MILLIS:
-        case TIMESTAMP_MICROS:
-          return input.getTimestamp(fieldName);
-        default:
-          throw new UnexpectedFormatException("Field type " + logicalType + " is not supported.");
+  /**
+   * Reports the statistics collected for each directive since the last report and resets them.
+   */
+  private void reportDirectiveMetrics() {
+    StageMetrics metrics = getContext().getMetrics();
+    for (DirectiveMetrics metric : directiveMetrics) {
+      if (metric.getInvocations() == 0) {
+        continue;
+      }
+      String prefix = metricPrefixes[metric.getIndex()];
+      metrics.count(prefix + "rows.in", (int) metric.getRowsIn());
+      metrics.count(prefix + "rows.out", (int) metric.getRowsOut());
+      if (metric.getErrors() > 0) {
+        metrics.count(prefix + "errors", (int) metric.getErrors());
       }
+      metrics.gauge(prefix + "time.avg", metric.getNanos() / metric.getInvocations());
+      metrics.gauge(prefix + "allocated.avg", metric.getAllocatedBytes() / metric.getInvocations());
+      metric.reset();
     }
-
-    // If the logical type is present in complex types, it will be retrieved as corresponding
-    // simple type (int/long).
-    return input.get(fieldName);
+    unreported = 0;
   }
 
   /**
@@ -562,6 +590,14 @@ public class Wrangler extends Transform<StructuredRecord, StructuredRecord> {
     @Macro
     private final String schema;
 
+    @Name("instrumentation")
+    @Description("Sampling interval for collecting time and allocation metrics of each directive. " +
+      "Every n-th invocation of a directive is measured, while rows in, rows out and errors are always counted. " +
+      "Leave empty or set to 0 to disable the instrumentation.")
+    @Macro
+    @Nullable
+    private Integer instrumentation;
+
     public Config(String precondition, String directives, String udds,
                   String field, int threshold, String schema) {
       this.precondition = precondition;
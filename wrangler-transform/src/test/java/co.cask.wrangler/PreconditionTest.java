@@ -16,7 +16,10 @@
 
 package co.cask.wrangler;
 
+import co.cask.cdap.api.data.format.StructuredRecord;
+import co.cask.cdap.api.data.schema.Schema;
 import co.cask.wrangler.api.Row;
+import com.google.common.collect.ImmutableSet;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -39,4 +42,45 @@ public class PreconditionTest {
     Row row = new Row("a", 1).add("b", "x").add("c", 2.06);
     Assert.assertEquals(true, new Precondition("c").apply(row));
   }
+
+  @Test
+  public void testPreconditionOnRecord() throws Exception {
+    Schema schema = Schema.recordOf(
+      "input",
+      Schema.Field.of("a", Schema.of(Schema.Type.INT)),
+      Schema.Field.of("b", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+      Schema.Field.of("c", Schema.of(Schema.Type.DOUBLE))
+    );
+    StructuredRecord record = StructuredRecord.builder(schema).set("a", 1).set("c", 2.06).build();
+
+    RecordContext all = new RecordContext("*");
+    Assert.assertEquals(true, new Precondition("a == 1 && b == null").apply(all.reset(record)));
+    Assert.assertEquals(false, new Precondition("c < 2.0").apply(all.reset(record)));
+    Assert.assertEquals(true, new Precondition("x = a + 1; x == 2").apply(all.reset(record)));
+    Assert.assertEquals(false, new Precondition("input == null").apply(new RecordContext("#").reset(record)));
+    Assert.assertEquals(true, new Precondition("c > 2.0").apply(new RecordContext("c").reset(record)));
+
+    try {
+      new Precondition("d == 1").apply(all.reset(record));
+      Assert.fail();
+    } catch (PreconditionException e) {
+      // Undefined variables fail the condition.
+    }
+    try {
+      new Precondition("a == 1").apply(new RecordContext("c").reset(record));
+      Assert.fail();
+    } catch (PreconditionException e) {
+      // Only the field is a variable.
+    }
+  }
+
+  @Test
+  public void testVariables() throws Exception {
+    Precondition precondition = new Precondition("a > 1 && b.length() == 2");
+    Assert.assertEquals(ImmutableSet.of("a", "b"), precondition.getVariables());
+
+    // Only the variables used are read from the row.
+    Row row = new Row("a", 2).add("b", "xy").add("c", new Object());
+    Assert.assertEquals(false, new Precondition("a > 1 && b.length() == 3").apply(row));
+  }
 }